@@ -0,0 +1,142 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import models.AFD;
+import models.Grammar;
+import models.GrammarExtended;
+import models.ParsingTable;
+import modules.automaton.automatom;
+import modules.automaton.extension;
+import modules.input.yalpInterpreter;
+import modules.tables.generateParseTable;
+
+/**
+ * Gramáticas, tablas y entradas compartidas por los benchmarks.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Gramática de {@code ejemplo.yalp} (igual que la arma Main, sin el lexer).
+     */
+    static Grammar ejemploGrammar() throws IOException {
+        yalpInterpreter reader = new yalpInterpreter();
+        reader.readFile("ejemplo.yalp");
+        Set<String> terminales = new TreeSet<>(reader.getSavedTokens());
+        terminales.removeAll(reader.getIgnoredTokens());
+        List<String> noTerminales = new ArrayList<>(reader.getSavedProductions().keySet());
+        return new Grammar(reader.getSavedProductions(), new ArrayList<>(terminales), noTerminales,
+                noTerminales.get(0));
+    }
+
+    /**
+     * Gramática de expresiones con {@code levels} niveles de precedencia:
+     * E<sub>i</sub> -> E<sub>i</sub> op<sub>i</sub> E<sub>i+1</sub> | E<sub>i+1</sub>
+     * y E<sub>n</sub> -> ( E<sub>0</sub> ) | id. Crece linealmente en
+     * producciones y sus estados LR crecen con el número de niveles.
+     */
+    static Grammar syntheticGrammar(int levels) {
+        Grammar grammar = new Grammar("E0");
+        for (int i = 0; i <= levels; i++) {
+            grammar.agregarNoTerminal("E" + i);
+        }
+        for (int i = 0; i < levels; i++) {
+            grammar.agregarTerminal("op" + i);
+        }
+        grammar.agregarTerminal("lp");
+        grammar.agregarTerminal("rp");
+        grammar.agregarTerminal("id");
+
+        for (int i = 0; i < levels; i++) {
+            grammar.agregarProduccion("E" + i, "E" + i + " op" + i + " E" + (i + 1));
+            grammar.agregarProduccion("E" + i, "E" + (i + 1));
+        }
+        grammar.agregarProduccion("E" + levels, "lp E0 rp");
+        grammar.agregarProduccion("E" + levels, "id");
+        return grammar;
+    }
+
+    static GrammarExtended extend(Grammar grammar) {
+        return extension.extenderGramatica(grammar);
+    }
+
+    static AFD automaton(GrammarExtended extended) {
+        return automatom.generarAFD(extended, automatom.crearEstadoInicial(extended));
+    }
+
+    /**
+     * Genera la tabla sin la impresión de ACTION/GOTO que hace generateTables.
+     */
+    static ParsingTable table(Grammar grammar) {
+        AFD afd = automaton(extend(grammar));
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            return generateParseTable.generateTables(afd, grammar);
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    /**
+     * Líneas de tokens de code.txt que Main serializó en TOKENS_LIST.dat.
+     */
+    @SuppressWarnings("unchecked")
+    static List<List<String>> bundledTokenLines() throws IOException, ClassNotFoundException {
+        try (InputStream resource = BenchmarkSupport.class.getClassLoader().getResourceAsStream("TOKENS_LIST.dat")) {
+            if (resource == null) {
+                throw new IOException("No se encontró TOKENS_LIST.dat en el classpath");
+            }
+            try (ObjectInputStream in = new ObjectInputStream(resource)) {
+                return (List<List<String>>) in.readObject();
+            }
+        }
+    }
+
+    /**
+     * Asignación válida para ejemplo.yalp con {@code operands} operandos:
+     * {@code WORD EQUALS WORD PLUS DIGIT TIMES NUMBER ... EOF}.
+     */
+    static List<String> assignmentLine(int operands) {
+        String[] values = { "WORD", "DIGIT", "NUMBER" };
+        String[] operators = { "PLUS", "TIMES", "MINUS", "DIV" };
+        List<String> line = new ArrayList<>();
+        line.add("WORD");
+        line.add("EQUALS");
+        for (int i = 0; i < operands; i++) {
+            if (i > 0) {
+                line.add(operators[i % operators.length]);
+            }
+            line.add(values[i % values.length]);
+        }
+        line.add("EOF");
+        return line;
+    }
+
+    /**
+     * Corpus de {@code size} líneas que repite las líneas de code.txt
+     * intercaladas con asignaciones de largo variable.
+     */
+    static List<List<String>> corpus(int size) throws IOException, ClassNotFoundException {
+        List<List<String>> bundled = bundledTokenLines();
+        List<List<String>> corpus = new ArrayList<>(size);
+        for (int i = 0; corpus.size() < size; i++) {
+            corpus.add(bundled.get(i % bundled.size()));
+            if (corpus.size() < size) {
+                corpus.add(assignmentLine(1 + i % 12));
+            }
+        }
+        return corpus;
+    }
+}
@@ -0,0 +1,101 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.CompiledParseTable;
+import modules.parser.ParseResults;
+import modules.parser.Parser;
+
+/**
+ * Driver LR sobre la tabla de ejemplo.yalp: líneas cortas y largas y
+ * parseFile sobre un corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    /**
+     * Operandos de la línea larga.
+     */
+    @Param({ "16", "256" })
+    public int longLineOperands;
+
+    @Param({ "10000" })
+    public int corpusLines;
+
+    /**
+     * "dense" o "compressed" (ver {@link CompiledParseTable#compress()}).
+     */
+    @Param({ "dense", "compressed" })
+    public String tableForm;
+
+    private CompiledParseTable table;
+    private Parser parser;
+    private List<String> shortLine;
+    private List<String> longLine;
+    private List<List<String>> corpus;
+
+    @Setup
+    public void setup() throws Exception {
+        table = BenchmarkSupport.table(BenchmarkSupport.ejemploGrammar()).freeze();
+        if (tableForm.equals("compressed")) {
+            table = table.compress();
+        }
+        parser = newParser();
+        shortLine = BenchmarkSupport.assignmentLine(2);
+        longLine = BenchmarkSupport.assignmentLine(longLineOperands);
+        corpus = BenchmarkSupport.corpus(corpusLines);
+
+        // Medir el camino de aceptación, no el de error
+        if (!parser.parse(shortLine) || !parser.parse(longLine)) {
+            throw new IllegalStateException("Las líneas del benchmark no son aceptadas por la gramática");
+        }
+    }
+
+    private Parser newParser() {
+        Parser p = new Parser(table);
+        p.setDebug(false);
+        p.setTrackSymbols(false);
+        p.setReportErrors(false);
+        return p;
+    }
+
+    @Benchmark
+    public boolean parseShortLine() {
+        return parser.parse(shortLine);
+    }
+
+    @Benchmark
+    public boolean parseLongLine() {
+        return parser.parse(longLine);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ParseResults parseFile() {
+        return parser.parseFile(corpus);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ParseResults parseFileParallel() {
+        return parser.parseFileParallel(corpus);
+    }
+}
@@ -0,0 +1,117 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.CompiledParseTable;
+import modules.codegen.RecursiveAscentGenerator;
+import modules.parser.Parser;
+
+/**
+ * Parser de ascenso recursivo generado contra el driver de tablas
+ * ({@link Parser}) sobre las líneas de code.txt y una asignación larga, con
+ * la tabla de ejemplo.yalp. La clase generada se compila en el setup con el
+ * compilador del JDK, así que el benchmark necesita correr sobre un JDK.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecursiveAscentBenchmark {
+
+    private static final String CLASS_NAME = "EjemploRecursiveAscent";
+
+    private Parser parser;
+    private Predicate<List<String>> recursiveAscent;
+    private List<List<String>> bundled;
+    private List<String> longLine;
+
+    @Setup
+    public void setup() throws Exception {
+        CompiledParseTable table = BenchmarkSupport.table(BenchmarkSupport.ejemploGrammar()).freeze();
+        parser = new Parser(table);
+        parser.setDebug(false);
+        parser.setTrackSymbols(false);
+        parser.setReportErrors(false);
+        recursiveAscent = compile(RecursiveAscentGenerator.generate(table, CLASS_NAME));
+        bundled = BenchmarkSupport.bundledTokenLines();
+        longLine = BenchmarkSupport.assignmentLine(256);
+
+        // Los dos backends tienen que reconocer exactamente las mismas líneas
+        if (parseBundledTable() != parseBundledRecursiveAscent() || !recursiveAscent.test(longLine)) {
+            throw new IllegalStateException("El parser de ascenso recursivo no coincide con el de tablas");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<List<String>> compile(String source) throws IOException, ReflectiveOperationException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Se necesita un JDK para compilar el parser generado");
+        }
+        Path dir = Files.createTempDirectory("recursive-ascent");
+        Path file = Files.writeString(dir.resolve(CLASS_NAME + ".java"), source);
+        if (compiler.run(null, null, null, "-d", dir.toString(), file.toString()) != 0) {
+            throw new IllegalStateException("No compiló " + file);
+        }
+        URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() },
+                RecursiveAscentBenchmark.class.getClassLoader());
+        return (Predicate<List<String>>) loader.loadClass(CLASS_NAME).getDeclaredConstructor().newInstance();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int parseBundledTable() {
+        int aceptadas = 0;
+        for (List<String> line : bundled) {
+            if (parser.parse(line)) {
+                aceptadas++;
+            }
+        }
+        return aceptadas;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int parseBundledRecursiveAscent() {
+        int aceptadas = 0;
+        for (List<String> line : bundled) {
+            if (recursiveAscent.test(line)) {
+                aceptadas++;
+            }
+        }
+        return aceptadas;
+    }
+
+    @Benchmark
+    public boolean parseLongLineTable() {
+        return parser.parse(longLine);
+    }
+
+    @Benchmark
+    public boolean parseLongLineRecursiveAscent() {
+        return recursiveAscent.test(longLine);
+    }
+}
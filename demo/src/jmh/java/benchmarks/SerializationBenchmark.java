@@ -0,0 +1,94 @@
+package benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.CompiledParseTable;
+import models.ParseTableFile;
+import models.ParsingTable;
+
+/**
+ * Serialización Java de la tabla completa (el antiguo PARSE_TABLE.dat)
+ * contra el formato binario de {@link ParseTableFile} que escribe Main
+ * (PARSE_TABLE.bin), más la compilación de la tabla al arrancar el parser
+ * (densa o comprimida).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ParsingTable table;
+    private byte[] serialized;
+    private Path binary;
+
+    @Setup
+    public void setup() throws Exception {
+        table = BenchmarkSupport.table(BenchmarkSupport.ejemploGrammar());
+        serialized = serialize();
+        binary = Files.createTempFile("parse-table", ".bin");
+        ParseTableFile.write(table.freeze(), binary);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(binary);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(table);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public ParsingTable deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return (ParsingTable) in.readObject();
+        }
+    }
+
+    @Benchmark
+    public void writeBinary() throws IOException {
+        ParseTableFile.write(table.freeze(), binary);
+    }
+
+    @Benchmark
+    public CompiledParseTable mapBinary() throws IOException {
+        return ParseTableFile.map(binary);
+    }
+
+    @Benchmark
+    public CompiledParseTable compile() {
+        return CompiledParseTable.compile(table);
+    }
+
+    @Benchmark
+    public CompiledParseTable compileCompressed() {
+        return CompiledParseTable.compile(table).compress();
+    }
+}
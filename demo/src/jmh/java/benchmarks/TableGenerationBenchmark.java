@@ -0,0 +1,78 @@
+package benchmarks;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.AFD;
+import models.Grammar;
+import models.GrammarExtended;
+import models.ParsingTable;
+import modules.tables.pos.firstpos;
+import modules.tables.pos.followpos;
+
+/**
+ * Generador de tablas: AFD LR(0), FIRST, FOLLOW y la tabla completa, sobre
+ * ejemplo.yalp y gramáticas sintéticas de distinto tamaño.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableGenerationBenchmark {
+
+    /**
+     * "ejemplo" o "synthetic-N" (N niveles de precedencia).
+     */
+    @Param({ "ejemplo", "synthetic-8", "synthetic-32" })
+    public String grammarName;
+
+    private Grammar grammar;
+    private GrammarExtended extended;
+    private Map<String, Set<String>> first;
+
+    @Setup
+    public void setup() throws Exception {
+        if (grammarName.startsWith("synthetic-")) {
+            grammar = BenchmarkSupport.syntheticGrammar(Integer.parseInt(grammarName.substring("synthetic-".length())));
+        } else {
+            grammar = BenchmarkSupport.ejemploGrammar();
+        }
+        extended = BenchmarkSupport.extend(grammar);
+        first = new firstpos(grammar).calcularFirstPos();
+    }
+
+    @Benchmark
+    public AFD generarAFD() {
+        return BenchmarkSupport.automaton(extended);
+    }
+
+    @Benchmark
+    public Map<String, Set<String>> calcularFirstPos() {
+        return new firstpos(grammar).calcularFirstPos();
+    }
+
+    @Benchmark
+    public Map<String, Set<String>> getFollowPos() {
+        return new followpos(grammar, first).getFollowPos();
+    }
+
+    @Benchmark
+    public ParsingTable generateTables() {
+        return BenchmarkSupport.table(grammar);
+    }
+}
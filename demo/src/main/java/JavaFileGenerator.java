@@ -1,39 +1,71 @@
 import java.io.FileWriter;
 import java.io.IOException;
 
+import models.ParsingTable;
+import modules.codegen.RecursiveAscentGenerator;
+import modules.codegen.TableParserGenerator;
+
 public class JavaFileGenerator {
-    public static void generateYalpFile() {
+    public static void generateYalpFile(ParsingTable parseTable) {
+        generateYalpFile(parseTable, false);
+    }
+
+    /**
+     * @param recursiveAscent Si YalpParser se genera como parser de ascenso
+     *                        recursivo (un método por estado) en vez de con
+     *                        tablas embebidas
+     */
+    public static void generateYalpFile(ParsingTable parseTable, boolean recursiveAscent) {
         String className = "Yalp"; // Nombre de la clase generada
+        String parserClassName = className + "Parser"; // Parser con las tablas embebidas
         String javaOutputPath = "demo/src/main/java/" + className + ".java"; // Archivo .java
+        String parserOutputPath = "demo/src/main/java/" + parserClassName + ".java";
         String batOutputPath = "run.bat"; // Archivo .bat
 
+        // Parser autónomo, sin PARSE_TABLE.dat: tablas como constantes o un método por estado
+        try {
+            if (recursiveAscent) {
+                RecursiveAscentGenerator.write(parseTable, parserClassName, parserOutputPath);
+            } else {
+                TableParserGenerator.write(parseTable, parserClassName, parserOutputPath);
+            }
+            System.out.println("Archivo generado exitosamente: " + parserOutputPath);
+        } catch (IOException e) {
+            System.err.println("Error al escribir el archivo: " + e.getMessage());
+        }
+
         // Código fuente en forma de String
         StringBuilder javaCode = new StringBuilder();
         javaCode.append("import java.io.FileInputStream;\n")
             	.append("import java.io.IOException;\n")
                 .append("import java.io.ObjectInputStream;\n")
                 .append("import java.util.List;\n\n")
-                .append("import models.ParsingTable;\n")
-                .append("import modules.parser.Parser;\n\n")
+                .append("import modules.parser.ParseResults;\n\n")
                 .append("\npublic class ").append(className).append(" {\n")
+                .append("    @SuppressWarnings(\"unchecked\")\n")
                 .append("    public static void main(String[] args) throws IOException {\n")
-                .append("        models.ParsingTable parseTable;\n")
-                .append("        try (java.io.ObjectInputStream in = new java.io.ObjectInputStream(new java.io.FileInputStream(\"demo/src/main/resources/PARSE_TABLE.dat\"))) {\n")
-                .append("            parseTable = (models.ParsingTable) in.readObject();\n")
-                .append("        } catch (IOException | ClassNotFoundException e) {\n")
-                .append("            System.err.println(\"Error al cargar la Parsing Table: \" + e.getMessage());\n")
-                .append("            return;\n")
-                .append("        }\n")
-                .append("        java.util.List<java.util.List<String>> lineasParaParsear;\n")
-                .append("        try (java.io.ObjectInputStream in = new java.io.ObjectInputStream(new java.io.FileInputStream(\"demo/src/main/resources/TOKENS_LIST.dat\"))) {\n")
-                .append("            lineasParaParsear = (java.util.List<java.util.List<String>>) in.readObject();\n")
+                .append("        List<List<String>> lineasParaParsear;\n")
+                .append("        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(\"demo/src/main/resources/TOKENS_LIST.dat\"))) {\n")
+                .append("            lineasParaParsear = (List<List<String>>) in.readObject();\n")
                 .append("        } catch (IOException | ClassNotFoundException e) {\n")
                 .append("            System.err.println(\"Error al cargar los tokens: \" + e.getMessage());\n")
                 .append("            return;\n")
                 .append("        }\n")
-                .append("        modules.parser.Parser parser = new modules.parser.Parser(parseTable);\n")
-                .append("        java.util.List<Boolean> results = parser.parseFile(lineasParaParsear);\n")
-                .append("        parser.printParser(results);\n")
+                .append("        ").append(parserClassName).append(" parser = new ").append(parserClassName).append("();\n")
+                .append("        ParseResults resultados = new ParseResults(lineasParaParsear.size());\n")
+                .append("        for (int i = 0; i < lineasParaParsear.size(); i++) {\n")
+                .append("            List<String> linea = lineasParaParsear.get(i);\n")
+                .append("            if (parser.parse(linea)) {\n")
+                .append("                resultados.add(true, ParseResults.NO_ERROR);\n")
+                .append("            } else {\n")
+                .append("                int posicion = parser.getErrorPosition();\n")
+                .append("                resultados.add(false, posicion);\n")
+                .append("                System.err.println(\"Línea \" + (i + 1) + \": error de sintaxis en el token \" + posicion + \" (\"\n")
+                .append("                        + (posicion < linea.size() ? linea.get(posicion) : \"$\") + \")\");\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("        // El mismo resumen que Parser.printParser\n")
+                .append("        resultados.printSummary();\n")
                 .append("    }\n")
                 .append("}");
 
@@ -42,7 +74,7 @@ public class JavaFileGenerator {
 
         String batCode = "@echo off\n"
         + "set CLASSPATH=bin\n"
-        + "javac -d bin -cp demo/src/main/java demo/src/main/java/Yalp.java\n"
+        + "javac -d bin -cp demo/src/main/java demo/src/main/java/" + parserClassName + ".java demo/src/main/java/Yalp.java\n"
         + "java -cp bin Yalp\n";
 
         writeFile(batOutputPath, batCode);
@@ -57,4 +89,3 @@ public class JavaFileGenerator {
         }
     }
 }
-
@@ -2,6 +2,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -17,6 +18,7 @@ import models.EstadoAFD;
 import models.Grammar;
 import models.GrammarExtended;
 import models.GrammarExtended.ProductionWithPointer;
+import models.ParseTableFile;
 import models.ParsingTable;
 import modules.automaton.automatom;
 import modules.automaton.extension;
@@ -94,9 +96,11 @@ public class Main {
             List<List<String>> lineasParaParsear = TraduccionToken.traducirTokens(Lex_tokens);
 
             System.out.println("\nStep: Guardar Parsing Table");
-            try (ObjectOutputStream out = new ObjectOutputStream(
-                    new FileOutputStream("demo/src/main/resources/PARSE_TABLE.dat"))) {
-                out.writeObject(parseTable);
+            try {
+                // Formato binario mapeable: solo la tabla compilada, sin el AFD ni la gramática
+                ParseTableFile.write(parseTable.freeze(), Path.of("demo/src/main/resources/PARSE_TABLE.bin"));
+                // Items LR, gramática y nombres R# van aparte: el parser no los carga
+                ParseTableFile.writeDebug(parseTable, Path.of("demo/src/main/resources/PARSE_TABLE.debug"));
                 System.out.println("Parsing Table guardado correctamente.");
             } catch (IOException e) {
                 System.err.println("Error al guardar la Parsing Table: " + e.getMessage());
@@ -112,7 +116,7 @@ public class Main {
             }
 
             System.out.println("\nStep: Generando Archivo Ejecutable");
-            JavaFileGenerator.generateYalpFile();
+            JavaFileGenerator.generateYalpFile(parseTable);
 
         } catch (IOException e) {
             e.printStackTrace();
@@ -3,28 +3,33 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.util.List;
 
-import models.ParsingTable;
-import modules.parser.Parser;
+import modules.parser.ParseResults;
 
 
 public class Yalp {
+    @SuppressWarnings("unchecked")
     public static void main(String[] args) throws IOException {
-        models.ParsingTable parseTable;
-        try (java.io.ObjectInputStream in = new java.io.ObjectInputStream(new java.io.FileInputStream("demo/src/main/resources/PARSE_TABLE.dat"))) {
-            parseTable = (models.ParsingTable) in.readObject();
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println("Error al cargar la Parsing Table: " + e.getMessage());
-            return;
-        }
-        java.util.List<java.util.List<String>> lineasParaParsear;
-        try (java.io.ObjectInputStream in = new java.io.ObjectInputStream(new java.io.FileInputStream("demo/src/main/resources/TOKENS_LIST.dat"))) {
-            lineasParaParsear = (java.util.List<java.util.List<String>>) in.readObject();
+        List<List<String>> lineasParaParsear;
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream("demo/src/main/resources/TOKENS_LIST.dat"))) {
+            lineasParaParsear = (List<List<String>>) in.readObject();
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Error al cargar los tokens: " + e.getMessage());
             return;
         }
-        modules.parser.Parser parser = new modules.parser.Parser(parseTable);
-        java.util.List<Boolean> results = parser.parseFile(lineasParaParsear);
-        parser.printParser(results);
+        YalpParser parser = new YalpParser();
+        ParseResults resultados = new ParseResults(lineasParaParsear.size());
+        for (int i = 0; i < lineasParaParsear.size(); i++) {
+            List<String> linea = lineasParaParsear.get(i);
+            if (parser.parse(linea)) {
+                resultados.add(true, ParseResults.NO_ERROR);
+            } else {
+                int posicion = parser.getErrorPosition();
+                resultados.add(false, posicion);
+                System.err.println("Línea " + (i + 1) + ": error de sintaxis en el token " + posicion + " ("
+                        + (posicion < linea.size() ? linea.get(posicion) : "$") + ")");
+            }
+        }
+        // El mismo resumen que Parser.printParser
+        resultados.printSummary();
     }
 }
\ No newline at end of file
@@ -0,0 +1,192 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser LR generado por TableParserGenerator con las tablas embebidas.
+ * No requiere PARSE_TABLE.dat ni serialización. No editar a mano.
+ *
+ * Estados: 31 | Terminales: 28 | No terminales: 5 | Reducciones: 17
+ */
+public final class YalpParser {
+
+    public static final int ERROR = 0;
+    public static final int SHIFT = 1;
+    public static final int REDUCE = 2;
+    public static final int ACCEPT = 3;
+
+    private static final int STATES = 31;
+    private static final int TERMINALS = 28;
+    private static final int NON_TERMINALS = 5;
+    private static final int INITIAL_STATE = 0;
+    private static final int END = 27;
+
+    private static final String[] TERMINAL_NAMES = { "COMMENT", "MINUS", "RHOOK", "VARIABLE", "RBRAKETS", "EOF", "COMA", "NUMBER", "WORD", "EOL", "TIMES", "EQUALS", "MOREEQ", "LESSEQ", "lexbuf", "LBRAKETS", "LPAREN", "RPAREN", "APPERSAND", "DIGIT", "DIV", "NUMERAL", "MORE", "LESS", "POINT", "PLUS", "LHOOK", "$",
+    };
+
+    private static final String[] NON_TERMINAL_NAMES = { "program", "statements", "statement", "assignment", "expression",
+    };
+
+    private static final String[] PRODUCTIONS = { "statements -> statement", "expression -> WORD", "expression -> VARIABLE", "expression -> DIGIT", "expression -> NUMBER", "statements -> statements statement", "statement -> assignment EOF", "expression -> WORD", "expression -> VARIABLE", "assignment -> VARIABLE EQUALS expression", "assignment -> WORD EQUALS expression", "expression -> expression MINUS expression", "expression -> expression PLUS expression", "expression -> expression DIV expression", "expression -> expression TIMES expression", "expression -> LPAREN expression RPAREN", "program -> statements",
+    };
+
+    // [estado * TERMINALS + terminal] -> (destino << 2) | tipo
+    private static final int[] ACTION = decode(868, new String[] {
+            "\u0003\u0000\u0001\u0019\u0003\u0000\u0001!\u0001\u0015\u0007\u0000\u0001)\u0002\u0000\u0001\u001d#\u0000\u0001\u0003\u0003\u0000\u00015\u0004\u0000\u00011\u0012\u0000\u0001B\u0003\u0000\u0001\u0002\u0004\u0000\u0001\u0002\u0012\u0000\u0001\u0002\u0005\u0000\u00019\u0017\u0000\u0001\u0006\u0003\u0000\u0001\u0006\u0004\u0000\u0001\u0006\u0001=\u0005\u0000\u0001\u0006\u0002\u0000\u0001\u0006\u0004\u0000\u0001\u0006\u0003\u0000\u0001\n\u0003\u0000\u0001\n\u0004\u0000\u0001\n\u0001A\u0005\u0000\u0001\n\u0002\u0000\u0001\n\u0004\u0000\u0001\n\u0003\u0000\u0001\u000e\u0003\u0000\u0001\u000e\u0004\u0000\u0001\u000e\u0006\u0000\u0001\u000e\u0002\u0000\u0001\u000e\u0004\u0000\u0001\u000e\u0003\u0000\u0001\u0012\u0003\u0000\u0001\u0012\u0004\u0000\u0001\u0012\u0006\u0000\u0001\u0012\u0002\u0000\u0001\u0012\u0004\u0000\u0001\u0012\u0003\u0000\u0001I\u0008\u0000\u0001M\u0009\u0000\u0001Q\u0004\u0000\u0001E\u0005\u0000\u0001]\u0003\u0000\u0001!\u0001Y\u0007\u0000\u0001)\u0002\u0000\u0001\u001d\u000b\u0000\u0001\u0016\u0004\u0000\u0001\u0016\u0012\u0000\u0001\u0016\u000b\u0000\u0001=\u001b\u0000\u0001A\u0013\u0000\u0001\u001a\u0004\u0000\u0001\u001a\u0012\u0000\u0001\u001a\u0003\u0000\u0001]\u0003\u0000\u0001!\u0001Y\u0007\u0000\u0001)\u0002\u0000\u0001\u001d\u000b\u0000\u0001]\u0003\u0000\u0001!\u0001Y\u0007\u0000\u0001)\u0002\u0000\u0001\u001d\u000b\u0000\u0001]\u0003\u0000\u0001!\u0001Y\u0007\u0000\u0001)\u0002\u0000\u0001\u001d\u000b\u0000\u0001]\u0003\u0000\u0001!\u0001Y\u0007\u0000\u0001)\u0002\u0000\u0001\u001d\u000b\u0000\u0001]\u0003\u0000\u0001!\u0001Y\u0007\u0000\u0001)\u0002\u0000\u0001\u001d\u000b\u0000\u0001]\u0003\u0000\u0001!\u0001Y\u0007\u0000\u0001)\u0002\u0000\u0001\u001d\u0009\u0000\u0001I\u0008\u0000\u0001M\u0006\u0000\u0001y\u0002\u0000\u0001Q\u0004\u0000\u0001E\u0003\u0000\u0001\u001e\u0003\u0000\u0001\u001e\u0004\u0000\u0001\u001e\u0006\u0000\u0001\u001e\u0002\u0000\u0001\u001e\u0004\u0000\u0001\u001e\u0003\u0000\u0001\"\u0003\u0000\u0001\"\u0004\u0000\u0001\"\u0006\u0000\u0001\"\u0002\u0000\u0001\"\u0004\u0000\u0001\"\u0003\u0000\u0001I\u0003\u0000\u0001*\u0004\u0000\u0001M\u0009\u0000\u0001Q\u0004\u0000\u0001E\u0003\u0000\u0001I\u0003\u0000\u0001&\u0004\u0000\u0001M\u0009\u0000\u0001Q\u0004\u0000\u0001E\u0003\u0000\u00012\u0003\u0000\u00012\u0004\u0000\u00012\u0006\u0000\u00012\u0002\u0000\u00012\u0004\u0000\u00012\u0003\u0000\u0001.\u0003\u0000\u0001.\u0004\u0000\u0001.\u0006\u0000\u0001.\u0002\u0000\u0001.\u0004\u0000\u0001.\u0003\u0000\u0001:\u0003\u0000\u0001:\u0004\u0000\u0001:\u0006\u0000\u0001:\u0002\u0000\u0001:\u0004\u0000\u0001:\u0003\u0000\u00016\u0003\u0000\u00016\u0004\u0000\u00016\u0006\u0000\u00016\u0002\u0000\u00016\u0004\u0000\u00016\u0003\u0000\u0001>\u0003\u0000\u0001>\u0004\u0000\u0001>\u0006\u0000\u0001>\u0002\u0000\u0001>\u0004\u0000\u0001>\u0002\u0000",
+    });
+
+    // [estado * NON_TERMINALS + no terminal] -> estado + 1 (0 = sin GOTO)
+    private static final int[] GOTO = decode(155, new String[] {
+            "\u0001\u0002\u0001\u0003\u0001\u0004\u0001\u0005\u0001\n\u0007\u0000\u0001\u000c\u0001\u0005(\u0000\u0001\u0016\u0018\u0000\u0001\u0019\u0004\u0000\u0001\u001a\u0004\u0000\u0001\u001b\u0004\u0000\u0001\u001c\u0004\u0000\u0001\u001d\u0004\u0000\u0001\u001e2\u0000",
+    });
+
+    // estado -> reducción por defecto (ERROR si mira el lookahead)
+    private static final int[] DEFAULT_ACTION = decode(31, new String[] {
+            "\u001f\u0000",
+    });
+
+    // reducción -> |lado derecho|
+    private static final int[] REDUCE_LENGTH = decode(17, new String[] {
+            "\u0005\u0001\u0002\u0002\u0002\u0001\u0007\u0003\u0001\u0001",
+    });
+
+    // reducción -> no terminal cabeza
+    private static final int[] REDUCE_LHS = decode(17, new String[] {
+            "\u0001\u0001\u0004\u0004\u0001\u0001\u0001\u0002\u0002\u0004\u0002\u0003\u0005\u0004\u0001\u0000",
+    });
+
+    private static final Map<String, Integer> TERMINAL_IDS = new HashMap<>();
+
+    static {
+        for (int t = 0; t < TERMINALS; t++) {
+            TERMINAL_IDS.put(TERMINAL_NAMES[t], t);
+        }
+    }
+
+    private int[] stack = new int[64];
+    private int[] input = new int[64];
+    private int errorPosition = -1;
+
+    /**
+     * Parsea una línea de nombres de token. Se agrega el centinela $ si falta.
+     */
+    public boolean parse(List<String> tokens) {
+        int size = tokens.size();
+        if (input.length < size + 1) {
+            input = new int[Math.max(size + 1, input.length << 1)];
+        }
+        for (int i = 0; i < size; i++) {
+            input[i] = terminalId(tokens.get(i));
+        }
+        int length = size;
+        if (size == 0 || input[size - 1] != END) {
+            input[length++] = END;
+        }
+        return parse(input, length);
+    }
+
+    /**
+     * Parsea ids de terminal (ver {@link #terminalId(String)}); el último debe ser $.
+     */
+    public boolean parse(int[] symbols, int length) {
+        int top = 0;
+        int position = 0;
+        stack[0] = INITIAL_STATE;
+        errorPosition = -1;
+        while (position < length) {
+            int state = stack[top];
+            int action = DEFAULT_ACTION[state];
+            if (action == ERROR) {
+                int symbol = symbols[position];
+                action = symbol < 0 ? ERROR : ACTION[state * TERMINALS + symbol];
+            }
+            switch (action & 3) {
+                case SHIFT:
+                    if (++top == stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length << 1);
+                    }
+                    stack[top] = action >>> 2;
+                    position++;
+                    break;
+                case REDUCE: {
+                    int reduce = action >>> 2;
+                    top -= REDUCE_LENGTH[reduce];
+                    int next = GOTO[stack[top] * NON_TERMINALS + REDUCE_LHS[reduce]] - 1;
+                    if (next < 0) {
+                        errorPosition = position;
+                        return false;
+                    }
+                    if (++top == stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length << 1);
+                    }
+                    stack[top] = next;
+                    break;
+                }
+                case ACCEPT:
+                    return true;
+                default:
+                    errorPosition = position;
+                    return false;
+            }
+        }
+        errorPosition = length;
+        return false;
+    }
+
+    /**
+     * Posición del token donde falló el último parseo, o -1 si fue aceptado.
+     */
+    public int getErrorPosition() {
+        return errorPosition;
+    }
+
+    /**
+     * Id de un terminal, o -1 si no pertenece a la gramática.
+     */
+    public static int terminalId(String terminal) {
+        Integer id = TERMINAL_IDS.get(terminal);
+        return id != null ? id : -1;
+    }
+
+    public static String terminalName(int terminal) {
+        return TERMINAL_NAMES[terminal];
+    }
+
+    public static String nonTerminalName(int nonTerminal) {
+        return NON_TERMINAL_NAMES[nonTerminal];
+    }
+
+    public static String production(int reduce) {
+        return PRODUCTIONS[reduce];
+    }
+
+    public static int stateCount() {
+        return STATES;
+    }
+
+    private static int[] decode(int length, String[] chunks) {
+        int[] values = new int[length];
+        int index = 0;
+        int pending = -1; // Cantidad de la corrida leída, esperando su valor
+        int value = 0;
+        for (String chunk : chunks) {
+            for (int i = 0; i < chunk.length(); i++) {
+                char c = chunk.charAt(i);
+                value = (value << 14) | (c & 16383);
+                if ((c & 16384) != 0) {
+                    continue;
+                }
+                if (pending < 0) {
+                    pending = value;
+                } else {
+                    Arrays.fill(values, index, index + pending, value);
+                    index += pending;
+                    pending = -1;
+                }
+                value = 0;
+            }
+        }
+        return values;
+    }
+}
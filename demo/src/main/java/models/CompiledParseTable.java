@@ -0,0 +1,860 @@
+package models;
+
+import java.io.PrintStream;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Versión compilada de {@link ParsingTable} para el parser en tiempo de
+ * ejecución.
+ *
+ * Los estados, terminales y no terminales se mapean a enteros densos y las
+ * acciones se empaquetan en un {@code int[]}: los 2 bits bajos indican el tipo
+ * de acción (ERROR, SHIFT, REDUCE, ACCEPT) y el resto el destino (estado para
+ * SHIFT, índice de reducción para REDUCE). Así cada paso del parser es una
+ * lectura de arreglo en lugar de dos búsquedas en HashMap y un substring.
+ *
+ * Las celdas con varias acciones posibles (ver
+ * {@link ParsingTable#getConflictTable()}) guardan además todas sus
+ * alternativas, que solo consulta el driver GLR; {@link #action(int, int)}
+ * retorna siempre la acción única que usa el parser LR.
+ *
+ * Los estados con reducción por defecto ({@link #defaultAction(int)}) reducen
+ * con cualquier lookahead: su fila de ACTION se llena con esa reducción, de
+ * modo que el error se detecta recién en el siguiente SHIFT, como en yacc.
+ *
+ * Si la tabla pasó por la eliminación de reglas unitarias, las celdas GOTO
+ * redirigidas guardan las reducciones omitidas ({@link #unitChainCount(int, int)})
+ * para que el parser pueda reconstruir la derivación completa.
+ *
+ * {@link #compress()} crea una versión con ACTION y GOTO empaquetados por
+ * desplazamiento de filas para gramáticas con miles de estados, y
+ * {@link #printFootprint(PrintStream)} reporta cuánto ocupa cada forma.
+ *
+ * Una tabla cargada con {@link ParseTableFile#map(java.nio.file.Path)} lee
+ * ACTION y GOTO directamente del archivo mapeado en memoria, sin copiarlos.
+ *
+ * Las instancias son inmutables: todos los campos son finales y los arreglos
+ * nunca se exponen, por lo que se pueden compartir entre hilos sin
+ * sincronización (ver {@link ParsingTable#freeze()}).
+ */
+public class CompiledParseTable {
+
+    public static final int ERROR = 0;
+    public static final int SHIFT = 1;
+    public static final int REDUCE = 2;
+    public static final int ACCEPT = 3;
+
+    private static final int KIND_BITS = 2;
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+    private static final int ARRAY_HEADER = 16; // Encabezado de un arreglo (JVM de 64 bits)
+
+    private final String[] stateNames; // id denso -> id del estado en el AFD
+    private final String[] terminals; // id denso -> terminal (incluye el centinela)
+    private final String[] nonTerminals; // id denso -> no terminal
+    private final Map<String, Integer> stateIds;
+    private final Map<String, Integer> terminalIds;
+    private final Map<String, Integer> nonTerminalIds;
+    private final int initialState;
+
+    private final int[] actions; // [estado * terminales + terminal] -> acción empaquetada (o vector comprimido)
+    private final int[] gotos; // [estado * noTerminales + noTerminal] -> estado o -1 (o vector comprimido)
+    private final IntBuffer mappedActions; // ACTION densa en un archivo mapeado (actions es null)
+    private final IntBuffer mappedGotos; // GOTO densa en un archivo mapeado (gotos es null)
+    private final int[] actionBase; // estado -> desplazamiento de su fila en actions (null si es densa)
+    private final int[] actionCheck; // posición de actions -> estado dueño de la entrada
+    private final int[] actionDefaults; // estado -> acción más frecuente de su fila
+    private final long[] actionValid; // bit por celda: si la acción no es ERROR
+    private final int[] gotoBase; // no terminal -> desplazamiento de su columna en gotos (null si es densa)
+    private final int[] gotoCheck; // posición de gotos -> no terminal dueño de la entrada
+    private final int[] gotoDefaults; // no terminal -> destino más frecuente de su columna
+    private final long[] gotoValid; // bit por celda (no terminal * estados + estado): si hay GOTO
+    private final int[] conflictCells; // celdas con conflicto, ordenadas (null si no hay conflictos)
+    private final int[] conflictOffsets; // i -> inicio en conflictActions de conflictCells[i]
+    private final int[] conflictActions; // acciones de las celdas con conflicto, contiguas por celda
+    private final BitSet[] followSets; // no terminal -> terminales de su FOLLOW (null si la tabla no los trae)
+    private final int[] defaultActions; // estado -> reducción por defecto empaquetada (ERROR si no tiene)
+    private final int[] unitChainCells; // celdas GOTO con cadena, ordenadas (null si no hay cadenas)
+    private final int[] unitChainOffsets; // i -> inicio en unitChainReduces de unitChainCells[i]
+    private final int[] unitChainReduces; // reducciones unitarias omitidas, contiguas por celda GOTO
+
+    private final String[] reduceNames; // id de reducción -> nombre (R#)
+    private final ReduceEntry[] reduceEntries; // id de reducción -> producción
+    private final int[] reduceLengths; // id de reducción -> |lado derecho|
+    private final int[] reduceLhs; // id de reducción -> no terminal cabeza
+    private final int[] reduceProductions; // id de reducción -> id de producción
+    private final int productionCount;
+
+    /**
+     * Con {@code actions} y {@code gotos} en null, ACTION y GOTO se leen de
+     * {@code mappedActions} y {@code mappedGotos} (ver {@link ParseTableFile}).
+     */
+    CompiledParseTable(String[] stateNames, String[] terminals, String[] nonTerminals, int initialState,
+            int[] actions, int[] gotos, IntBuffer mappedActions, IntBuffer mappedGotos,
+            int[][] conflicts, BitSet[] followSets,
+            int[] defaultActions, int[][] unitChains,
+            String[] reduceNames, ReduceEntry[] reduceEntries, int[] reduceLengths,
+            int[] reduceLhs, int[] reduceProductions, int productionCount) {
+        this.stateNames = stateNames;
+        this.terminals = terminals;
+        this.nonTerminals = nonTerminals;
+        this.initialState = initialState;
+        this.actions = actions;
+        this.gotos = gotos;
+        this.mappedActions = mappedActions;
+        this.mappedGotos = mappedGotos;
+        this.actionBase = null;
+        this.actionCheck = null;
+        this.actionDefaults = null;
+        this.actionValid = null;
+        this.gotoBase = null;
+        this.gotoCheck = null;
+        this.gotoDefaults = null;
+        this.gotoValid = null;
+        this.conflictCells = conflicts[0];
+        this.conflictOffsets = conflicts[1];
+        this.conflictActions = conflicts[2];
+        this.followSets = followSets;
+        this.defaultActions = defaultActions;
+        this.unitChainCells = unitChains[0];
+        this.unitChainOffsets = unitChains[1];
+        this.unitChainReduces = unitChains[2];
+        this.reduceNames = reduceNames;
+        this.reduceEntries = reduceEntries;
+        this.reduceLengths = reduceLengths;
+        this.reduceLhs = reduceLhs;
+        this.reduceProductions = reduceProductions;
+        this.productionCount = productionCount;
+        this.stateIds = indexOf(stateNames);
+        this.terminalIds = indexOf(terminals);
+        this.nonTerminalIds = indexOf(nonTerminals);
+    }
+
+    /**
+     * Copia de {@code source} con ACTION y GOTO comprimidos (ver {@link #compress()}).
+     */
+    private CompiledParseTable(CompiledParseTable source, int[][] packedActions, long[] actionValid,
+            int[][] packedGotos, long[] gotoValid) {
+        this.stateNames = source.stateNames;
+        this.terminals = source.terminals;
+        this.nonTerminals = source.nonTerminals;
+        this.initialState = source.initialState;
+        this.actionBase = packedActions[0];
+        this.actionCheck = packedActions[1];
+        this.actions = packedActions[2];
+        this.actionDefaults = packedActions[3];
+        this.actionValid = actionValid;
+        this.gotoBase = packedGotos[0];
+        this.gotoCheck = packedGotos[1];
+        this.gotos = packedGotos[2];
+        this.gotoDefaults = packedGotos[3];
+        this.gotoValid = gotoValid;
+        this.mappedActions = null;
+        this.mappedGotos = null;
+        this.conflictCells = source.conflictCells;
+        this.conflictOffsets = source.conflictOffsets;
+        this.conflictActions = source.conflictActions;
+        this.followSets = source.followSets;
+        this.defaultActions = source.defaultActions;
+        this.unitChainCells = source.unitChainCells;
+        this.unitChainOffsets = source.unitChainOffsets;
+        this.unitChainReduces = source.unitChainReduces;
+        this.reduceNames = source.reduceNames;
+        this.reduceEntries = source.reduceEntries;
+        this.reduceLengths = source.reduceLengths;
+        this.reduceLhs = source.reduceLhs;
+        this.reduceProductions = source.reduceProductions;
+        this.productionCount = source.productionCount;
+        this.stateIds = source.stateIds;
+        this.terminalIds = source.terminalIds;
+        this.nonTerminalIds = source.nonTerminalIds;
+    }
+
+    /**
+     * Compila una tabla de parseo. Se hace una sola vez; el resultado no guarda
+     * referencias a los mapas de la tabla original.
+     */
+    public static CompiledParseTable compile(ParsingTable table) {
+        // Estados en el orden del AFD (el inicial primero)
+        Map<String, Integer> stateIds = new LinkedHashMap<>();
+        for (String state : table.getAssociatedAfd().getEstados().keySet()) {
+            stateIds.put(state, stateIds.size());
+        }
+        for (String state : table.getActionTable().keySet()) {
+            stateIds.putIfAbsent(state, stateIds.size());
+        }
+        for (String state : table.getGoToTable().keySet()) {
+            stateIds.putIfAbsent(state, stateIds.size());
+        }
+
+        // Terminales en el orden de la tabla de símbolos más cualquier símbolo
+        // extra de ACTION (centinela)
+        SymbolTable symbols = table.getOriginalGrammar().getSymbolTable();
+        Map<String, Integer> terminalIds = new LinkedHashMap<>();
+        for (int ordinal = 0; ordinal < symbols.getTerminalCount(); ordinal++) {
+            terminalIds.putIfAbsent(symbols.terminal(ordinal), terminalIds.size());
+        }
+        for (Map<String, String> row : table.getActionTable().values()) {
+            for (String symbol : row.keySet()) {
+                terminalIds.putIfAbsent(symbol, terminalIds.size());
+            }
+        }
+        for (Map<String, List<String>> row : table.getConflictTable().values()) {
+            for (String symbol : row.keySet()) {
+                terminalIds.putIfAbsent(symbol, terminalIds.size());
+            }
+        }
+
+        // Los ids de no terminal coinciden con los ordinales de la tabla de
+        // símbolos, que son los que ReduceEntry guarda como cabeza
+        Map<String, Integer> nonTerminalIds = new LinkedHashMap<>();
+        for (int ordinal = 0; ordinal < symbols.getNonTerminalCount(); ordinal++) {
+            nonTerminalIds.putIfAbsent(symbols.nonTerminal(ordinal), nonTerminalIds.size());
+        }
+        for (Map<String, String> row : table.getGoToTable().values()) {
+            for (String symbol : row.keySet()) {
+                nonTerminalIds.putIfAbsent(symbol, nonTerminalIds.size());
+            }
+        }
+
+        // Reducciones: R# -> id denso
+        Map<String, Integer> reduceIds = new HashMap<>();
+        List<String> reduceNames = new ArrayList<>();
+        List<ReduceEntry> reduceEntries = new ArrayList<>();
+        for (Map.Entry<String, ReduceEntry> reduce : table.getReduceDictionary().entrySet()) {
+            reduceIds.put(reduce.getKey(), reduceNames.size());
+            reduceNames.add(reduce.getKey());
+            reduceEntries.add(reduce.getValue());
+        }
+
+        int numStates = stateIds.size();
+        int numTerminals = terminalIds.size();
+        int numNonTerminals = nonTerminalIds.size();
+
+        int[] actions = new int[numStates * numTerminals];
+        for (Map.Entry<String, Map<String, String>> row : table.getActionTable().entrySet()) {
+            int base = stateIds.get(row.getKey()) * numTerminals;
+            for (Map.Entry<String, String> cell : row.getValue().entrySet()) {
+                actions[base + terminalIds.get(cell.getKey())] = encode(cell.getValue(), stateIds, reduceIds);
+            }
+        }
+
+        // Reducciones por defecto: la fila completa reduce
+        int[] defaultActions = new int[numStates];
+        for (Map.Entry<String, String> entry : table.getDefaultReduceTable().entrySet()) {
+            int state = stateIds.get(entry.getKey());
+            defaultActions[state] = encode(entry.getValue(), stateIds, reduceIds);
+            Arrays.fill(actions, state * numTerminals, (state + 1) * numTerminals, defaultActions[state]);
+        }
+
+        // Celdas con conflicto (estado * terminales + terminal) y sus acciones
+        TreeMap<Integer, int[]> conflictCells = new TreeMap<>();
+        for (Map.Entry<String, Map<String, List<String>>> row : table.getConflictTable().entrySet()) {
+            int base = stateIds.get(row.getKey()) * numTerminals;
+            for (Map.Entry<String, List<String>> cell : row.getValue().entrySet()) {
+                int[] cellActions = new int[cell.getValue().size()];
+                for (int i = 0; i < cellActions.length; i++) {
+                    cellActions[i] = encode(cell.getValue().get(i), stateIds, reduceIds);
+                }
+                conflictCells.put(base + terminalIds.get(cell.getKey()), cellActions);
+            }
+        }
+
+        // FOLLOW de cada no terminal como conjunto de ids de terminal
+        BitSet[] followSets = null;
+        if (!table.getFollowTable().isEmpty()) {
+            followSets = new BitSet[numNonTerminals];
+            for (int nt = 0; nt < numNonTerminals; nt++) {
+                followSets[nt] = new BitSet(numTerminals);
+            }
+            for (Map.Entry<String, Set<String>> follow : table.getFollowTable().entrySet()) {
+                Integer nt = nonTerminalIds.get(follow.getKey());
+                if (nt == null) {
+                    continue;
+                }
+                for (String symbol : follow.getValue()) {
+                    Integer terminal = terminalIds.get(symbol);
+                    if (terminal != null) {
+                        followSets[nt].set(terminal);
+                    }
+                }
+            }
+        }
+
+        int[] gotos = new int[numStates * numNonTerminals];
+        Arrays.fill(gotos, -1);
+        for (Map.Entry<String, Map<String, String>> row : table.getGoToTable().entrySet()) {
+            int base = stateIds.get(row.getKey()) * numNonTerminals;
+            for (Map.Entry<String, String> cell : row.getValue().entrySet()) {
+                Integer target = stateIds.get(cell.getValue());
+                if (target != null) {
+                    gotos[base + nonTerminalIds.get(cell.getKey())] = target;
+                }
+            }
+        }
+
+        // Cadenas de reducciones unitarias omitidas por celda GOTO
+        TreeMap<Integer, int[]> unitChainCells = new TreeMap<>();
+        for (Map.Entry<String, Map<String, List<String>>> row : table.getUnitChainTable().entrySet()) {
+            int base = stateIds.get(row.getKey()) * numNonTerminals;
+            for (Map.Entry<String, List<String>> cell : row.getValue().entrySet()) {
+                int[] reduces = new int[cell.getValue().size()];
+                for (int i = 0; i < reduces.length; i++) {
+                    reduces[i] = reduceIds.get(cell.getValue().get(i));
+                }
+                unitChainCells.put(base + nonTerminalIds.get(cell.getKey()), reduces);
+            }
+        }
+
+        // Metadatos de reducción. Las tablas serializadas antes de que ReduceEntry
+        // los trajera se resuelven aquí, una sola vez.
+        int numReduces = reduceEntries.size();
+        int[] reduceLengths = new int[numReduces];
+        int[] reduceLhs = new int[numReduces];
+        int[] reduceProductions = new int[numReduces];
+        Map<String, Integer> legacyProductions = new HashMap<>();
+        int productionCount = table.getProductionCount();
+        for (int r = 0; r < numReduces; r++) {
+            ReduceEntry entry = reduceEntries.get(r);
+            if (entry.hasMetadata()) {
+                reduceLengths[r] = entry.getRhsLength();
+                reduceLhs[r] = entry.getLhsId();
+                reduceProductions[r] = entry.getProductionId();
+            } else {
+                String body = entry.getProduction_value().trim();
+                reduceLengths[r] = body.isEmpty() ? 0 : body.split("\\s+").length;
+                reduceLhs[r] = nonTerminalIds.get(entry.getProduction_head());
+                String production = entry.getProduction_head() + " -> " + entry.getProduction_value();
+                reduceProductions[r] = legacyProductions.computeIfAbsent(production, k -> legacyProductions.size());
+            }
+            productionCount = Math.max(productionCount, reduceProductions[r] + 1);
+        }
+
+        Integer initial = stateIds.get(table.getAssociatedAfd().getInitialState());
+
+        return new CompiledParseTable(
+                stateIds.keySet().toArray(new String[0]),
+                terminalIds.keySet().toArray(new String[0]),
+                nonTerminalIds.keySet().toArray(new String[0]),
+                initial != null ? initial : 0,
+                actions,
+                gotos,
+                null,
+                null,
+                sparse(conflictCells),
+                followSets,
+                defaultActions,
+                sparse(unitChainCells),
+                reduceNames.toArray(new String[0]),
+                reduceEntries.toArray(new ReduceEntry[0]),
+                reduceLengths,
+                reduceLhs,
+                reduceProductions,
+                productionCount);
+    }
+
+    /**
+     * Versión de esta tabla con ACTION y GOTO comprimidos como en yacc.
+     *
+     * Cada fila de ACTION (y cada columna de GOTO, que es como se parecen entre
+     * sí) toma como valor por defecto su entrada más frecuente y solo guarda
+     * las demás. Esas entradas se superponen en un único vector por
+     * desplazamiento de filas (comb vector): cada fila guarda su
+     * desplazamiento y un vector paralelo indica a qué fila pertenece cada
+     * posición. A diferencia de yacc, un bit por celda indica si la celda
+     * tiene acción, así que el valor por defecto nunca reemplaza a un ERROR y
+     * el resultado de {@link #action(int, int)} y {@link #goTo(int, int)} es
+     * idéntico al de la tabla densa, con consulta O(1).
+     *
+     * Conviene para gramáticas grandes, donde la tabla densa (estados ×
+     * símbolos) es casi toda vacía o repetida.
+     */
+    public CompiledParseTable compress() {
+        if (isCompressed()) {
+            return this;
+        }
+        int numStates = stateNames.length;
+        int numNonTerminals = nonTerminals.length;
+        int[] denseActions = actions != null ? actions : toArray(mappedActions);
+        int[] denseGotos = gotos != null ? gotos : toArray(mappedGotos);
+
+        // GOTO por columnas: la tabla transpuesta tiene una fila por no terminal
+        int[] gotoColumns = new int[denseGotos.length];
+        for (int state = 0; state < numStates; state++) {
+            for (int nt = 0; nt < numNonTerminals; nt++) {
+                gotoColumns[nt * numStates + state] = denseGotos[state * numNonTerminals + nt];
+            }
+        }
+        return new CompiledParseTable(this,
+                packRows(denseActions, terminals.length, ERROR), validBits(denseActions, ERROR),
+                packRows(gotoColumns, numStates, -1), validBits(gotoColumns, -1));
+    }
+
+    /**
+     * Empaqueta las filas de una tabla densa por desplazamiento (first fit,
+     * filas más llenas primero). Cada fila omite su valor más frecuente
+     * distinto de {@code missing}, que queda como valor por defecto.
+     *
+     * @return {desplazamientos, dueño de cada posición, valores, defectos}
+     */
+    private static int[][] packRows(int[] dense, int width, int missing) {
+        int rows = width == 0 ? 0 : dense.length / width;
+        int[] defaults = new int[rows];
+        int[][] columns = new int[rows][];
+        Integer[] order = new Integer[rows];
+        for (int row = 0; row < rows; row++) {
+            defaults[row] = mostFrequent(dense, row * width, width, missing);
+            int count = 0;
+            int[] cells = new int[width];
+            for (int c = 0; c < width; c++) {
+                int value = dense[row * width + c];
+                if (value != missing && value != defaults[row]) {
+                    cells[count++] = c;
+                }
+            }
+            columns[row] = Arrays.copyOf(cells, count);
+            order[row] = row;
+        }
+        Arrays.sort(order, (a, b) -> columns[b].length - columns[a].length);
+
+        int[] base = new int[rows];
+        BitSet used = new BitSet();
+        for (int row : order) {
+            int[] cells = columns[row];
+            if (cells.length == 0) {
+                continue; // Fila sin excepciones: base 0, ninguna posición le pertenece
+            }
+            int offset = used.nextClearBit(cells[0]) - cells[0];
+            while (!fits(used, cells, offset)) {
+                offset = used.nextClearBit(offset + cells[0] + 1) - cells[0];
+            }
+            base[row] = offset;
+            for (int c : cells) {
+                used.set(offset + c);
+            }
+        }
+
+        // Cualquier columna de cualquier fila debe caer dentro del vector
+        int length = used.length() + width;
+        int[] check = new int[length];
+        int[] values = new int[length];
+        Arrays.fill(check, -1);
+        for (int row = 0; row < rows; row++) {
+            for (int c : columns[row]) {
+                check[base[row] + c] = row;
+                values[base[row] + c] = dense[row * width + c];
+            }
+        }
+        return new int[][] { base, check, values, defaults };
+    }
+
+    /**
+     * Valor más frecuente de dense[from .. from + width) distinto de
+     * {@code missing}, o {@code missing} si la fila está vacía.
+     */
+    private static int mostFrequent(int[] dense, int from, int width, int missing) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        int best = missing;
+        int bestCount = 0;
+        for (int i = from; i < from + width; i++) {
+            if (dense[i] == missing) {
+                continue;
+            }
+            int count = counts.merge(dense[i], 1, Integer::sum);
+            if (count > bestCount) {
+                best = dense[i];
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    private static boolean fits(BitSet used, int[] cells, int offset) {
+        for (int c : cells) {
+            if (used.get(offset + c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Un bit por celda de la tabla densa: si su valor es distinto de {@code missing}.
+     */
+    private static long[] validBits(int[] dense, int missing) {
+        long[] bits = new long[(dense.length + 63) >>> 6];
+        for (int i = 0; i < dense.length; i++) {
+            if (dense[i] != missing) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Traduce una acción textual ("S5", "R3", "ACCEPT") a su forma empaquetada.
+     */
+    private static int encode(String action, Map<String, Integer> stateIds, Map<String, Integer> reduceIds) {
+        if (action == null || action.isEmpty()) {
+            return ERROR;
+        }
+        if (action.equals("ACCEPT")) {
+            return ACCEPT;
+        }
+        if (action.startsWith("S")) {
+            Integer target = stateIds.get(action.substring(1));
+            return target != null ? pack(SHIFT, target) : ERROR;
+        }
+        if (action.startsWith("R")) {
+            Integer reduce = reduceIds.get(action);
+            return reduce != null ? pack(REDUCE, reduce) : ERROR;
+        }
+        return ERROR;
+    }
+
+    private static int pack(int kind, int target) {
+        return (target << KIND_BITS) | kind;
+    }
+
+    /**
+     * Celdas dispersas en formato CSR: {celdas ordenadas, inicios, valores}. Los
+     * valores de cells[i] están en values[offsets[i] .. offsets[i + 1]). Sin
+     * celdas retorna arreglos null.
+     */
+    private static int[][] sparse(TreeMap<Integer, int[]> cells) {
+        if (cells.isEmpty()) {
+            return new int[3][];
+        }
+        int[] keys = new int[cells.size()];
+        int[] offsets = new int[cells.size() + 1];
+        int i = 0;
+        for (Map.Entry<Integer, int[]> cell : cells.entrySet()) {
+            keys[i] = cell.getKey();
+            offsets[i + 1] = offsets[i] + cell.getValue().length;
+            i++;
+        }
+        int[] values = new int[offsets[keys.length]];
+        i = 0;
+        for (int[] cellValues : cells.values()) {
+            System.arraycopy(cellValues, 0, values, offsets[i++], cellValues.length);
+        }
+        return new int[][] { keys, offsets, values };
+    }
+
+    private static int[] toArray(IntBuffer buffer) {
+        int[] values = new int[buffer.capacity()];
+        buffer.get(0, values);
+        return values;
+    }
+
+    private static Map<String, Integer> indexOf(String[] names) {
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            ids.put(names[i], i);
+        }
+        return ids;
+    }
+
+    // Decodificación de acciones
+    public static int kind(int action) {
+        return action & KIND_MASK;
+    }
+
+    public static int target(int action) {
+        return action >>> KIND_BITS;
+    }
+
+    /**
+     * Consulta la tabla ACTION. Retorna {@link #ERROR} si no hay acción.
+     */
+    public int action(int state, int terminal) {
+        if (actionCheck == null) {
+            int cell = state * terminals.length + terminal;
+            return actions != null ? actions[cell] : mappedActions.get(cell);
+        }
+        int slot = actionBase[state] + terminal;
+        if (actionCheck[slot] == state) {
+            return actions[slot];
+        }
+        int cell = state * terminals.length + terminal;
+        return (actionValid[cell >>> 6] & (1L << cell)) != 0 ? actionDefaults[state] : ERROR;
+    }
+
+    /**
+     * Reducción por defecto del estado, o {@link #ERROR} si el estado decide
+     * según el lookahead.
+     */
+    public int defaultAction(int state) {
+        return defaultActions[state];
+    }
+
+    /**
+     * Cantidad de acciones alternativas de la celda, o 0 si la celda es
+     * determinista (en ese caso solo cuenta {@link #action(int, int)}).
+     */
+    public int conflictCount(int state, int terminal) {
+        if (conflictCells == null) {
+            return 0;
+        }
+        int i = Arrays.binarySearch(conflictCells, state * terminals.length + terminal);
+        return i < 0 ? 0 : conflictOffsets[i + 1] - conflictOffsets[i];
+    }
+
+    /**
+     * i-ésima acción alternativa de una celda con conflicto.
+     */
+    public int conflictAction(int state, int terminal, int i) {
+        int cell = Arrays.binarySearch(conflictCells, state * terminals.length + terminal);
+        return conflictActions[conflictOffsets[cell] + i];
+    }
+
+    /**
+     * Si el terminal pertenece al FOLLOW del no terminal. Las tablas que no
+     * traen los FOLLOW consideran que cualquier terminal pertenece.
+     */
+    public boolean isFollow(int nonTerminal, int terminal) {
+        return followSets == null || followSets[nonTerminal].get(terminal);
+    }
+
+    public boolean isCompressed() {
+        return actionCheck != null;
+    }
+
+    /**
+     * Si ACTION y GOTO se leen de un archivo mapeado en memoria.
+     */
+    public boolean isMapped() {
+        return mappedActions != null;
+    }
+
+    /**
+     * Bytes que ocupan los arreglos de la tabla (sin contar nombres de
+     * estados y símbolos ni las ReduceEntry, que son iguales en ambas formas).
+     * En una tabla mapeada, ACTION y GOTO cuentan su tamaño en el archivo,
+     * aunque estén fuera del heap y solo se carguen las páginas que se leen.
+     */
+    public long footprintBytes() {
+        return actionBytes() + gotoBytes() + conflictBytes() + unitChainBytes() + followBytes() + reduceBytes();
+    }
+
+    private long actionBytes() {
+        return bytes(actions) + bytes(mappedActions) + bytes(actionBase) + bytes(actionCheck) + bytes(actionDefaults) + bytes(actionValid)
+                + bytes(defaultActions);
+    }
+
+    private long gotoBytes() {
+        return bytes(gotos) + bytes(mappedGotos) + bytes(gotoBase) + bytes(gotoCheck) + bytes(gotoDefaults) + bytes(gotoValid);
+    }
+
+    private long conflictBytes() {
+        return bytes(conflictCells) + bytes(conflictOffsets) + bytes(conflictActions);
+    }
+
+    private long unitChainBytes() {
+        return bytes(unitChainCells) + bytes(unitChainOffsets) + bytes(unitChainReduces);
+    }
+
+    private long followBytes() {
+        if (followSets == null) {
+            return 0;
+        }
+        long total = ARRAY_HEADER + 4L * followSets.length;
+        for (BitSet follow : followSets) {
+            total += 24 + ARRAY_HEADER + 8L * ((follow.size() + 63) / 64); // BitSet + long[]
+        }
+        return total;
+    }
+
+    private long reduceBytes() {
+        return bytes(reduceLengths) + bytes(reduceLhs) + bytes(reduceProductions);
+    }
+
+    private static long bytes(int[] array) {
+        return array == null ? 0 : ARRAY_HEADER + 4L * array.length;
+    }
+
+    private static long bytes(IntBuffer buffer) {
+        return buffer == null ? 0 : 4L * buffer.capacity();
+    }
+
+    private static long bytes(long[] array) {
+        return array == null ? 0 : ARRAY_HEADER + 8L * array.length;
+    }
+
+    /**
+     * Imprime el tamaño de cada parte de la tabla y, para ACTION y GOTO, el que
+     * tendría la forma densa.
+     */
+    public void printFootprint(PrintStream out) {
+        int states = stateNames.length;
+        long denseActions = ARRAY_HEADER + 4L * states * terminals.length + bytes(defaultActions);
+        long denseGotos = ARRAY_HEADER + 4L * states * nonTerminals.length;
+        out.println("=== TAMAÑO DE LA TABLA (" + (isCompressed() ? "comprimida" : isMapped() ? "mapeada" : "densa") + ") ===");
+        out.printf("Estados: %d | Terminales: %d | No terminales: %d%n", states, terminals.length, nonTerminals.length);
+        out.printf("%-12s | %12s | %12s%n", "PARTE", "BYTES", "DENSA");
+        out.printf("%-12s | %12d | %12d%n", "ACTION", actionBytes(), denseActions);
+        out.printf("%-12s | %12d | %12d%n", "GOTO", gotoBytes(), denseGotos);
+        out.printf("%-12s | %12d |%n", "Conflictos", conflictBytes());
+        out.printf("%-12s | %12d |%n", "Unitarias", unitChainBytes());
+        out.printf("%-12s | %12d |%n", "FOLLOW", followBytes());
+        out.printf("%-12s | %12d |%n", "Reducciones", reduceBytes());
+        out.printf("%-12s | %12d | %12d%n", "TOTAL", footprintBytes(),
+                footprintBytes() - actionBytes() - gotoBytes() + denseActions + denseGotos);
+    }
+
+    public boolean hasConflicts() {
+        return conflictActions != null && conflictActions.length > 0;
+    }
+
+    /**
+     * Consulta la tabla GOTO. Retorna -1 si no hay transición.
+     */
+    public int goTo(int state, int nonTerminal) {
+        if (gotoCheck == null) {
+            int cell = state * nonTerminals.length + nonTerminal;
+            return gotos != null ? gotos[cell] : mappedGotos.get(cell);
+        }
+        int slot = gotoBase[nonTerminal] + state;
+        if (gotoCheck[slot] == nonTerminal) {
+            return gotos[slot];
+        }
+        int cell = nonTerminal * stateNames.length + state;
+        return (gotoValid[cell >>> 6] & (1L << cell)) != 0 ? gotoDefaults[nonTerminal] : -1;
+    }
+
+    /**
+     * Cantidad de reducciones unitarias que omite GOTO(state, nonTerminal), o
+     * 0 si la celda lleva directamente al estado de la gramática original.
+     */
+    public int unitChainCount(int state, int nonTerminal) {
+        if (unitChainCells == null) {
+            return 0;
+        }
+        int i = Arrays.binarySearch(unitChainCells, state * nonTerminals.length + nonTerminal);
+        return i < 0 ? 0 : unitChainOffsets[i + 1] - unitChainOffsets[i];
+    }
+
+    /**
+     * i-ésima reducción unitaria omitida por la celda GOTO (0 = la más interna).
+     */
+    public int unitChainReduce(int state, int nonTerminal, int i) {
+        int cell = Arrays.binarySearch(unitChainCells, state * nonTerminals.length + nonTerminal);
+        return unitChainReduces[unitChainOffsets[cell] + i];
+    }
+
+    public boolean hasUnitChains() {
+        return unitChainReduces != null && unitChainReduces.length > 0;
+    }
+
+    /**
+     * Id denso de un estado del AFD, o -1 si no pertenece a la tabla.
+     */
+    public int stateId(String state) {
+        Integer id = stateIds.get(state);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Id denso de un terminal, o -1 si no pertenece a la tabla.
+     */
+    public int terminalId(String terminal) {
+        Integer id = terminalIds.get(terminal);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Id denso de un no terminal, o -1 si no pertenece a la tabla.
+     */
+    public int nonTerminalId(String nonTerminal) {
+        Integer id = nonTerminalIds.get(nonTerminal);
+        return id != null ? id : -1;
+    }
+
+    public int getInitialState() {
+        return initialState;
+    }
+
+    public int getStateCount() {
+        return stateNames.length;
+    }
+
+    public int getTerminalCount() {
+        return terminals.length;
+    }
+
+    public int getNonTerminalCount() {
+        return nonTerminals.length;
+    }
+
+    public String getStateName(int state) {
+        return stateNames[state];
+    }
+
+    public String getTerminal(int terminal) {
+        return terminals[terminal];
+    }
+
+    public String getNonTerminal(int nonTerminal) {
+        return nonTerminals[nonTerminal];
+    }
+
+    /**
+     * Id de símbolo unificado para un no terminal: los terminales ocupan los
+     * ids [0, terminales) y los no terminales los siguientes.
+     */
+    public int nonTerminalSymbol(int nonTerminal) {
+        return terminals.length + nonTerminal;
+    }
+
+    /**
+     * Nombre de un id de símbolo unificado (terminal o no terminal).
+     */
+    public String getSymbolName(int symbol) {
+        return symbol < terminals.length ? terminals[symbol] : nonTerminals[symbol - terminals.length];
+    }
+
+    public String getReduceName(int reduce) {
+        return reduceNames[reduce];
+    }
+
+    public ReduceEntry getReduceEntry(int reduce) {
+        return reduceEntries[reduce];
+    }
+
+    /**
+     * Cantidad de símbolos que la reducción saca del stack.
+     */
+    public int getReduceLength(int reduce) {
+        return reduceLengths[reduce];
+    }
+
+    /**
+     * Id del no terminal al que reduce la reducción.
+     */
+    public int getReduceLhs(int reduce) {
+        return reduceLhs[reduce];
+    }
+
+    /**
+     * Id de la producción de la gramática asociada a la reducción.
+     */
+    public int getReduceProduction(int reduce) {
+        return reduceProductions[reduce];
+    }
+
+    public int getReduceCount() {
+        return reduceNames.length;
+    }
+
+    public int getProductionCount() {
+        return productionCount;
+    }
+}
@@ -28,7 +28,7 @@ public class EstadoAFD implements Serializable{
 
     public boolean contieneItem(GrammarExtended.ProductionWithPointer item) {
         for (GrammarExtended.ProductionWithPointer prod : items) {
-            if (prod.getSymbols().equals(item.getSymbols()) && prod.getPointer() == item.getPointer()) {
+            if (prod.equals(item)) {
                 return true;
             }
         }
@@ -13,6 +13,7 @@ public class Grammar implements Serializable {
     private List<String> terminales; // Terminales
     private List<String> noTerminales; // No terminales
     private String initialSimbol;
+    private SymbolTable symbolTable; // Ids densos de terminales y no terminales
 
     public Grammar(Map<String, List<String>> productions, List<String> terminales, List<String> noTerminales,
             String initialSimbol) {
@@ -20,6 +21,7 @@ public class Grammar implements Serializable {
         this.terminales = terminales;
         this.noTerminales = noTerminales;
         this.initialSimbol = initialSimbol;
+        this.symbolTable = new SymbolTable(terminales, noTerminales);
     }
 
     public Grammar(String initialSimbol) {
@@ -27,6 +29,7 @@ public class Grammar implements Serializable {
         this.terminales = new ArrayList<>();
         this.noTerminales = new ArrayList<>();
         this.initialSimbol = initialSimbol;
+        this.symbolTable = new SymbolTable();
     }
 
     // Método para agregar una producción
@@ -40,10 +43,12 @@ public class Grammar implements Serializable {
     // Métodos para agregar terminales y no terminales
     public void agregarTerminal(String simbolo) {
         terminales.add(simbolo);
+        getSymbolTable().intern(simbolo, true);
     }
 
     public void agregarNoTerminal(String simbolo) {
         noTerminales.add(simbolo);
+        getSymbolTable().intern(simbolo, false);
     }
 
     // Getters para obtener las producciones, terminales y no terminales
@@ -59,6 +64,17 @@ public class Grammar implements Serializable {
         return noTerminales;
     }
 
+    /**
+     * Tabla de símbolos de la gramática. Las gramáticas serializadas antes de
+     * que existiera la reconstruyen a partir de las listas.
+     */
+    public SymbolTable getSymbolTable() {
+        if (symbolTable == null) {
+            symbolTable = new SymbolTable(terminales, noTerminales);
+        }
+        return symbolTable;
+    }
+
     public String getInitialSimbol() {
         return initialSimbol;
     }
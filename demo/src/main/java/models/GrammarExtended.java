@@ -13,6 +13,7 @@ public class GrammarExtended implements Serializable{
     private Map<String, List<ProductionWithPointer>> productions = new LinkedHashMap<>();
     private List<String> terminales; // Terminales
     private List<String> noTerminales; // No terminales
+    private SymbolTable symbolTable; // Tabla de símbolos de la gramática original
 
 
     public GrammarExtended(String initialSymbol) {
@@ -23,7 +24,7 @@ public class GrammarExtended implements Serializable{
     }
 
     public void agregarProduccion(String noTerminal, List<String> produccion, int pointer) {
-        ProductionWithPointer prod = new ProductionWithPointer(produccion, pointer);
+        ProductionWithPointer prod = new ProductionWithPointer(noTerminal, produccion, pointer);
         productions.computeIfAbsent(noTerminal, k -> new ArrayList<>()).add(prod);
     }
 
@@ -64,17 +65,43 @@ public class GrammarExtended implements Serializable{
         this.noTerminales = noTerminales;
     }
 
+    public SymbolTable getSymbolTable() {
+        if (symbolTable == null) {
+            symbolTable = new SymbolTable(terminales, noTerminales);
+        }
+        return symbolTable;
+    }
+
+    public void setSymbolTable(SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+    }
+
     public static class ProductionWithPointer implements Serializable{
         private static final long serialVersionUID = 1L;
         
+        private String head; // null en AFDs serializados antes de guardarla
         private List<String> symbols;
         private int pointer;
 
         public ProductionWithPointer(List<String> symbols, int pointer) {
+            this(null, symbols, pointer);
+        }
+
+        /**
+         * @param head No terminal de la producción: dos producciones con el
+         *             mismo cuerpo ({@code A -> x}, {@code B -> x}) son items
+         *             distintos
+         */
+        public ProductionWithPointer(String head, List<String> symbols, int pointer) {
+            this.head = head;
             this.symbols = symbols;
             this.pointer = pointer;
         }
 
+        public String getHead() {
+            return head;
+        }
+
         public List<String> getSymbols() {
             return symbols;
         }
@@ -100,12 +127,13 @@ public class GrammarExtended implements Serializable{
             if (o == null || getClass() != o.getClass()) return false;
             ProductionWithPointer that = (ProductionWithPointer) o;
             return pointer == that.pointer &&
+                Objects.equals(head, that.head) &&
                 Objects.equals(symbols, that.symbols);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(symbols, pointer);
+            return Objects.hash(head, symbols, pointer);
         }
         
     }
@@ -0,0 +1,589 @@
+package models;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formato binario de {@link CompiledParseTable}, pensado para cargarse con
+ * {@link FileChannel#map}, y su artefacto de depuración.
+ *
+ * A diferencia de serializar {@link ParsingTable} con ObjectOutputStream, la
+ * tabla de ejecución no guarda el AFD, sus items ni la gramática: solo lo que
+ * leen el parser y {@link modules.error.ErrorHandler}. Los nombres de estado,
+ * terminal y no terminal son los únicos textos; las producciones se guardan
+ * como ids de símbolo. Todo es little-endian y cada sección empieza alineada
+ * a 8 bytes:
+ *
+ * <pre>
+ * Encabezado (HEADER_INTS enteros)
+ *   MAGIC, VERSION, estados, terminales, no terminales, reducciones,
+ *   estado inicial, producciones, flags,
+ *   y por sección: (desplazamiento en bytes, largo en bytes)
+ * NAMES        cantidad, inicios[cantidad + 1] y los bytes UTF-8 de: estados,
+ *              terminales y no terminales
+ * ACTION       int[estados * terminales], acción empaquetada (densa)
+ * GOTO         int[estados * no terminales], estado o -1 (densa)
+ * DEFAULTS     int[estados], reducción por defecto o ERROR
+ * REDUCES      int[reducciones] x 3: largo, cabeza y producción
+ * CONFLICTS    n, celdas[n], inicios[n + 1], acciones (CSR)
+ * UNIT_CHAINS  n, celdas[n], inicios[n + 1], reducciones (CSR)
+ * FOLLOW       por no terminal, un bit por terminal en enteros de 32 bits
+ * RHS          inicios[reducciones + 1] y el lado derecho de cada reducción
+ *              como ids de símbolo unificados (-1 si no es de la tabla)
+ * </pre>
+ *
+ * Lo que solo sirve para depurar (nombres R# y estado de cada reducción, items
+ * LR de cada estado y la gramática) va aparte, en el texto que escribe
+ * {@link #writeDebug(ParsingTable, Path)}. Una tabla mapeada nombra sus
+ * reducciones por id denso ({@code r0, r1, ...}), que es la numeración que usa
+ * ese archivo.
+ *
+ * {@link #map(Path)} decodifica los nombres y las secciones chicas (tamaño
+ * lineal en estados, símbolos y reducciones) y deja ACTION y GOTO, las únicas
+ * de tamaño estados × símbolos, como vistas {@link IntBuffer} sobre el
+ * archivo mapeado: cargar una tabla grande no las copia al heap. Sí las
+ * recorre una vez para validar cada celda (estado o reducción destino dentro
+ * de la tabla), igual que las secciones chicas, así un archivo corrupto falla
+ * al mapearlo con IOException y no a mitad de un parseo.
+ */
+public final class ParseTableFile {
+
+    public static final int MAGIC = 0x544C5059; // "YPLT" en little-endian
+    public static final int VERSION = 2; // 2: sin textos de depuración, lado derecho como ids
+
+    private static final int NAMES = 0;
+    private static final int ACTION = 1;
+    private static final int GOTO = 2;
+    private static final int DEFAULTS = 3;
+    private static final int REDUCES = 4;
+    private static final int CONFLICTS = 5;
+    private static final int UNIT_CHAINS = 6;
+    private static final int FOLLOW = 7;
+    private static final int RHS = 8;
+    private static final int SECTIONS = 9;
+
+    private static final int FIXED_INTS = 9; // MAGIC .. flags
+    private static final int HEADER_INTS = FIXED_INTS + 2 * SECTIONS;
+    private static final int FLAG_FOLLOW = 1;
+
+    private ParseTableFile() {
+    }
+
+    /**
+     * Escribe la tabla (si está comprimida, se guarda su forma densa).
+     */
+    public static void write(CompiledParseTable table, Path path) throws IOException {
+        int states = table.getStateCount();
+        int terminals = table.getTerminalCount();
+        int nonTerminals = table.getNonTerminalCount();
+        int reduces = table.getReduceCount();
+
+        ByteBuffer[] sections = new ByteBuffer[SECTIONS];
+        sections[NAMES] = names(table);
+
+        IntBuffer actions = (sections[ACTION] = ints(states * terminals)).asIntBuffer();
+        IntBuffer gotos = (sections[GOTO] = ints(states * nonTerminals)).asIntBuffer();
+        IntBuffer defaults = (sections[DEFAULTS] = ints(states)).asIntBuffer();
+        for (int s = 0; s < states; s++) {
+            for (int t = 0; t < terminals; t++) {
+                actions.put(table.action(s, t));
+            }
+            for (int nt = 0; nt < nonTerminals; nt++) {
+                gotos.put(table.goTo(s, nt));
+            }
+            defaults.put(table.defaultAction(s));
+        }
+
+        IntBuffer reduceInfo = (sections[REDUCES] = ints(3 * reduces)).asIntBuffer();
+        for (int r = 0; r < reduces; r++) {
+            reduceInfo.put(r, table.getReduceLength(r));
+            reduceInfo.put(reduces + r, table.getReduceLhs(r));
+            reduceInfo.put(2 * reduces + r, table.getReduceProduction(r));
+        }
+
+        // Celdas con conflicto y cadenas unitarias, en el mismo CSR que usa la tabla
+        int[][] conflicts = new int[states * terminals][];
+        for (int s = 0; s < states; s++) {
+            for (int t = 0; t < terminals; t++) {
+                int count = table.conflictCount(s, t);
+                if (count > 0) {
+                    conflicts[s * terminals + t] = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        conflicts[s * terminals + t][i] = table.conflictAction(s, t, i);
+                    }
+                }
+            }
+        }
+        sections[CONFLICTS] = sparse(conflicts);
+        int[][] chains = new int[states * nonTerminals][];
+        for (int s = 0; s < states; s++) {
+            for (int nt = 0; nt < nonTerminals; nt++) {
+                int count = table.unitChainCount(s, nt);
+                if (count > 0) {
+                    chains[s * nonTerminals + nt] = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        chains[s * nonTerminals + nt][i] = table.unitChainReduce(s, nt, i);
+                    }
+                }
+            }
+        }
+        sections[UNIT_CHAINS] = sparse(chains);
+
+        int words = (terminals + 31) >>> 5;
+        IntBuffer follow = (sections[FOLLOW] = ints(nonTerminals * words)).asIntBuffer();
+        for (int nt = 0; nt < nonTerminals; nt++) {
+            for (int t = 0; t < terminals; t++) {
+                if (table.isFollow(nt, t)) {
+                    follow.put(nt * words + (t >>> 5), follow.get(nt * words + (t >>> 5)) | (1 << (t & 31)));
+                }
+            }
+        }
+
+        sections[RHS] = rhs(table);
+
+        ByteBuffer header = ints(HEADER_INTS);
+        header.putInt(MAGIC).putInt(VERSION).putInt(states).putInt(terminals).putInt(nonTerminals)
+                .putInt(reduces).putInt(table.getInitialState()).putInt(table.getProductionCount())
+                .putInt(FLAG_FOLLOW);
+        long offset = align(header.capacity());
+        for (ByteBuffer section : sections) {
+            header.putInt((int) offset).putInt(section.capacity());
+            offset = align(offset + section.capacity());
+        }
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("La tabla no entra en el formato binario (" + offset + " bytes)");
+        }
+        header.rewind();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            for (ByteBuffer section : sections) {
+                channel.position(align(channel.position()));
+                section.rewind();
+                while (section.hasRemaining()) {
+                    channel.write(section);
+                }
+            }
+            // Relleno final para que el archivo cubra la última sección alineada
+            if (channel.position() < offset) {
+                channel.write(ByteBuffer.allocate((int) (offset - channel.position())));
+            }
+        }
+    }
+
+    /**
+     * Mapea un archivo escrito por {@link #write(CompiledParseTable, Path)}.
+     * El mapeo sigue válido después de cerrar el canal y lo libera el GC
+     * junto con la tabla.
+     */
+    public static CompiledParseTable map(Path path) throws IOException {
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < 4L * HEADER_INTS) {
+                throw new IOException("Archivo de tabla truncado: " + path);
+            }
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        file.order(ByteOrder.LITTLE_ENDIAN);
+        if (file.getInt(0) != MAGIC) {
+            throw new IOException("No es un archivo de tabla de parseo: " + path);
+        }
+        if (file.getInt(4) != VERSION) {
+            throw new IOException("Versión de tabla no soportada: " + file.getInt(4) + " (se esperaba " + VERSION + ")");
+        }
+        int states = file.getInt(8);
+        int terminals = file.getInt(12);
+        int nonTerminals = file.getInt(16);
+        int reduces = file.getInt(20);
+        int initialState = file.getInt(24);
+        int productionCount = file.getInt(28);
+        int flags = file.getInt(32);
+        if (states < 0 || terminals < 0 || nonTerminals < 0 || reduces < 0 || productionCount < 0
+                || (states > 0 ? initialState < 0 || initialState >= states : initialState != 0)) {
+            throw new IOException("Encabezado de tabla inválido: " + path);
+        }
+
+        IntBuffer[] sections = new IntBuffer[SECTIONS];
+        ByteBuffer names = null;
+        for (int i = 0; i < SECTIONS; i++) {
+            int offset = file.getInt(4 * (FIXED_INTS + 2 * i));
+            int length = file.getInt(4 * (FIXED_INTS + 2 * i) + 4);
+            if (offset < 0 || length < 0 || (long) offset + length > file.capacity()) {
+                throw new IOException("Sección " + i + " fuera del archivo: " + path);
+            }
+            ByteBuffer section = file.slice(offset, length).order(ByteOrder.LITTLE_ENDIAN);
+            if (i == NAMES) {
+                names = section;
+            }
+            sections[i] = section.asIntBuffer();
+        }
+        // En long: con un encabezado corrupto los productos pueden desbordar un int
+        if (sections[ACTION].capacity() != (long) states * terminals
+                || sections[GOTO].capacity() != (long) states * nonTerminals
+                || sections[DEFAULTS].capacity() != states || sections[REDUCES].capacity() != 3L * reduces
+                || sections[RHS].capacity() < reduces + 1L) {
+            throw new IOException("Secciones inconsistentes con el encabezado: " + path);
+        }
+
+        // Nombres y metadatos de reducción: se copian, son lineales en el tamaño de la gramática
+        String[] strings = strings(names);
+        if (strings.length < (long) states + terminals + nonTerminals) {
+            throw new IOException("Faltan nombres de símbolos o estados: " + path);
+        }
+        int next = 0;
+        String[] stateNames = copyOf(strings, next, states);
+        next += states;
+        String[] terminalNames = copyOf(strings, next, terminals);
+        next += terminals;
+        String[] nonTerminalNames = copyOf(strings, next, nonTerminals);
+
+        // Producciones reconstruidas desde los ids (sin estado: es dato de depuración)
+        int[] reduceLengths = array(sections[REDUCES], 0, reduces);
+        int[] reduceLhs = array(sections[REDUCES], reduces, reduces);
+        int[] reduceProductions = array(sections[REDUCES], 2 * reduces, reduces);
+        int[] rhsOffsets = array(sections[RHS], 0, reduces + 1);
+        String[] reduceNames = new String[reduces];
+        ReduceEntry[] reduceEntries = new ReduceEntry[reduces];
+        for (int r = 0; r < reduces; r++) {
+            if (reduceLhs[r] < 0 || reduceLhs[r] >= nonTerminals || reduceLengths[r] < 0 || reduceProductions[r] < 0
+                    || reduceProductions[r] >= productionCount || rhsOffsets[r] < 0 || rhsOffsets[r] > rhsOffsets[r + 1]
+                    || reduces + 1L + rhsOffsets[r + 1] > sections[RHS].capacity()) {
+                throw new IOException("Reducción " + r + " inválida: " + path);
+            }
+            StringBuilder body = new StringBuilder();
+            for (int i = rhsOffsets[r]; i < rhsOffsets[r + 1]; i++) {
+                int symbol = sections[RHS].get(reduces + 1 + i);
+                body.append(body.length() > 0 ? " " : "").append(symbol < 0 ? "?"
+                        : symbol < terminals ? terminalNames[symbol]
+                        : symbol - terminals < nonTerminals ? nonTerminalNames[symbol - terminals] : "?");
+            }
+            reduceNames[r] = "r" + r;
+            reduceEntries[r] = new ReduceEntry(null, nonTerminalNames[reduceLhs[r]], body.toString(),
+                    reduceProductions[r], reduceLengths[r], reduceLhs[r]);
+        }
+
+        // ACTION, GOTO y reducciones por defecto: cada celda apunta dentro de la tabla
+        for (int cell = 0; cell < sections[ACTION].capacity(); cell++) {
+            if (!validAction(sections[ACTION].get(cell), states, reduces)) {
+                throw new IOException("Acción inválida en la celda " + cell + ": " + path);
+            }
+        }
+        for (int cell = 0; cell < sections[GOTO].capacity(); cell++) {
+            int target = sections[GOTO].get(cell);
+            if (target < -1 || target >= states) {
+                throw new IOException("GOTO inválido en la celda " + cell + ": " + path);
+            }
+        }
+        int[] defaults = array(sections[DEFAULTS], 0, states);
+        for (int s = 0; s < states; s++) {
+            if (defaults[s] != CompiledParseTable.ERROR && (CompiledParseTable.kind(defaults[s]) != CompiledParseTable.REDUCE
+                    || !validAction(defaults[s], states, reduces))) {
+                throw new IOException("Reducción por defecto inválida en el estado " + s + ": " + path);
+            }
+        }
+        int[][] conflicts = csr(sections[CONFLICTS], (long) states * terminals, "conflictos", path);
+        for (int i = 0; conflicts[2] != null && i < conflicts[2].length; i++) {
+            if (!validAction(conflicts[2][i], states, reduces)) {
+                throw new IOException("Acción en conflicto inválida: " + path);
+            }
+        }
+        int[][] unitChains = csr(sections[UNIT_CHAINS], (long) states * nonTerminals, "cadenas unitarias", path);
+        for (int i = 0; unitChains[2] != null && i < unitChains[2].length; i++) {
+            if (unitChains[2][i] < 0 || unitChains[2][i] >= reduces) {
+                throw new IOException("Reducción unitaria inválida: " + path);
+            }
+        }
+
+        BitSet[] followSets = null;
+        if ((flags & FLAG_FOLLOW) != 0) {
+            int words = (terminals + 31) >>> 5;
+            if (sections[FOLLOW].capacity() != (long) nonTerminals * words) {
+                throw new IOException("Sección FOLLOW inconsistente con el encabezado: " + path);
+            }
+            followSets = new BitSet[nonTerminals];
+            for (int nt = 0; nt < nonTerminals; nt++) {
+                followSets[nt] = new BitSet(terminals);
+                for (int t = 0; t < terminals; t++) {
+                    if ((sections[FOLLOW].get(nt * words + (t >>> 5)) & (1 << (t & 31))) != 0) {
+                        followSets[nt].set(t);
+                    }
+                }
+            }
+        }
+
+        return new CompiledParseTable(stateNames, terminalNames, nonTerminalNames, initialState,
+                null, null, sections[ACTION], sections[GOTO],
+                conflicts, followSets, defaults, unitChains,
+                reduceNames, reduceEntries, reduceLengths, reduceLhs, reduceProductions, productionCount);
+    }
+
+    /**
+     * Escribe el artefacto de depuración que acompaña a la tabla de ejecución:
+     * la gramática, cada reducción por id denso con su nombre R#, su estado y
+     * su producción, y los items LR de cada estado del AFD. Es texto UTF-8
+     * para leerlo junto a una traza o un error; el parser nunca lo carga.
+     */
+    public static void writeDebug(ParsingTable parseTable, Path path) throws IOException {
+        CompiledParseTable table = parseTable.freeze();
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            out.write("# Depuración de la tabla de parseo (formato " + VERSION + ")\n");
+            out.write("# Estados: " + table.getStateCount() + " | Terminales: " + table.getTerminalCount()
+                    + " | No terminales: " + table.getNonTerminalCount() + " | Reducciones: "
+                    + table.getReduceCount() + "\n");
+
+            Grammar grammar = parseTable.getOriginalGrammar();
+            if (grammar != null) {
+                out.write("\n[GRAMATICA]\n");
+                out.write("Símbolo inicial: " + grammar.getInitialSimbol() + "\n");
+                for (Map.Entry<String, List<String>> production : grammar.getProductions().entrySet()) {
+                    for (String body : production.getValue()) {
+                        out.write(production.getKey() + " -> " + body + "\n");
+                    }
+                }
+            }
+
+            out.write("\n[REDUCCIONES]\n");
+            for (int r = 0; r < table.getReduceCount(); r++) {
+                ReduceEntry entry = table.getReduceEntry(r);
+                out.write(String.format("r%-5d %-6s estado %-6s (%d) %s -> %s%n", r, table.getReduceName(r),
+                        entry.getState(), table.getReduceProduction(r), entry.getProduction_head(),
+                        entry.getProduction_value().trim()));
+            }
+
+            out.write("\n[ESTADOS]\n");
+            AFD afd = parseTable.getAssociatedAfd();
+            for (int s = 0; s < table.getStateCount(); s++) {
+                String name = table.getStateName(s);
+                out.write(s + " (" + name + ")" + (s == table.getInitialState() ? " inicial" : "") + "\n");
+                EstadoAFD estado = afd != null ? afd.getEstados().get(name) : null;
+                if (estado != null) {
+                    for (GrammarExtended.ProductionWithPointer item : estado.getItems()) {
+                        out.write("  " + item + "\n");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Si el archivo empieza con el número mágico del formato (para distinguirlo
+     * de un PARSE_TABLE.dat serializado).
+     */
+    public static boolean isTableFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            return channel.read(magic, 0) == 4 && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    private static ByteBuffer ints(int count) {
+        return ByteBuffer.allocate(4 * count).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static ByteBuffer names(CompiledParseTable table) {
+        String[] strings = new String[table.getStateCount() + table.getTerminalCount()
+                + table.getNonTerminalCount()];
+        int next = 0;
+        for (int s = 0; s < table.getStateCount(); s++) {
+            strings[next++] = table.getStateName(s);
+        }
+        for (int t = 0; t < table.getTerminalCount(); t++) {
+            strings[next++] = table.getTerminal(t);
+        }
+        for (int nt = 0; nt < table.getNonTerminalCount(); nt++) {
+            strings[next++] = table.getNonTerminal(nt);
+        }
+
+        byte[][] encoded = new byte[strings.length][];
+        int total = 0;
+        for (int i = 0; i < strings.length; i++) {
+            encoded[i] = strings[i] == null ? new byte[0] : strings[i].getBytes(StandardCharsets.UTF_8);
+            total += encoded[i].length;
+        }
+        int prefix = 4 * (strings.length + 2);
+        ByteBuffer section = ByteBuffer.allocate(prefix + total).order(ByteOrder.LITTLE_ENDIAN);
+        section.putInt(strings.length);
+        int start = 0;
+        for (byte[] bytes : encoded) {
+            section.putInt(start);
+            start += bytes.length;
+        }
+        section.putInt(start);
+        for (byte[] bytes : encoded) {
+            section.put(bytes);
+        }
+        return section;
+    }
+
+    /**
+     * Lado derecho de cada reducción como ids de símbolo unificados.
+     */
+    private static ByteBuffer rhs(CompiledParseTable table) {
+        int reduces = table.getReduceCount();
+        int[][] bodies = new int[reduces][];
+        int total = 0;
+        for (int r = 0; r < reduces; r++) {
+            String body = table.getReduceEntry(r).getProduction_value().trim();
+            String[] symbols = table.getReduceLength(r) == 0 || body.isEmpty() ? new String[0] : body.split("\\s+");
+            bodies[r] = new int[symbols.length];
+            for (int i = 0; i < symbols.length; i++) {
+                int terminal = table.terminalId(symbols[i]);
+                int nonTerminal = table.nonTerminalId(symbols[i]);
+                bodies[r][i] = terminal >= 0 ? terminal
+                        : nonTerminal >= 0 ? table.nonTerminalSymbol(nonTerminal) : -1;
+            }
+            total += symbols.length;
+        }
+        ByteBuffer section = ints(reduces + 1 + total);
+        IntBuffer out = section.asIntBuffer();
+        int start = 0;
+        out.put(start);
+        for (int[] body : bodies) {
+            start += body.length;
+            out.put(start);
+        }
+        for (int[] body : bodies) {
+            out.put(body);
+        }
+        return section;
+    }
+
+    private static String[] strings(ByteBuffer section) throws IOException {
+        if (section.capacity() < 4) {
+            throw new IOException("Sección de nombres inválida");
+        }
+        int count = section.getInt(0);
+        if (count < 0 || 4L * (count + 2) > section.capacity()) {
+            throw new IOException("Sección de nombres inválida");
+        }
+        int prefix = 4 * (count + 2);
+        int data = section.capacity() - prefix; // Bytes disponibles para el texto
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            int from = section.getInt(4 * (i + 1));
+            int to = section.getInt(4 * (i + 2));
+            if (from < 0 || to < from || to > data) {
+                throw new IOException("Nombre " + i + " fuera de la sección de nombres [" + from + ", " + to + ")");
+            }
+            byte[] bytes = new byte[to - from];
+            section.get(prefix + from, bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static String[] copyOf(String[] strings, int from, int count) {
+        String[] copy = new String[count];
+        System.arraycopy(strings, from, copy, 0, count);
+        return copy;
+    }
+
+    private static int[] array(IntBuffer buffer, int from, int count) {
+        int[] values = new int[count];
+        buffer.get(from, values);
+        return values;
+    }
+
+    /**
+     * Celdas no nulas en CSR: n, celdas[n], inicios[n + 1], valores.
+     */
+    private static ByteBuffer sparse(int[][] cells) {
+        int count = 0;
+        int values = 0;
+        for (int[] cell : cells) {
+            if (cell != null) {
+                count++;
+                values += cell.length;
+            }
+        }
+        ByteBuffer section = ints(1 + count + count + 1 + values);
+        IntBuffer out = section.asIntBuffer();
+        out.put(count);
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != null) {
+                out.put(i);
+            }
+        }
+        int start = 0;
+        out.put(start);
+        for (int[] cell : cells) {
+            if (cell != null) {
+                start += cell.length;
+                out.put(start);
+            }
+        }
+        for (int[] cell : cells) {
+            if (cell != null) {
+                out.put(cell);
+            }
+        }
+        return section;
+    }
+
+    /**
+     * Inverso de {@link #sparse(int[][])}, con arreglos null si no hay celdas
+     * (como los deja la tabla compilada). Valida que las celdas estén
+     * ordenadas dentro de [0, cellCount), que los inicios no retrocedan y que
+     * la sección tenga exactamente los valores que indican.
+     */
+    private static int[][] csr(IntBuffer section, long cellCount, String name, Path path) throws IOException {
+        int count = section.capacity() == 0 ? 0 : section.get(0);
+        if (count == 0) {
+            if (section.capacity() > 2) {
+                throw new IOException("Sección de " + name + " inválida: " + path);
+            }
+            return new int[3][];
+        }
+        if (count < 0 || 2L + 2L * count > section.capacity()) {
+            throw new IOException("Sección de " + name + " inválida: " + path);
+        }
+        int[] cells = array(section, 1, count);
+        int[] offsets = array(section, 1 + count, count + 1);
+        for (int i = 0; i < count; i++) {
+            if (cells[i] < 0 || cells[i] >= cellCount || (i > 0 && cells[i] <= cells[i - 1])
+                    || offsets[i] < 0 || offsets[i] > offsets[i + 1]) {
+                throw new IOException("Celda " + i + " de " + name + " inválida: " + path);
+            }
+        }
+        if (offsets[0] != 0 || 2L + 2L * count + offsets[count] != section.capacity()) {
+            throw new IOException("Sección de " + name + " inconsistente con sus inicios: " + path);
+        }
+        int[] values = array(section, 2 + 2 * count, offsets[count]);
+        return new int[][] { cells, offsets, values };
+    }
+
+    /**
+     * Si la acción empaquetada es ERROR, ACCEPT o un SHIFT/REDUCE a un estado
+     * o reducción de la tabla.
+     */
+    private static boolean validAction(int action, int states, int reduces) {
+        int target = CompiledParseTable.target(action);
+        switch (CompiledParseTable.kind(action)) {
+            case CompiledParseTable.SHIFT:
+                return target < states;
+            case CompiledParseTable.REDUCE:
+                return target < reduces;
+            default:
+                return target == 0; // ERROR y ACCEPT no llevan destino
+        }
+    }
+}
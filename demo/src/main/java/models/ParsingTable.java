@@ -1,18 +1,31 @@
 package models;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class ParsingTable implements Serializable {
     private static final long serialVersionUID = 1L;
     
+    // Modelo de construcción: el parser solo necesita la tabla compilada (ver
+    // ParseTableFile), no el AFD ni la gramática
     private AFD associatedAfd;
     private Grammar originalGrammar;
     private Map<String, Map<String, String>> actionTable; // estado, <simbolo, accion>
     private Map<String, Map<String, String>> goToTable; // estado, <simbolo, accion>
     private Map<String, ReduceEntry> reduceDictionary = new HashMap<>(); // nombre (R#), <estado, produccion>
+    private Map<String, Map<String, List<String>>> conflictTable = new HashMap<>(); // estado, <simbolo, todas las acciones>
+    private Map<String, Set<String>> followTable = new HashMap<>(); // no terminal, FOLLOW (sincronización ante errores)
+    private Map<String, Map<String, List<String>>> unitChainTable = new HashMap<>(); // estado, <no terminal, reducciones unitarias omitidas>
+    private Map<String, String> defaultReduceTable = new HashMap<>(); // estado, reducción por defecto (R#)
+    private int productionCount; // Cantidad de producciones de la gramática (ids de ReduceEntry)
+    private boolean frozen; // Si es true la tabla ya no admite cambios
+    private transient CompiledParseTable snapshot; // Versión compilada creada por freeze()
 
     public ParsingTable(AFD associatedAfd, Grammar originalGrammar) {
         this.associatedAfd = associatedAfd;
@@ -48,25 +61,238 @@ public class ParsingTable implements Serializable {
         return reduceDictionary;
     }
 
+    /**
+     * Celdas de ACTION con más de una acción posible (conflictos shift/reduce o
+     * reduce/reduce, y reducciones de estados con varios items completos). Cada
+     * celda lista todas sus acciones; actionTable conserva solo la que usa el
+     * parser LR determinista. Lo consume el driver GLR.
+     */
+    public Map<String, Map<String, List<String>>> getConflictTable() {
+        if (conflictTable == null) {
+            // Tablas serializadas antes de registrar conflictos
+            conflictTable = new HashMap<>();
+        }
+        return conflictTable;
+    }
+
+    /**
+     * Conjuntos FOLLOW de la gramática, usados como conjuntos de
+     * sincronización en la recuperación de errores en modo pánico.
+     */
+    public Map<String, Set<String>> getFollowTable() {
+        if (followTable == null) {
+            // Tablas serializadas antes de guardar los FOLLOW
+            followTable = new HashMap<>();
+        }
+        return followTable;
+    }
+
+    public void setFollowTable(Map<String, Set<String>> tablaFollow) {
+        checkNotFrozen();
+        this.followTable = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : tablaFollow.entrySet()) {
+            followTable.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+    }
+
+    /**
+     * Reducciones unitarias (A -> B) que el GOTO de cada celda omite, de la
+     * más interna a la más externa. Solo tiene entradas si se aplicó
+     * {@link modules.tables.unitRules#eliminar(ParsingTable)}; el parser las
+     * usa para reconstruir la derivación completa cuando arma el árbol o
+     * ejecuta acciones semánticas.
+     */
+    public Map<String, Map<String, List<String>>> getUnitChainTable() {
+        if (unitChainTable == null) {
+            // Tablas serializadas antes de la eliminación de reglas unitarias
+            unitChainTable = new HashMap<>();
+        }
+        return unitChainTable;
+    }
+
+    /**
+     * Redirige GOTO(state, nonTerminal) a {@code nextState} registrando las
+     * reducciones unitarias que se dejan de ejecutar.
+     */
+    public void agregarCadenaUnitaria(String state, String nonTerminal, String nextState, List<String> reduces) {
+        checkNotFrozen();
+        agregarGoTo(state, nonTerminal, nextState);
+        getUnitChainTable()
+                .computeIfAbsent(state, k -> new HashMap<>())
+                .put(nonTerminal, new ArrayList<>(reduces));
+    }
+
+    /**
+     * Estados que reducen sin mirar el lookahead. Sus filas en ACTION quedan
+     * vacías; solo tiene entradas si se aplicó
+     * {@link modules.tables.defaultReductions#marcar(ParsingTable)}.
+     */
+    public Map<String, String> getDefaultReduceTable() {
+        if (defaultReduceTable == null) {
+            // Tablas serializadas antes de las reducciones por defecto
+            defaultReduceTable = new HashMap<>();
+        }
+        return defaultReduceTable;
+    }
+
+    /**
+     * Reemplaza la fila ACTION del estado por una reducción por defecto.
+     */
+    public void agregarReduccionPorDefecto(String state, String reduceName) {
+        checkNotFrozen();
+        getDefaultReduceTable().put(state, reduceName);
+        actionTable.computeIfAbsent(state, k -> new HashMap<>()).clear();
+    }
+
+    public int getProductionCount() {
+        return productionCount;
+    }
+
+    public void setProductionCount(int productionCount) {
+        checkNotFrozen();
+        this.productionCount = productionCount;
+    }
+
+    /**
+     * Congela la tabla y retorna su versión compilada.
+     *
+     * Después de congelar, los mapas expuestos por los getters son de solo
+     * lectura y los métodos agregar* lanzan IllegalStateException. La tabla
+     * compilada es inmutable, así que cualquier cantidad de parsers en
+     * distintos hilos puede leerla sin sincronización ni copias. Llamadas
+     * posteriores retornan la misma instancia.
+     */
+    public synchronized CompiledParseTable freeze() {
+        if (!frozen) {
+            Map<String, Map<String, String>> frozenActions = new HashMap<>();
+            for (Map.Entry<String, Map<String, String>> row : actionTable.entrySet()) {
+                frozenActions.put(row.getKey(), Collections.unmodifiableMap(row.getValue()));
+            }
+            Map<String, Map<String, String>> frozenGoTos = new HashMap<>();
+            for (Map.Entry<String, Map<String, String>> row : goToTable.entrySet()) {
+                frozenGoTos.put(row.getKey(), Collections.unmodifiableMap(row.getValue()));
+            }
+            this.actionTable = Collections.unmodifiableMap(frozenActions);
+            this.goToTable = Collections.unmodifiableMap(frozenGoTos);
+            this.reduceDictionary = Collections.unmodifiableMap(reduceDictionary);
+            Map<String, Map<String, List<String>>> frozenConflicts = new HashMap<>();
+            for (Map.Entry<String, Map<String, List<String>>> row : getConflictTable().entrySet()) {
+                Map<String, List<String>> cells = new HashMap<>();
+                for (Map.Entry<String, List<String>> cell : row.getValue().entrySet()) {
+                    cells.put(cell.getKey(), Collections.unmodifiableList(cell.getValue()));
+                }
+                frozenConflicts.put(row.getKey(), Collections.unmodifiableMap(cells));
+            }
+            this.conflictTable = Collections.unmodifiableMap(frozenConflicts);
+            Map<String, Set<String>> frozenFollow = new HashMap<>();
+            for (Map.Entry<String, Set<String>> follow : getFollowTable().entrySet()) {
+                frozenFollow.put(follow.getKey(), Collections.unmodifiableSet(follow.getValue()));
+            }
+            this.followTable = Collections.unmodifiableMap(frozenFollow);
+            Map<String, Map<String, List<String>>> frozenChains = new HashMap<>();
+            for (Map.Entry<String, Map<String, List<String>>> row : getUnitChainTable().entrySet()) {
+                Map<String, List<String>> cells = new HashMap<>();
+                for (Map.Entry<String, List<String>> cell : row.getValue().entrySet()) {
+                    cells.put(cell.getKey(), Collections.unmodifiableList(cell.getValue()));
+                }
+                frozenChains.put(row.getKey(), Collections.unmodifiableMap(cells));
+            }
+            this.unitChainTable = Collections.unmodifiableMap(frozenChains);
+            this.defaultReduceTable = Collections.unmodifiableMap(getDefaultReduceTable());
+            this.frozen = true;
+        }
+        if (snapshot == null) {
+            snapshot = CompiledParseTable.compile(this);
+        }
+        return snapshot;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("La tabla de parseo está congelada y no admite cambios");
+        }
+    }
+
     public void agregarReduceValue(String reduceName, ReduceEntry produccion) {
+        checkNotFrozen();
         this.reduceDictionary.put(reduceName, produccion);
     }
 
     public void agregarAction(String state, String symbol, String action) {
-        this.actionTable
+        checkNotFrozen();
+        String previous = this.actionTable
                 .computeIfAbsent(state, k -> new HashMap<>())
                 .put(symbol, action);
+
+        // La acción anterior se pierde en ACTION pero se conserva para el GLR
+        if (previous != null && !previous.equals(action)) {
+            registrarAlternativa(state, symbol, previous);
+            registrarAlternativa(state, symbol, action);
+        } else if (getConflictTable().containsKey(state) && conflictTable.get(state).containsKey(symbol)) {
+            registrarAlternativa(state, symbol, action);
+        }
+    }
+
+    /**
+     * Registra una acción alternativa para la celda sin reemplazar la acción
+     * que usa el parser LR (ver {@link #getConflictTable()}).
+     */
+    public void agregarConflicto(String state, String symbol, String action) {
+        checkNotFrozen();
+        String current = actionTable.getOrDefault(state, Collections.emptyMap()).get(symbol);
+        if (current != null) {
+            registrarAlternativa(state, symbol, current);
+        }
+        registrarAlternativa(state, symbol, action);
+    }
+
+    private void registrarAlternativa(String state, String symbol, String action) {
+        List<String> cell = getConflictTable()
+                .computeIfAbsent(state, k -> new HashMap<>())
+                .computeIfAbsent(symbol, k -> new ArrayList<>());
+        if (!cell.contains(action)) {
+            cell.add(action);
+        }
     }
 
     public void agregarGoTo(String state, String nonTerminal, String nextState) {
+        checkNotFrozen();
         this.goToTable
                 .computeIfAbsent(state, k -> new HashMap<>())
                 .put(nonTerminal, nextState);
     }
 
+    /**
+     * Estimación de los bytes que ocupan los mapas ACTION y GOTO en el heap
+     * (JVM de 64 bits con oops comprimidos): por fila, el HashMap y su arreglo
+     * de buckets; por celda, el HashMap$Node, su bucket y el String de la
+     * acción. Sirve para comparar con
+     * {@link CompiledParseTable#footprintBytes()}.
+     */
+    public long estimateMapFootprint() {
+        long total = 0;
+        for (Map<String, Map<String, String>> table : List.of(actionTable, goToTable)) {
+            total += 48 + 16 + 4L * Integer.highestOneBit(Math.max(1, table.size() * 4 / 3)) * 2;
+            for (Map<String, String> row : table.values()) {
+                total += 32 + 4 + 48; // Nodo de la fila + HashMap
+                if (!row.isEmpty()) {
+                    total += 16 + 4L * Integer.highestOneBit(Math.max(1, row.size() * 4 / 3)) * 2;
+                }
+                for (String value : row.values()) {
+                    total += 32 + 24 + 16 + value.length(); // Nodo + String + byte[]
+                }
+            }
+        }
+        return total;
+    }
+
     public void printParsingTables(String sentinel) {
         // Terminales y no terminales
-        List<String> terminales = getOriginalGrammar().getTerminales();
+        List<String> terminales = new ArrayList<>(getOriginalGrammar().getTerminales());
         terminales.add(sentinel);
         List<String> noTerminales = getOriginalGrammar().getNoTerminales();
 
@@ -113,6 +339,44 @@ public class ParsingTable implements Serializable {
         }
     }
 
+    public void printConflictTable() {
+        System.out.println("\n=== CONFLICTOS (GLR) ===");
+        if (getConflictTable().isEmpty()) {
+            System.out.println("(sin conflictos)");
+            return;
+        }
+        for (Map.Entry<String, Map<String, List<String>>> row : conflictTable.entrySet()) {
+            for (Map.Entry<String, List<String>> cell : row.getValue().entrySet()) {
+                System.out.printf("Estado: %s | %s -> %s%n", row.getKey(), cell.getKey(), cell.getValue());
+            }
+        }
+    }
+
+    public void printUnitChainTable() {
+        System.out.println("\n=== REDUCCIONES UNITARIAS OMITIDAS ===");
+        if (getUnitChainTable().isEmpty()) {
+            System.out.println("(ninguna)");
+            return;
+        }
+        for (Map.Entry<String, Map<String, List<String>>> row : unitChainTable.entrySet()) {
+            for (Map.Entry<String, List<String>> cell : row.getValue().entrySet()) {
+                System.out.printf("Estado: %s | GOTO %s -> %s | omite %s%n", row.getKey(), cell.getKey(),
+                        goToTable.get(row.getKey()).get(cell.getKey()), cell.getValue());
+            }
+        }
+    }
+
+    public void printDefaultReduceTable() {
+        System.out.println("\n=== REDUCCIONES POR DEFECTO ===");
+        if (getDefaultReduceTable().isEmpty()) {
+            System.out.println("(ninguna)");
+            return;
+        }
+        for (Map.Entry<String, String> entry : defaultReduceTable.entrySet()) {
+            System.out.printf("Estado: %s | %s%n", entry.getKey(), entry.getValue());
+        }
+    }
+
     public void printReduceDictionary() {
         System.out.println("\n=== REDUCE ENTRIES ===");
         for (Map.Entry<String, ReduceEntry> entry : reduceDictionary.entrySet()) {
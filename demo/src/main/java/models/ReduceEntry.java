@@ -9,10 +9,31 @@ public class ReduceEntry implements Serializable{
     private String production_head;
     private String production_value;
 
+    // Metadatos resueltos al generar la tabla
+    private int productionId; // Posición de la producción en la gramática
+    private int rhsLength; // Cantidad de símbolos del lado derecho
+    private int lhsId; // Índice del no terminal cabeza en la gramática
+    // Si los metadatos son válidos. Las tablas serializadas antes de agregarlos
+    // no traen el campo y lo deserializan en false
+    private boolean metadata;
+
     public ReduceEntry(String state, String production_head, String production_value) {
         this.state = state;
         this.production_head = production_head;
         this.production_value = production_value;
+        this.productionId = -1;
+        this.lhsId = -1;
+    }
+
+    public ReduceEntry(String state, String production_head, String production_value, int productionId,
+            int rhsLength, int lhsId) {
+        this.state = state;
+        this.production_head = production_head;
+        this.production_value = production_value;
+        this.productionId = productionId;
+        this.rhsLength = rhsLength;
+        this.lhsId = lhsId;
+        this.metadata = true;
     }
 
     public String getState() {
@@ -26,4 +47,25 @@ public class ReduceEntry implements Serializable{
     public String getProduction_value() {
         return production_value;
     }
+
+    public int getProductionId() {
+        return productionId;
+    }
+
+    public int getRhsLength() {
+        return rhsLength;
+    }
+
+    public int getLhsId() {
+        return lhsId;
+    }
+
+    /**
+     * Indica si la entrada trae los metadatos precalculados (la creó el
+     * constructor con productionId, rhsLength y lhsId). Las entradas sin
+     * ellos se resuelven desde la producción al compilar la tabla.
+     */
+    public boolean hasMetadata() {
+        return metadata;
+    }
 }
@@ -0,0 +1,139 @@
+package models;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabla de símbolos de una gramática: asigna a cada terminal y no terminal un
+ * id entero denso.
+ *
+ * Reemplaza las búsquedas lineales {@code List.contains} sobre las listas de
+ * terminales y no terminales por una búsqueda en HashMap (por nombre) o un
+ * test de bit (por id). Además de su id global, cada símbolo tiene un ordinal
+ * dentro de su clase (terminal o no terminal), que es el índice de columna que
+ * usan las tablas ACTION y GOTO compiladas.
+ */
+public class SymbolTable implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final BitSet terminalBits = new BitSet();
+    private int[] ordinals = new int[16]; // id -> ordinal dentro de su clase
+    private final List<Integer> terminalIds = new ArrayList<>(); // ordinal -> id
+    private final List<Integer> nonTerminalIds = new ArrayList<>(); // ordinal -> id
+
+    public SymbolTable() {
+    }
+
+    public SymbolTable(List<String> terminales, List<String> noTerminales) {
+        for (String terminal : terminales) {
+            register(terminal, true);
+        }
+        for (String noTerminal : noTerminales) {
+            register(noTerminal, false);
+        }
+    }
+
+    /**
+     * Registra un símbolo y retorna su id. Si ya existía, retorna el id
+     * existente sin cambiar su clase.
+     */
+    public int intern(String symbol, boolean terminal) {
+        return register(symbol, terminal);
+    }
+
+    // El constructor registra por acá: intern se puede sobrescribir
+    private int register(String symbol, boolean terminal) {
+        Integer existing = ids.get(symbol);
+        if (existing != null) {
+            return existing;
+        }
+
+        int id = names.size();
+        ids.put(symbol, id);
+        names.add(symbol);
+        if (id == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, ordinals.length << 1);
+        }
+        if (terminal) {
+            terminalBits.set(id);
+            ordinals[id] = terminalIds.size();
+            terminalIds.add(id);
+        } else {
+            ordinals[id] = nonTerminalIds.size();
+            nonTerminalIds.add(id);
+        }
+        return id;
+    }
+
+    /**
+     * Id de un símbolo, o -1 si no está registrado.
+     */
+    public int id(String symbol) {
+        if (symbol == null) {
+            return -1;
+        }
+        Integer id = ids.get(symbol);
+        return id != null ? id : -1;
+    }
+
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    public boolean isTerminal(int id) {
+        return id >= 0 && terminalBits.get(id);
+    }
+
+    public boolean isNonTerminal(int id) {
+        return id >= 0 && id < names.size() && !terminalBits.get(id);
+    }
+
+    public boolean isTerminal(String symbol) {
+        return isTerminal(id(symbol));
+    }
+
+    public boolean isNonTerminal(String symbol) {
+        return isNonTerminal(id(symbol));
+    }
+
+    /**
+     * Índice del símbolo dentro de su clase: columna en ACTION para los
+     * terminales y en GOTO para los no terminales.
+     */
+    public int ordinal(int id) {
+        return ordinals[id];
+    }
+
+    /**
+     * Nombre del terminal con el ordinal dado.
+     */
+    public String terminal(int ordinal) {
+        return names.get(terminalIds.get(ordinal));
+    }
+
+    /**
+     * Nombre del no terminal con el ordinal dado.
+     */
+    public String nonTerminal(int ordinal) {
+        return names.get(nonTerminalIds.get(ordinal));
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public int getTerminalCount() {
+        return terminalIds.size();
+    }
+
+    public int getNonTerminalCount() {
+        return nonTerminalIds.size();
+    }
+}
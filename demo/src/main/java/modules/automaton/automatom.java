@@ -15,6 +15,7 @@ import models.EstadoAFD;
 import models.Grammar;
 import models.GrammarExtended;
 import models.GrammarExtended.ProductionWithPointer;
+import models.SymbolTable;
 import static modules.automaton.extension.extenderGramatica;
 
 public class automatom {
@@ -63,7 +64,7 @@ public class automatom {
 
     public static AFD generarAFD(GrammarExtended gext, EstadoAFD estadoInicial) {
         LinkedHashMap<String, EstadoAFD> estados = new LinkedHashMap<>();
-        List<String> noTerminales = gext.getNoTerminales();
+        SymbolTable symbols = gext.getSymbolTable();
         int statecheck = 0;
         int statescreated = 0;
         Map<String, Map<String, String>> transitionsTable = new HashMap<>();
@@ -78,7 +79,7 @@ public class automatom {
             for (GrammarExtended.ProductionWithPointer item : actual.getItems()) {
                 if (item.getPointer() < item.getSymbols().size()) {
                     String simbolo = item.getSymbols().get(item.getPointer());
-                    GrammarExtended.ProductionWithPointer nuevo = new GrammarExtended.ProductionWithPointer(item.getSymbols(), item.getPointer() + 1);
+                    GrammarExtended.ProductionWithPointer nuevo = new GrammarExtended.ProductionWithPointer(item.getHead(), item.getSymbols(), item.getPointer() + 1);
                     movimientos.computeIfAbsent(simbolo, k -> new ArrayList<>()).add(nuevo);
                 } else {
                     if (!acceptanceStates.contains(actual.getId())) {
@@ -98,7 +99,7 @@ public class automatom {
                 for (GrammarExtended.ProductionWithPointer item : nuevosItems) {
                     if (item.getPointer() < item.getSymbols().size()) {
                         String simboloActual = item.getSymbols().get(item.getPointer());
-                        if (noTerminales.contains(simboloActual)) {
+                        if (symbols.isNonTerminal(simboloActual)) {
                             closureItems = closure(simboloActual, gext);
                         }
                     }
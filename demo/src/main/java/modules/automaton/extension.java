@@ -30,6 +30,7 @@ public class extension {
 
         gext.setNoTerminales(original.getNoTerminales());
         gext.setTerminales(original.getTerminales());
+        gext.setSymbolTable(original.getSymbolTable());
 
         return gext;
     }
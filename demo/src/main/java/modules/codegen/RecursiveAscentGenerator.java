@@ -0,0 +1,282 @@
+package modules.codegen;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import models.CompiledParseTable;
+import models.ParsingTable;
+import models.ReduceEntry;
+
+/**
+ * Genera un parser LR de ascenso recursivo: un método Java por estado del
+ * AFD, sin tablas en tiempo de ejecución.
+ *
+ * Cada método de estado mira el lookahead con un switch: un SHIFT avanza la
+ * entrada y llama al método del estado destino; una reducción de largo n
+ * retorna {@code (n << 16) | cabeza}. Al volver de una llamada, el estado
+ * descuenta uno de ese conteo: si todavía quedan estados por sacar retorna el
+ * resto a su llamador, y si llegó a cero es el estado desde el que se hace
+ * GOTO(estado, cabeza), que es otra llamada. Las reducciones vacías entran
+ * directo a ese mismo paso con conteo 1. ACCEPT y ERROR son valores negativos
+ * que se propagan sin tocar.
+ *
+ * El stack LR queda en el stack de llamadas de Java, así que la profundidad de
+ * recursión es la del stack LR (una gramática recursiva por la derecha con
+ * líneas muy largas puede necesitar un -Xss mayor). Como
+ * {@link TableParserGenerator}, el parser generado es solo un reconocedor y
+ * usa la misma tabla compilada: reducciones por defecto, GOTO redirigidos por
+ * reglas unitarias y la primera acción de cada conflicto.
+ */
+public class RecursiveAscentGenerator {
+
+    private static final int POP = 1 << 16; // Una unidad del conteo de estados por sacar
+
+    private RecursiveAscentGenerator() {
+    }
+
+    /**
+     * Código fuente de la clase {@code className} (paquete por defecto).
+     */
+    public static String generate(CompiledParseTable table, String className) {
+        int states = table.getStateCount();
+        int terminals = table.getTerminalCount();
+        int nonTerminals = table.getNonTerminalCount();
+        if (nonTerminals >= POP) {
+            throw new IllegalArgumentException("Demasiados no terminales para el ascenso recursivo: " + nonTerminals);
+        }
+
+        String[] terminalNames = new String[terminals];
+        for (int t = 0; t < terminals; t++) {
+            terminalNames[t] = table.getTerminal(t);
+        }
+
+        StringBuilder code = new StringBuilder();
+        code.append("import java.util.HashMap;\n")
+                .append("import java.util.List;\n")
+                .append("import java.util.Map;\n")
+                .append("import java.util.function.Predicate;\n\n")
+                .append("/**\n")
+                .append(" * Parser LR de ascenso recursivo generado por RecursiveAscentGenerator:\n")
+                .append(" * un método por estado, sin tablas. No editar a mano.\n")
+                .append(" *\n")
+                .append(" * Estados: ").append(states).append(" | Terminales: ").append(terminals)
+                .append(" | No terminales: ").append(nonTerminals).append(" | Reducciones: ")
+                .append(table.getReduceCount()).append("\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append(" implements Predicate<List<String>> {\n\n")
+                .append("    private static final int ACCEPT = -1;\n")
+                .append("    private static final int ERROR = -2;\n")
+                .append("    private static final int POP = ").append(POP).append(";\n")
+                .append("    private static final int END = ").append(table.terminalId("$")).append(";\n\n");
+        TableParserGenerator.appendStrings(code, "TERMINAL_NAMES", terminalNames);
+        code.append(RUNTIME_HEAD)
+                .append("            return s").append(table.getInitialState()).append("() == ACCEPT;\n")
+                .append(RUNTIME_TAIL);
+        for (int s = 0; s < states; s++) {
+            appendState(code, table, s);
+        }
+        code.append("}\n");
+        return code.toString();
+    }
+
+    /**
+     * Escribe la clase generada en {@code path}.
+     */
+    public static void write(ParsingTable parseTable, String className, String path) throws IOException {
+        try (FileWriter writer = new FileWriter(path)) {
+            writer.write(generate(parseTable.freeze(), className));
+        }
+    }
+
+    private static void appendState(StringBuilder code, CompiledParseTable table, int state) {
+        code.append("\n    // ").append(table.getStateName(state)).append("\n")
+                .append("    private int s").append(state).append("() {\n");
+        StringBuilder body = new StringBuilder();
+
+        boolean llamadas; // Si alguna acción vuelve al bucle de retorno
+        int defaultAction = table.defaultAction(state);
+        if (defaultAction != CompiledParseTable.ERROR) {
+            // Reducción por defecto: no se mira el lookahead
+            llamadas = appendAction(body, table, defaultAction, "        ");
+        } else {
+            // Terminales agrupados por acción, en orden de aparición
+            Map<Integer, List<Integer>> cases = new LinkedHashMap<>();
+            for (int t = 0; t < table.getTerminalCount(); t++) {
+                int action = table.action(state, t);
+                if (action != CompiledParseTable.ERROR) {
+                    cases.computeIfAbsent(action, k -> new ArrayList<>()).add(t);
+                }
+            }
+            llamadas = false;
+            body.append("        switch (next()) {\n");
+            for (Map.Entry<Integer, List<Integer>> entry : cases.entrySet()) {
+                for (int t : entry.getValue()) {
+                    body.append("            case ").append(t).append(": // ").append(table.getTerminal(t)).append("\n");
+                }
+                llamadas |= appendAction(body, table, entry.getKey(), "                ");
+            }
+            body.append("            default:\n")
+                    .append("                errorPosition = position;\n")
+                    .append("                return ERROR;\n")
+                    .append("        }\n");
+        }
+        if (!llamadas) {
+            code.append(body).append("    }\n");
+            return;
+        }
+        code.append("        int r;\n").append(body);
+
+        // Vuelta de una llamada: sacar un estado más o hacer GOTO desde éste
+        code.append("        while (true) {\n")
+                .append("            if (r < 0) {\n")
+                .append("                return r;\n")
+                .append("            }\n")
+                .append("            r -= POP;\n")
+                .append("            if (r >= POP) {\n")
+                .append("                return r;\n")
+                .append("            }\n")
+                .append("            switch (r) {\n");
+        for (int nt = 0; nt < table.getNonTerminalCount(); nt++) {
+            int target = table.goTo(state, nt);
+            if (target >= 0) {
+                code.append("                case ").append(nt).append(": // ").append(table.getNonTerminal(nt)).append("\n")
+                        .append("                    r = s").append(target).append("();\n")
+                        .append("                    break;\n");
+            }
+        }
+        code.append("                default:\n")
+                .append("                    errorPosition = position;\n")
+                .append("                    return ERROR;\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Una acción de la tabla como sentencias Java. SHIFT y las reducciones
+     * vacías dejan el resultado en {@code r} y siguen en el bucle de retorno
+     * (con {@code break} si están dentro del switch del lookahead).
+     *
+     * @return Si la acción sigue en el bucle de retorno en vez de retornar
+     */
+    private static boolean appendAction(StringBuilder code, CompiledParseTable table, int action, String indent) {
+        boolean inSwitch = indent.length() > 8;
+        switch (CompiledParseTable.kind(action)) {
+            case CompiledParseTable.SHIFT:
+                code.append(indent).append("position++;\n")
+                        .append(indent).append("r = s").append(CompiledParseTable.target(action)).append("();\n");
+                break;
+            case CompiledParseTable.REDUCE: {
+                int reduce = CompiledParseTable.target(action);
+                int length = table.getReduceLength(reduce);
+                int lhs = table.getReduceLhs(reduce);
+                ReduceEntry entry = table.getReduceEntry(reduce);
+                String comment = " // " + entry.getProduction_head() + " -> " + entry.getProduction_value().trim();
+                if (length == 0) {
+                    // El GOTO sale de este mismo estado
+                    code.append(indent).append("r = POP | ").append(lhs).append(";").append(comment).append("\n");
+                } else {
+                    code.append(indent).append("return ").append(length).append(" * POP | ").append(lhs).append(";")
+                            .append(comment).append("\n");
+                    return false;
+                }
+                break;
+            }
+            case CompiledParseTable.ACCEPT:
+                code.append(indent).append("return ACCEPT;\n");
+                return false;
+            default:
+                code.append(indent).append("errorPosition = position;\n")
+                        .append(indent).append("return ERROR;\n");
+                return false;
+        }
+        if (inSwitch) {
+            code.append(indent).append("break;\n");
+        }
+        return true;
+    }
+
+    // Entrada, API pública y manejo de la recursión, compartidos por todos los estados
+    private static final String RUNTIME_HEAD = String.join("\n",
+            "    private static final Map<String, Integer> TERMINAL_IDS = new HashMap<>();",
+            "",
+            "    static {",
+            "        for (int t = 0; t < TERMINAL_NAMES.length; t++) {",
+            "            TERMINAL_IDS.put(TERMINAL_NAMES[t], t);",
+            "        }",
+            "    }",
+            "",
+            "    private int[] buffer = new int[64]; // Ids de la última línea de parse(List)",
+            "    private int[] input;",
+            "    private int length;",
+            "    private int position;",
+            "    private int errorPosition = -1;",
+            "",
+            "    /**",
+            "     * Parsea una línea de nombres de token. Se agrega el centinela $ si falta.",
+            "     */",
+            "    public boolean parse(List<String> tokens) {",
+            "        int size = tokens.size();",
+            "        if (buffer.length < size + 1) {",
+            "            buffer = new int[Math.max(size + 1, buffer.length << 1)];",
+            "        }",
+            "        for (int i = 0; i < size; i++) {",
+            "            buffer[i] = terminalId(tokens.get(i));",
+            "        }",
+            "        int length = size;",
+            "        if (size == 0 || buffer[size - 1] != END) {",
+            "            buffer[length++] = END;",
+            "        }",
+            "        return parse(buffer, length);",
+            "    }",
+            "",
+            "    /**",
+            "     * Parsea ids de terminal (ver {@link #terminalId(String)}); el último debe ser $.",
+            "     */",
+            "    public boolean parse(int[] symbols, int length) {",
+            "        this.input = symbols;",
+            "        this.length = length;",
+            "        position = 0;",
+            "        errorPosition = -1;",
+            "        try {",
+            "");
+    private static final String RUNTIME_TAIL = String.join("\n",
+            "        } catch (StackOverflowError e) {",
+            "            throw new IllegalStateException(\"Entrada demasiado anidada para el ascenso recursivo (token \"",
+            "                    + position + \")\", e);",
+            "        }",
+            "    }",
+            "",
+            "    @Override",
+            "    public boolean test(List<String> tokens) {",
+            "        return parse(tokens);",
+            "    }",
+            "",
+            "    /**",
+            "     * Posición del token donde falló el último parseo, o -1 si fue aceptado.",
+            "     */",
+            "    public int getErrorPosition() {",
+            "        return errorPosition;",
+            "    }",
+            "",
+            "    /**",
+            "     * Id de un terminal, o -1 si no pertenece a la gramática.",
+            "     */",
+            "    public static int terminalId(String terminal) {",
+            "        Integer id = TERMINAL_IDS.get(terminal);",
+            "        return id != null ? id : -1;",
+            "    }",
+            "",
+            "    public static String terminalName(int terminal) {",
+            "        return TERMINAL_NAMES[terminal];",
+            "    }",
+            "",
+            "    private int next() {",
+            "        return position < length ? input[position] : -1;",
+            "    }",
+            "");
+}
@@ -0,0 +1,350 @@
+package modules.codegen;
+
+import java.io.FileWriter;
+import java.io.IOException;
+
+import models.CompiledParseTable;
+import models.ParsingTable;
+import models.ReduceEntry;
+
+/**
+ * Genera una clase Java autónoma con el parser LR y sus tablas embebidas.
+ *
+ * La clase generada no depende de este proyecto ni de serialización: las
+ * tablas ACTION, GOTO y de reducciones de {@link CompiledParseTable} se
+ * escriben como constantes String (cada entero en base 2^14, con codificación
+ * por corridas) y se decodifican a {@code int[]} estáticos al inicializar la
+ * clase. Las cadenas se parten en trozos para no superar el límite de 65535
+ * bytes por constante del class file, y la decodificación es un loop, así que
+ * tampoco se acerca al límite de 64 KB de bytecode del inicializador.
+ *
+ * El parser generado es un reconocedor: retorna si la línea se acepta y la
+ * posición del primer error. El árbol, las acciones semánticas y la
+ * recuperación de errores siguen disponibles en {@link modules.parser.Parser}.
+ */
+public class TableParserGenerator {
+
+    private static final int CHUNK = 8000; // Caracteres por constante (<= 24000 bytes en el class file)
+    private static final int DIGIT_BITS = 14;
+    private static final int CONTINUE = 1 << DIGIT_BITS;
+
+    private TableParserGenerator() {
+    }
+
+    /**
+     * Código fuente de la clase {@code className} (paquete por defecto).
+     */
+    public static String generate(CompiledParseTable table, String className) {
+        int states = table.getStateCount();
+        int terminals = table.getTerminalCount();
+        int nonTerminals = table.getNonTerminalCount();
+        int reduces = table.getReduceCount();
+
+        int[] actions = new int[states * terminals];
+        int[] gotos = new int[states * nonTerminals];
+        int[] defaults = new int[states];
+        for (int s = 0; s < states; s++) {
+            for (int t = 0; t < terminals; t++) {
+                actions[s * terminals + t] = table.action(s, t);
+            }
+            for (int nt = 0; nt < nonTerminals; nt++) {
+                gotos[s * nonTerminals + nt] = table.goTo(s, nt) + 1; // -1 se guarda como 0
+            }
+            defaults[s] = table.defaultAction(s);
+        }
+        int[] reduceLengths = new int[reduces];
+        int[] reduceLhs = new int[reduces];
+        String[] productions = new String[reduces];
+        for (int r = 0; r < reduces; r++) {
+            reduceLengths[r] = table.getReduceLength(r);
+            reduceLhs[r] = table.getReduceLhs(r);
+            ReduceEntry entry = table.getReduceEntry(r);
+            productions[r] = entry.getProduction_head() + " -> " + entry.getProduction_value();
+        }
+        String[] terminalNames = new String[terminals];
+        for (int t = 0; t < terminals; t++) {
+            terminalNames[t] = table.getTerminal(t);
+        }
+        String[] nonTerminalNames = new String[nonTerminals];
+        for (int nt = 0; nt < nonTerminals; nt++) {
+            nonTerminalNames[nt] = table.getNonTerminal(nt);
+        }
+
+        StringBuilder code = new StringBuilder();
+        code.append("import java.util.Arrays;\n")
+                .append("import java.util.HashMap;\n")
+                .append("import java.util.List;\n")
+                .append("import java.util.Map;\n\n")
+                .append("/**\n")
+                .append(" * Parser LR generado por TableParserGenerator con las tablas embebidas.\n")
+                .append(" * No requiere PARSE_TABLE.dat ni serialización. No editar a mano.\n")
+                .append(" *\n")
+                .append(" * Estados: ").append(states).append(" | Terminales: ").append(terminals)
+                .append(" | No terminales: ").append(nonTerminals).append(" | Reducciones: ").append(reduces).append("\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append(" {\n\n")
+                .append("    public static final int ERROR = 0;\n")
+                .append("    public static final int SHIFT = 1;\n")
+                .append("    public static final int REDUCE = 2;\n")
+                .append("    public static final int ACCEPT = 3;\n\n")
+                .append("    private static final int STATES = ").append(states).append(";\n")
+                .append("    private static final int TERMINALS = ").append(terminals).append(";\n")
+                .append("    private static final int NON_TERMINALS = ").append(nonTerminals).append(";\n")
+                .append("    private static final int INITIAL_STATE = ").append(table.getInitialState()).append(";\n")
+                .append("    private static final int END = ").append(table.terminalId("$")).append(";\n\n");
+        appendStrings(code, "TERMINAL_NAMES", terminalNames);
+        appendStrings(code, "NON_TERMINAL_NAMES", nonTerminalNames);
+        appendStrings(code, "PRODUCTIONS", productions);
+        appendTable(code, "ACTION", "[estado * TERMINALS + terminal] -> (destino << 2) | tipo", actions);
+        appendTable(code, "GOTO", "[estado * NON_TERMINALS + no terminal] -> estado + 1 (0 = sin GOTO)", gotos);
+        appendTable(code, "DEFAULT_ACTION", "estado -> reducción por defecto (ERROR si mira el lookahead)", defaults);
+        appendTable(code, "REDUCE_LENGTH", "reducción -> |lado derecho|", reduceLengths);
+        appendTable(code, "REDUCE_LHS", "reducción -> no terminal cabeza", reduceLhs);
+        code.append(RUNTIME);
+        return code.toString();
+    }
+
+    /**
+     * Escribe la clase generada en {@code path}.
+     */
+    public static void write(ParsingTable parseTable, String className, String path) throws IOException {
+        try (FileWriter writer = new FileWriter(path)) {
+            writer.write(generate(parseTable.freeze(), className));
+        }
+    }
+
+    static void appendStrings(StringBuilder code, String name, String[] values) {
+        code.append("    private static final String[] ").append(name).append(" = {");
+        int lineLength = Integer.MAX_VALUE;
+        for (String value : values) {
+            String literal = quote(value) + ",";
+            if (lineLength + literal.length() > 100) {
+                code.append("\n            ");
+                lineLength = 12;
+            } else {
+                code.append(" ");
+            }
+            code.append(literal);
+            lineLength += literal.length() + 1;
+        }
+        code.append("\n    };\n\n");
+    }
+
+    private static void appendTable(StringBuilder code, String name, String comment, int[] values) {
+        String encoded = encode(values);
+        code.append("    // ").append(comment).append("\n")
+                .append("    private static final int[] ").append(name).append(" = decode(").append(values.length)
+                .append(", new String[] {");
+        for (int from = 0; from < encoded.length(); from += CHUNK) {
+            code.append("\n            ").append(quote(encoded.substring(from, Math.min(encoded.length(), from + CHUNK))))
+                    .append(",");
+        }
+        code.append("\n    });\n\n");
+    }
+
+    /**
+     * Corridas (cantidad, valor) de enteros no negativos; cada entero se
+     * escribe en dígitos de 14 bits, del más significativo al menos, con el
+     * bit 14 marcando que sigue otro dígito. Ningún carácter cae en el rango
+     * de surrogates.
+     */
+    static String encode(int[] values) {
+        StringBuilder out = new StringBuilder();
+        int i = 0;
+        while (i < values.length) {
+            int run = 1;
+            while (i + run < values.length && values[i + run] == values[i]) {
+                run++;
+            }
+            encodeInt(out, run);
+            encodeInt(out, values[i]);
+            i += run;
+        }
+        return out.toString();
+    }
+
+    private static void encodeInt(StringBuilder out, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Valor negativo en la tabla: " + value);
+        }
+        int shift = 0;
+        while ((value >>> shift) >= CONTINUE) {
+            shift += DIGIT_BITS;
+        }
+        for (; shift > 0; shift -= DIGIT_BITS) {
+            out.append((char) (CONTINUE | ((value >>> shift) & (CONTINUE - 1))));
+        }
+        out.append((char) (value & (CONTINUE - 1)));
+    }
+
+    /**
+     * Literal Java para un String. Los escapes Unicode se procesan antes que el
+     * resto del código fuente, así que salto de línea, comillas y barra usan
+     * sus escapes normales.
+     */
+    static String quote(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                default:
+                    if (c >= 0x20 && c < 0x7F) {
+                        out.append(c);
+                    } else {
+                        out.append(String.format("\\u%04x", (int) c));
+                    }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    // Driver y decodificador que se copian a la clase generada
+    private static final String RUNTIME = String.join("\n",
+            "    private static final Map<String, Integer> TERMINAL_IDS = new HashMap<>();",
+            "",
+            "    static {",
+            "        for (int t = 0; t < TERMINALS; t++) {",
+            "            TERMINAL_IDS.put(TERMINAL_NAMES[t], t);",
+            "        }",
+            "    }",
+            "",
+            "    private int[] stack = new int[64];",
+            "    private int[] input = new int[64];",
+            "    private int errorPosition = -1;",
+            "",
+            "    /**",
+            "     * Parsea una línea de nombres de token. Se agrega el centinela $ si falta.",
+            "     */",
+            "    public boolean parse(List<String> tokens) {",
+            "        int size = tokens.size();",
+            "        if (input.length < size + 1) {",
+            "            input = new int[Math.max(size + 1, input.length << 1)];",
+            "        }",
+            "        for (int i = 0; i < size; i++) {",
+            "            input[i] = terminalId(tokens.get(i));",
+            "        }",
+            "        int length = size;",
+            "        if (size == 0 || input[size - 1] != END) {",
+            "            input[length++] = END;",
+            "        }",
+            "        return parse(input, length);",
+            "    }",
+            "",
+            "    /**",
+            "     * Parsea ids de terminal (ver {@link #terminalId(String)}); el último debe ser $.",
+            "     */",
+            "    public boolean parse(int[] symbols, int length) {",
+            "        int top = 0;",
+            "        int position = 0;",
+            "        stack[0] = INITIAL_STATE;",
+            "        errorPosition = -1;",
+            "        while (position < length) {",
+            "            int state = stack[top];",
+            "            int action = DEFAULT_ACTION[state];",
+            "            if (action == ERROR) {",
+            "                int symbol = symbols[position];",
+            "                action = symbol < 0 ? ERROR : ACTION[state * TERMINALS + symbol];",
+            "            }",
+            "            switch (action & 3) {",
+            "                case SHIFT:",
+            "                    if (++top == stack.length) {",
+            "                        stack = Arrays.copyOf(stack, stack.length << 1);",
+            "                    }",
+            "                    stack[top] = action >>> 2;",
+            "                    position++;",
+            "                    break;",
+            "                case REDUCE: {",
+            "                    int reduce = action >>> 2;",
+            "                    top -= REDUCE_LENGTH[reduce];",
+            "                    int next = GOTO[stack[top] * NON_TERMINALS + REDUCE_LHS[reduce]] - 1;",
+            "                    if (next < 0) {",
+            "                        errorPosition = position;",
+            "                        return false;",
+            "                    }",
+            "                    if (++top == stack.length) {",
+            "                        stack = Arrays.copyOf(stack, stack.length << 1);",
+            "                    }",
+            "                    stack[top] = next;",
+            "                    break;",
+            "                }",
+            "                case ACCEPT:",
+            "                    return true;",
+            "                default:",
+            "                    errorPosition = position;",
+            "                    return false;",
+            "            }",
+            "        }",
+            "        errorPosition = length;",
+            "        return false;",
+            "    }",
+            "",
+            "    /**",
+            "     * Posición del token donde falló el último parseo, o -1 si fue aceptado.",
+            "     */",
+            "    public int getErrorPosition() {",
+            "        return errorPosition;",
+            "    }",
+            "",
+            "    /**",
+            "     * Id de un terminal, o -1 si no pertenece a la gramática.",
+            "     */",
+            "    public static int terminalId(String terminal) {",
+            "        Integer id = TERMINAL_IDS.get(terminal);",
+            "        return id != null ? id : -1;",
+            "    }",
+            "",
+            "    public static String terminalName(int terminal) {",
+            "        return TERMINAL_NAMES[terminal];",
+            "    }",
+            "",
+            "    public static String nonTerminalName(int nonTerminal) {",
+            "        return NON_TERMINAL_NAMES[nonTerminal];",
+            "    }",
+            "",
+            "    public static String production(int reduce) {",
+            "        return PRODUCTIONS[reduce];",
+            "    }",
+            "",
+            "    public static int stateCount() {",
+            "        return STATES;",
+            "    }",
+            "",
+            "    private static int[] decode(int length, String[] chunks) {",
+            "        int[] values = new int[length];",
+            "        int index = 0;",
+            "        int pending = -1; // Cantidad de la corrida leída, esperando su valor",
+            "        int value = 0;",
+            "        for (String chunk : chunks) {",
+            "            for (int i = 0; i < chunk.length(); i++) {",
+            "                char c = chunk.charAt(i);",
+            "                value = (value << " + DIGIT_BITS + ") | (c & " + (CONTINUE - 1) + ");",
+            "                if ((c & " + CONTINUE + ") != 0) {",
+            "                    continue;",
+            "                }",
+            "                if (pending < 0) {",
+            "                    pending = value;",
+            "                } else {",
+            "                    Arrays.fill(values, index, index + pending, value);",
+            "                    index += pending;",
+            "                    pending = -1;",
+            "                }",
+            "                value = 0;",
+            "            }",
+            "        }",
+            "        return values;",
+            "    }",
+            "}",
+            "");
+}
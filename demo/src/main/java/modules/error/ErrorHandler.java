@@ -5,6 +5,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import models.CompiledParseTable;
 import models.ParsingTable;
 
 /**
@@ -19,9 +20,10 @@ import models.ParsingTable;
  */
 public class ErrorHandler {
     
-    private ParsingTable parsingTable;
+    private CompiledParseTable parsingTable;
     private int errorCount;
     private boolean panicMode;
+    private boolean recoveryApplied; // Si el driver aplica la recuperación por su cuenta
     private List<ErrorReport> errorHistory;
     
     public ErrorHandler() {
@@ -30,8 +32,15 @@ public class ErrorHandler {
         this.errorHistory = new ArrayList<>();
     }
     
+    /**
+     * Usa la versión congelada de la tabla (ver {@link ParsingTable#freeze()}).
+     */
     public void setParsingTable(ParsingTable parsingTable) {
-        this.parsingTable = parsingTable;
+        this.parsingTable = parsingTable.freeze();
+    }
+    
+    public void setCompiledTable(CompiledParseTable compiledTable) {
+        this.parsingTable = compiledTable;
     }
     
     /**
@@ -67,10 +76,31 @@ public class ErrorHandler {
         // 7. Reportar error
         reportError(report);
         
-        // 8. Intentar recuperación
-        RecoveryAction recovery = attemptErrorRecovery(currentState, currentToken, position, inputTokens);
-        
-        System.err.println("Estrategia de recuperación recomendada: " + recovery);
+        // 8. Intentar recuperación (si el driver no la aplica, solo se recomienda)
+        if (!recoveryApplied) {
+            RecoveryAction recovery = attemptErrorRecovery(currentState, currentToken, position, inputTokens);
+            
+            System.err.println("Estrategia de recuperación recomendada: " + recovery);
+        }
+    }
+    
+    /**
+     * Indica que el driver ejecuta la recuperación en modo pánico y reporta la
+     * acción aplicada con {@link #reportRecovery(RecoveryAction, int, String)}
+     * en lugar de recibir una recomendación.
+     */
+    public void setRecoveryApplied(boolean recoveryApplied) {
+        this.recoveryApplied = recoveryApplied;
+    }
+    
+    /**
+     * Reporta una acción de recuperación ejecutada por el driver.
+     */
+    public void reportRecovery(RecoveryAction action, int position, String detail) {
+        if (action != RecoveryAction.ABORT) {
+            panicMode = true;
+        }
+        System.err.println("Recuperación aplicada en la posición " + position + ": " + action + " (" + detail + ")");
     }
     
     /**
@@ -142,8 +172,13 @@ public class ErrorHandler {
     private Set<String> getExpectedTokens(String currentState) {
         Set<String> expectedTokens = new HashSet<>();
         
-        if (parsingTable != null && parsingTable.getActionTable().containsKey(currentState)) {
-            expectedTokens.addAll(parsingTable.getActionTable().get(currentState).keySet());
+        int state = parsingTable != null ? parsingTable.stateId(currentState) : -1;
+        if (state >= 0) {
+            for (int terminal = 0; terminal < parsingTable.getTerminalCount(); terminal++) {
+                if (parsingTable.action(state, terminal) != CompiledParseTable.ERROR) {
+                    expectedTokens.add(parsingTable.getTerminal(terminal));
+                }
+            }
         }
         
         // Remover entradas vacías o nulas
@@ -226,11 +261,11 @@ public class ErrorHandler {
         if (parsingTable == null) return false;
         
         // Verificar si hay una acción válida para este token en el estado actual
-        String action = parsingTable.getActionTable()
-                .getOrDefault(currentState, new java.util.HashMap<>())
-                .get(tokenToInsert);
+        int state = parsingTable.stateId(currentState);
+        int terminal = parsingTable.terminalId(tokenToInsert);
+        if (state < 0 || terminal < 0) return false;
         
-        return action != null && !action.trim().isEmpty();
+        return parsingTable.action(state, terminal) != CompiledParseTable.ERROR;
     }
     
     /**
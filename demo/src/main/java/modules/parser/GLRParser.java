@@ -0,0 +1,503 @@
+package modules.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import models.CompiledParseTable;
+
+/**
+ * Driver GLR (Tomita) sobre la tabla compilada.
+ *
+ * Usa todas las acciones de las celdas con conflicto (ver
+ * {@link CompiledParseTable#conflictCount(int, int)}) en lugar de la única
+ * acción que conserva el parser LR, y explora las alternativas en paralelo
+ * sobre un stack estructurado como grafo (GSS): las ramas comparten su prefijo
+ * común y se fusionan al llegar al mismo estado en la misma posición. El
+ * resultado es un {@link ParseForest} con todas las derivaciones de la
+ * entrada.
+ *
+ * Mientras la entrada es determinista (un solo tope y celdas sin conflicto)
+ * el driver trabaja como el LR: stacks de enteros sobre el nodo base del GSS,
+ * sin crear nodos del grafo. Solo al encontrar un conflicto, o una reducción
+ * que baja hasta el GSS, materializa el stack y pasa al modo generalizado;
+ * vuelve al modo determinista en cuanto queda un único tope.
+ *
+ * Las producciones vacías no están soportadas (la gramática no las genera).
+ * A diferencia de {@link Parser}, no imprime los errores: se consultan con
+ * {@link #getErrorPosition()} y {@link #getErrorToken()}.
+ */
+public class GLRParser {
+
+    /**
+     * Nodo del GSS: un estado en una posición de la entrada.
+     */
+    private static final class Node {
+        final int state;
+        final int level; // Tokens consumidos al crear el nodo
+        Edge edges;
+
+        Node(int state, int level) {
+            this.state = state;
+            this.level = level;
+        }
+
+        Edge edgeTo(Node target) {
+            for (Edge edge = edges; edge != null; edge = edge.next) {
+                if (edge.target == target) {
+                    return edge;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Arista del GSS hacia el nodo anterior, con el nodo del bosque del símbolo
+     * que las separa.
+     */
+    private static final class Edge {
+        final Node target;
+        final int value;
+        final Edge next;
+
+        Edge(Node target, int value, Edge next) {
+            this.target = target;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Reducción pendiente. Si {@code edge} no es null, solo se recorren los
+     * caminos que empiezan por esa arista (recién agregada a un nodo que ya
+     * había reducido).
+     */
+    private static final class Reduction {
+        final Node node;
+        final Edge edge;
+        final int reduce;
+
+        Reduction(Node node, Edge edge, int reduce) {
+            this.node = node;
+            this.edge = edge;
+            this.reduce = reduce;
+        }
+    }
+
+    private static final int STEP_OK = 0;
+    private static final int STEP_FAIL = 1;
+    private static final int STEP_GENERALIZE = 2;
+
+    private final CompiledParseTable table;
+    private final int endSymbol;
+    private final ParseForest forest = new ParseForest();
+
+    // Modo determinista: entradas del stack por encima del nodo base
+    private final IntStack detStates = new IntStack();
+    private final IntStack detValues = new IntStack();
+    private final IntStack detLevels = new IntStack();
+    private Node base;
+    private boolean deterministic;
+
+    // Modo generalizado
+    private List<Node> frontier = new ArrayList<>();
+    private final List<Node> current = new ArrayList<>();
+    private final Node[] levelNodes; // estado -> nodo del nivel actual
+    private final Node[] nextNodes; // estado -> nodo del siguiente nivel
+    private final ArrayDeque<Reduction> reductions = new ArrayDeque<>();
+    private int[] pathValues = new int[16];
+
+    private boolean accepted;
+    private int root;
+    private int errorPosition;
+    private int errorToken;
+    private long deterministicSteps;
+    private long generalizedSteps;
+
+    public GLRParser(CompiledParseTable table) {
+        this.table = table;
+        this.endSymbol = table.terminalId("$");
+        this.levelNodes = new Node[table.getStateCount()];
+        this.nextNodes = new Node[table.getStateCount()];
+    }
+
+    /**
+     * Parsea una línea de tokens.
+     *
+     * @return true si existe al menos una derivación de la entrada
+     */
+    public boolean parse(List<String> tokens) {
+        reset();
+        int size = tokens.size();
+        boolean hasSentinel = size > 0 && tokens.get(size - 1).equals("$");
+        int length = hasSentinel ? size : size + 1;
+
+        for (int pos = 0; pos < length; pos++) {
+            int symbol = pos < size ? table.terminalId(tokens.get(pos)) : endSymbol;
+            if (symbol < 0 || !step(symbol, pos)) {
+                errorPosition = pos;
+                errorToken = symbol;
+                return false;
+            }
+            if (accepted) {
+                return true;
+            }
+        }
+        return accepted;
+    }
+
+    private void reset() {
+        forest.clear();
+        detStates.clear();
+        detValues.clear();
+        detLevels.clear();
+        frontier.clear();
+        base = new Node(table.getInitialState(), 0);
+        deterministic = true;
+        accepted = false;
+        root = ParseForest.NONE;
+        errorPosition = -1;
+        errorToken = -1;
+        deterministicSteps = 0;
+        generalizedSteps = 0;
+    }
+
+    private boolean step(int symbol, int pos) {
+        if (deterministic) {
+            int result = deterministicStep(symbol, pos);
+            if (result != STEP_GENERALIZE) {
+                return result == STEP_OK;
+            }
+            materialize();
+        }
+        return generalizedStep(symbol, pos);
+    }
+
+    /**
+     * Paso LR sobre los stacks de enteros. Retorna STEP_GENERALIZE si la celda
+     * tiene conflicto o si una reducción necesita caminos del GSS.
+     */
+    private int deterministicStep(int symbol, int pos) {
+        while (true) {
+            int state = detStates.isEmpty() ? base.state : detStates.peek();
+            if (table.conflictCount(state, symbol) > 0) {
+                return STEP_GENERALIZE;
+            }
+            int action = table.action(state, symbol);
+            int target = CompiledParseTable.target(action);
+
+            switch (CompiledParseTable.kind(action)) {
+                case CompiledParseTable.ACCEPT:
+                    accepted = true;
+                    root = detValues.isEmpty() ? base.edges.value : detValues.peek();
+                    return STEP_OK;
+                case CompiledParseTable.SHIFT:
+                    detStates.push(target);
+                    detValues.push(forest.addLeaf(symbol, pos));
+                    detLevels.push(pos + 1);
+                    deterministicSteps++;
+                    return STEP_OK;
+                case CompiledParseTable.REDUCE:
+                    int length = table.getReduceLength(target);
+                    if (length > detStates.size()) {
+                        return STEP_GENERALIZE;
+                    }
+                    int from = detStates.size() - length;
+                    int start = from > 0 ? detLevels.get(from - 1) : base.level;
+                    ensurePathCapacity(length);
+                    for (int i = 0; i < length; i++) {
+                        pathValues[i] = detValues.get(from + i);
+                    }
+                    int lhs = table.getReduceLhs(target);
+                    int node = forest.addNode(table.nonTerminalSymbol(lhs), start, pos);
+                    forest.addPacked(node, table.getReduceProduction(target), pathValues, length);
+
+                    detStates.pop(length);
+                    detValues.pop(length);
+                    detLevels.pop(length);
+                    int below = detStates.isEmpty() ? base.state : detStates.peek();
+                    int gotoState = table.goTo(below, lhs);
+                    if (gotoState < 0) {
+                        return STEP_FAIL;
+                    }
+                    detStates.push(gotoState);
+                    detValues.push(node);
+                    detLevels.push(pos);
+                    deterministicSteps++;
+                    break;
+                default:
+                    return STEP_FAIL;
+            }
+        }
+    }
+
+    /**
+     * Convierte las entradas del stack determinista en nodos del GSS sobre el
+     * nodo base.
+     */
+    private void materialize() {
+        Node top = base;
+        for (int i = 0; i < detStates.size(); i++) {
+            Node node = new Node(detStates.get(i), detLevels.get(i));
+            node.edges = new Edge(top, detValues.get(i), null);
+            top = node;
+        }
+        detStates.clear();
+        detValues.clear();
+        detLevels.clear();
+        frontier.clear();
+        frontier.add(top);
+        deterministic = false;
+    }
+
+    /**
+     * Paso GLR: aplica todas las reducciones posibles sobre la frontera, luego
+     * acepta o desplaza el token en todos los topes que lo admitan.
+     */
+    private boolean generalizedStep(int symbol, int pos) {
+        generalizedSteps++;
+        current.clear();
+        reductions.clear();
+        for (Node node : frontier) {
+            levelNodes[node.state] = node;
+            current.add(node);
+        }
+        for (Node node : frontier) {
+            enqueueReductions(node, null, symbol);
+        }
+        while (!reductions.isEmpty()) {
+            reduce(reductions.poll(), symbol, pos);
+        }
+
+        // ACCEPT en cualquiera de los topes
+        for (Node node : current) {
+            if (hasAccept(node.state, symbol) && node.edges != null) {
+                accepted = true;
+                root = node.edges.value;
+            }
+        }
+
+        // SHIFT desde todos los topes; los que llegan al mismo estado se fusionan
+        List<Node> next = new ArrayList<>();
+        if (!accepted) {
+            int leaf = ParseForest.NONE;
+            for (Node node : current) {
+                int count = table.conflictCount(node.state, symbol);
+                for (int i = 0; i < Math.max(1, count); i++) {
+                    int action = count > 0 ? table.conflictAction(node.state, symbol, i)
+                            : table.action(node.state, symbol);
+                    if (CompiledParseTable.kind(action) != CompiledParseTable.SHIFT) {
+                        continue;
+                    }
+                    if (leaf == ParseForest.NONE) {
+                        leaf = forest.addLeaf(symbol, pos);
+                    }
+                    int target = CompiledParseTable.target(action);
+                    Node shifted = nextNodes[target];
+                    if (shifted == null) {
+                        shifted = new Node(target, pos + 1);
+                        nextNodes[target] = shifted;
+                        next.add(shifted);
+                    }
+                    if (shifted.edgeTo(node) == null) {
+                        shifted.edges = new Edge(node, leaf, shifted.edges);
+                    }
+                }
+            }
+        }
+
+        for (Node node : current) {
+            levelNodes[node.state] = null;
+        }
+        for (Node node : next) {
+            nextNodes[node.state] = null;
+        }
+        current.clear();
+
+        if (accepted) {
+            return true;
+        }
+        frontier = next;
+        if (frontier.isEmpty()) {
+            return false;
+        }
+        if (frontier.size() == 1) {
+            // Un solo tope: seguir en modo determinista sobre él
+            base = frontier.get(0);
+            frontier.clear();
+            deterministic = true;
+        }
+        return true;
+    }
+
+    private void enqueueReductions(Node node, Edge edge, int symbol) {
+        int count = table.conflictCount(node.state, symbol);
+        for (int i = 0; i < Math.max(1, count); i++) {
+            int action = count > 0 ? table.conflictAction(node.state, symbol, i) : table.action(node.state, symbol);
+            if (CompiledParseTable.kind(action) != CompiledParseTable.REDUCE) {
+                continue;
+            }
+            int reduce = CompiledParseTable.target(action);
+            if (edge == null || table.getReduceLength(reduce) > 0) {
+                reductions.add(new Reduction(node, edge, reduce));
+            }
+        }
+    }
+
+    private boolean hasAccept(int state, int symbol) {
+        int count = table.conflictCount(state, symbol);
+        if (count == 0) {
+            return CompiledParseTable.kind(table.action(state, symbol)) == CompiledParseTable.ACCEPT;
+        }
+        for (int i = 0; i < count; i++) {
+            if (CompiledParseTable.kind(table.conflictAction(state, symbol, i)) == CompiledParseTable.ACCEPT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recorre todos los caminos de largo |producción| desde el nodo de la
+     * reducción y aplica la reducción al final de cada uno.
+     */
+    private void reduce(Reduction reduction, int symbol, int pos) {
+        int length = table.getReduceLength(reduction.reduce);
+        ensurePathCapacity(length);
+        if (length == 0) {
+            reduced(reduction.node, reduction.reduce, 0, symbol, pos);
+        } else if (reduction.edge != null) {
+            pathValues[length - 1] = reduction.edge.value;
+            walk(reduction.edge.target, length - 1, reduction.reduce, length, symbol, pos);
+        } else {
+            for (Edge edge = reduction.node.edges; edge != null; edge = edge.next) {
+                pathValues[length - 1] = edge.value;
+                walk(edge.target, length - 1, reduction.reduce, length, symbol, pos);
+            }
+        }
+    }
+
+    private void walk(Node node, int remaining, int reduce, int length, int symbol, int pos) {
+        if (remaining == 0) {
+            reduced(node, reduce, length, symbol, pos);
+            return;
+        }
+        for (Edge edge = node.edges; edge != null; edge = edge.next) {
+            pathValues[remaining - 1] = edge.value;
+            walk(edge.target, remaining - 1, reduce, length, symbol, pos);
+        }
+    }
+
+    /**
+     * Aplica la reducción al camino que termina en {@code origin}: agrega la
+     * arista GOTO desde el nivel actual (o una alternativa al nodo del bosque
+     * si la arista ya existía).
+     */
+    private void reduced(Node origin, int reduce, int length, int symbol, int pos) {
+        int lhs = table.getReduceLhs(reduce);
+        int gotoState = table.goTo(origin.state, lhs);
+        if (gotoState < 0) {
+            return;
+        }
+        int production = table.getReduceProduction(reduce);
+
+        Node node = levelNodes[gotoState];
+        if (node != null) {
+            Edge edge = node.edgeTo(origin);
+            if (edge != null) {
+                // Misma derivación del mismo tramo: ambigüedad local
+                forest.addPacked(edge.value, production, pathValues, length);
+                return;
+            }
+            int value = forest.addNode(table.nonTerminalSymbol(lhs), origin.level, pos);
+            forest.addPacked(value, production, pathValues, length);
+            edge = new Edge(origin, value, node.edges);
+            node.edges = edge;
+            enqueueReductions(node, edge, symbol);
+        } else {
+            int value = forest.addNode(table.nonTerminalSymbol(lhs), origin.level, pos);
+            forest.addPacked(value, production, pathValues, length);
+            node = new Node(gotoState, pos);
+            node.edges = new Edge(origin, value, null);
+            levelNodes[gotoState] = node;
+            current.add(node);
+            enqueueReductions(node, null, symbol);
+        }
+    }
+
+    private void ensurePathCapacity(int length) {
+        if (pathValues.length < length) {
+            pathValues = new int[Math.max(length, pathValues.length << 1)];
+        }
+    }
+
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Bosque del último parseo (se reutiliza en el siguiente).
+     */
+    public ParseForest getForest() {
+        return forest;
+    }
+
+    /**
+     * Nodo raíz del bosque, o {@link ParseForest#NONE} si la entrada no fue
+     * aceptada.
+     */
+    public int getRoot() {
+        return root;
+    }
+
+    /**
+     * Posición del token que produjo el error, o -1 si no hubo error.
+     */
+    public int getErrorPosition() {
+        return errorPosition;
+    }
+
+    /**
+     * Nombre del token que produjo el error, o null si no hubo error.
+     */
+    public String getErrorToken() {
+        if (errorPosition < 0) {
+            return null;
+        }
+        return errorToken >= 0 ? table.getTerminal(errorToken) : "?";
+    }
+
+    /**
+     * Pasos (SHIFT/REDUCE) ejecutados en modo determinista durante el último
+     * parseo.
+     */
+    public long getDeterministicSteps() {
+        return deterministicSteps;
+    }
+
+    /**
+     * Tokens procesados en modo generalizado (GSS) durante el último parseo.
+     */
+    public long getGeneralizedSteps() {
+        return generalizedSteps;
+    }
+
+    public CompiledParseTable getCompiledTable() {
+        return table;
+    }
+
+    /**
+     * Parsea cada línea con el driver GLR
+     *
+     * @param lineasParaParsear Lista de listas de strings, una por línea a parsear
+     * @return Resultado de cada línea (aceptación y posición del error)
+     */
+    public ParseResults parseFile(List<List<String>> lineasParaParsear) {
+        ParseResults results = new ParseResults(lineasParaParsear.size());
+        for (List<String> tokens : lineasParaParsear) {
+            results.add(parse(tokens), errorPosition);
+        }
+        return results;
+    }
+}
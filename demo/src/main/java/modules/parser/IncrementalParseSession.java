@@ -0,0 +1,352 @@
+package modules.parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.example.Modules.Analisis.Complete_Lex;
+import com.example.models.Token;
+
+/**
+ * Sesión de larga duración que mantiene los tokens y resultados de cada línea
+ * de un archivo fuente y, ante una edición, re-lexea y re-parsea solo las
+ * líneas afectadas.
+ *
+ * La gramática es por líneas (cada línea es una entrada independiente para
+ * {@link Parser#parse(List)}), así que una edición no invalida el resultado de
+ * las líneas que no tocó: el costo de editar una línea es lexear y parsear esa
+ * línea, sin importar el tamaño del archivo.
+ *
+ * Las líneas viven en un gap buffer: insertar o borrar cerca de la edición
+ * anterior no mueve el resto del archivo. Saltar a otra zona cuesta mover el
+ * hueco, proporcional a la distancia entre las dos ediciones y no al tamaño
+ * total. {@link #getResults()} y {@link #getTokenLines()} sí recorren todas
+ * las líneas.
+ *
+ * Uso:
+ * 1. Crear la sesión con un parser y un lexer por línea (por ejemplo
+ *    {@link #completeLex(String)} con el mismo lexer.yal del pipeline).
+ * 2. Cargar el archivo con {@link #load(List)}.
+ * 3. Aplicar cada cambio con {@link #edit(int, int, List)} o {@link #setLine(int, String)}.
+ * 4. Consultar {@link #getResults()} o los contadores.
+ */
+public class IncrementalParseSession {
+
+    /**
+     * Lexer de una sola línea fuente (sin el salto de línea final).
+     */
+    @FunctionalInterface
+    public interface LineLexer {
+        List<Token> lex(String line);
+
+        /**
+         * Tokens de cada línea de una edición. Por defecto lexea línea por
+         * línea; un lexer con costo fijo por llamada puede lexearlas juntas.
+         */
+        default List<List<Token>> lexLines(List<String> lines) {
+            List<List<Token>> tokens = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                tokens.add(lex(line));
+            }
+            return tokens;
+        }
+    }
+
+    // Estado de una línea fuente
+    private static final class Line {
+        final String source;
+        final List<String> tokens; // Vacía si la línea no tiene tokens
+        final Boolean result; // null si la línea no tiene tokens
+        final int firstError;
+
+        Line(String source, List<String> tokens, Boolean result, int firstError) {
+            this.source = source;
+            this.tokens = tokens;
+            this.result = result;
+            this.firstError = firstError;
+        }
+    }
+
+    private final Parser parser;
+    private final LineLexer lexer;
+    private Line[] lines = new Line[64]; // Gap buffer: [0, gapStart) y [gapEnd, length)
+    private int gapStart;
+    private int gapEnd = lines.length;
+    private int parsedLines;   // Líneas con tokens
+    private int acceptedLines; // Líneas aceptadas
+    private int lastEditParsed; // Líneas re-parseadas en la última operación
+
+    public IncrementalParseSession(Parser parser, LineLexer lexer) {
+        this.parser = parser;
+        this.lexer = lexer;
+    }
+
+    /**
+     * Lexer sobre el analizador léxico del pipeline ({@link Complete_Lex}).
+     * Ese analizador solo expone {@code completeLex(entrada, especificación)}:
+     * lee la entrada de un archivo y arma el autómata de lexer.yal en cada
+     * llamada, sin forma de conservarlo. Por eso las líneas de una edición se
+     * lexean juntas, en un solo archivo temporal y una sola llamada, y los
+     * tokens se reparten por los EOL que emite lexer.yal (como en
+     * {@link TraduccionToken#traducirTokens(List)}). Si la cantidad de EOL no
+     * coincide con la de líneas, se vuelve a lexear línea por línea.
+     *
+     * @param lexerFile Especificación del lexer (lexer.yal)
+     */
+    public static LineLexer completeLex(String lexerFile) {
+        return new LineLexer() {
+            @Override
+            public List<Token> lex(String line) {
+                return completeLex(line, lexerFile);
+            }
+
+            @Override
+            public List<List<Token>> lexLines(List<String> lines) {
+                if (lines.size() <= 1) {
+                    return LineLexer.super.lexLines(lines);
+                }
+                List<List<Token>> split = splitLines(completeLex(String.join("\n", lines) + "\n", lexerFile),
+                        lines.size());
+                return split != null ? split : LineLexer.super.lexLines(lines);
+            }
+        };
+    }
+
+    private static List<Token> completeLex(String text, String lexerFile) {
+        try {
+            Path file = Files.createTempFile("yalp-lines", ".txt");
+            try {
+                Files.writeString(file, text);
+                return Complete_Lex.completeLex(file.toString(), lexerFile);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo lexear la edición", e);
+        }
+    }
+
+    /**
+     * Reparte los tokens de {@code lineCount} líneas lexeadas juntas (cada
+     * una terminada en salto de línea) en los EOL. Cada línea conserva su EOL,
+     * igual que al lexearla sola con salto final.
+     *
+     * @return Tokens por línea, o null si no hay exactamente un EOL por línea
+     */
+    static List<List<Token>> splitLines(List<Token> tokens, int lineCount) {
+        List<List<Token>> lines = new ArrayList<>(lineCount);
+        List<Token> current = new ArrayList<>();
+        for (Token token : tokens) {
+            if (lines.size() == lineCount) {
+                return null; // Tokens después del último EOL
+            }
+            current.add(token);
+            if (token.getTipo().equals("EOL")) {
+                lines.add(current);
+                current = new ArrayList<>();
+            }
+        }
+        return lines.size() == lineCount && current.isEmpty() ? lines : null;
+    }
+
+    /**
+     * Carga el archivo completo (lexea y parsea todas las líneas).
+     */
+    public void load(List<String> lines) {
+        this.lines = new Line[Math.max(64, lines.size() + 16)];
+        gapStart = 0;
+        gapEnd = this.lines.length;
+        parsedLines = 0;
+        acceptedLines = 0;
+        edit(0, 0, lines);
+    }
+
+    /**
+     * Reemplaza las líneas {@code [from, to)} por {@code newLines} y procesa
+     * únicamente las líneas nuevas.
+     *
+     * @return Cantidad de líneas re-parseadas
+     */
+    public int edit(int from, int to, List<String> newLines) {
+        int size = getLineCount();
+        if (from < 0 || to < from || to > size) {
+            throw new IndexOutOfBoundsException("Rango de edición inválido [" + from + ", " + to + ") en "
+                    + size + " líneas");
+        }
+
+        // Lexear y parsear solo las líneas nuevas, antes de tocar el buffer
+        List<Line> added = new ArrayList<>(newLines.size());
+        List<List<Token>> lexed = lexer.lexLines(newLines);
+        int parsed = 0;
+        int accepted = 0;
+        for (int i = 0; i < newLines.size(); i++) {
+            String source = newLines.get(i);
+            List<String> tokens = TraduccionToken.traducirLinea(lexed.get(i));
+            Boolean result = null;
+            int firstError = ParseResults.NO_ERROR;
+            if (!tokens.isEmpty()) {
+                result = parser.parse(tokens);
+                firstError = parser.getFirstErrorPosition();
+                parsed++;
+                if (result) {
+                    accepted++;
+                }
+            }
+            added.add(new Line(source, tokens, result, firstError));
+        }
+
+        // Retirar las líneas reemplazadas: con el hueco en from quedan justo después de él
+        moveGap(from);
+        for (int i = gapEnd; i < gapEnd + (to - from); i++) {
+            forget(lines[i].result);
+            lines[i] = null;
+        }
+        gapEnd += to - from;
+
+        ensureGap(added.size());
+        for (Line line : added) {
+            lines[gapStart++] = line;
+        }
+        parsedLines += parsed;
+        acceptedLines += accepted;
+        lastEditParsed = parsed;
+        return parsed;
+    }
+
+    /**
+     * Reemplaza una línea.
+     */
+    public int setLine(int line, String text) {
+        return edit(line, line + 1, Collections.singletonList(text));
+    }
+
+    public int insertLines(int at, List<String> lines) {
+        return edit(at, at, lines);
+    }
+
+    public int deleteLines(int from, int to) {
+        return edit(from, to, Collections.emptyList());
+    }
+
+    private void forget(Boolean result) {
+        if (result != null) {
+            parsedLines--;
+            if (result) {
+                acceptedLines--;
+            }
+        }
+    }
+
+    private Line line(int index) {
+        if (index < 0 || index >= getLineCount()) {
+            throw new IndexOutOfBoundsException("Línea " + index + " fuera de rango (" + getLineCount() + " líneas)");
+        }
+        return lines[index < gapStart ? index : index + (gapEnd - gapStart)];
+    }
+
+    /**
+     * Mueve el hueco para que empiece en la línea {@code at}, copiando solo las
+     * líneas que hay entre la posición anterior y la nueva.
+     */
+    private void moveGap(int at) {
+        if (at < gapStart) {
+            int count = gapStart - at;
+            System.arraycopy(lines, at, lines, gapEnd - count, count);
+            Arrays.fill(lines, at, Math.min(gapStart, gapEnd - count), null);
+            gapStart = at;
+            gapEnd -= count;
+        } else if (at > gapStart) {
+            int count = at - gapStart;
+            System.arraycopy(lines, gapEnd, lines, gapStart, count);
+            Arrays.fill(lines, Math.max(gapEnd, at), gapEnd + count, null);
+            gapStart = at;
+            gapEnd += count;
+        }
+    }
+
+    private void ensureGap(int needed) {
+        if (gapEnd - gapStart >= needed) {
+            return;
+        }
+        int tail = lines.length - gapEnd;
+        int capacity = Math.max(lines.length << 1, gapStart + tail + needed + 16);
+        Line[] grown = new Line[capacity];
+        System.arraycopy(lines, 0, grown, 0, gapStart);
+        System.arraycopy(lines, gapEnd, grown, capacity - tail, tail);
+        lines = grown;
+        gapEnd = capacity - tail;
+    }
+
+    /**
+     * Resultado de una línea fuente, o null si la línea no tiene tokens.
+     */
+    public Boolean getLineResult(int line) {
+        return line(line).result;
+    }
+
+    public List<String> getLineTokens(int line) {
+        return Collections.unmodifiableList(line(line).tokens);
+    }
+
+    public String getLineSource(int line) {
+        return line(line).source;
+    }
+
+    /**
+     * Listas de tokens de las líneas no vacías, en el mismo formato que
+     * {@link TraduccionToken#traducirTokens(List)}.
+     */
+    public List<List<String>> getTokenLines() {
+        List<List<String>> tokenLines = new ArrayList<>(parsedLines);
+        for (int i = 0; i < getLineCount(); i++) {
+            List<String> tokens = line(i).tokens;
+            if (!tokens.isEmpty()) {
+                tokenLines.add(Collections.unmodifiableList(tokens));
+            }
+        }
+        return tokenLines;
+    }
+
+    /**
+     * Resultados de las líneas no vacías, en el mismo formato que
+     * {@link Parser#parseFile(List)} (se puede pasar a {@code printParser}).
+     */
+    public ParseResults getResults() {
+        ParseResults results = new ParseResults(parsedLines);
+        for (int i = 0; i < getLineCount(); i++) {
+            Line line = line(i);
+            if (line.result != null) {
+                results.add(line.result, line.firstError);
+            }
+        }
+        return results;
+    }
+
+    public int getLineCount() {
+        return lines.length - (gapEnd - gapStart);
+    }
+
+    public int getParsedLineCount() {
+        return parsedLines;
+    }
+
+    public int getAcceptedLineCount() {
+        return acceptedLines;
+    }
+
+    /**
+     * Líneas re-parseadas por la última operación.
+     */
+    public int getLastEditParsed() {
+        return lastEditParsed;
+    }
+
+    public Parser getParser() {
+        return parser;
+    }
+}
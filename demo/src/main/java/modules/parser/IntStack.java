@@ -0,0 +1,74 @@
+package modules.parser;
+
+import java.util.Arrays;
+
+/**
+ * Stack de enteros primitivos con crecimiento amortizado.
+ *
+ * Reemplaza a {@code java.util.Stack<String>} en el driver LR: no sincroniza,
+ * no hace boxing y conserva su arreglo entre parseos, por lo que un push o pop
+ * no reserva memoria una vez que el stack alcanzó su tamaño de trabajo.
+ */
+public class IntStack {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int[] elements;
+    private int size;
+
+    public IntStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntStack(int initialCapacity) {
+        this.elements = new int[Math.max(1, initialCapacity)];
+        this.size = 0;
+    }
+
+    public void push(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+        elements[size++] = value;
+    }
+
+    public int pop() {
+        return elements[--size];
+    }
+
+    /**
+     * Descarta los {@code count} elementos superiores (o todos si hay menos).
+     */
+    public void pop(int count) {
+        size = Math.max(0, size - count);
+    }
+
+    public int peek() {
+        return elements[size - 1];
+    }
+
+    /**
+     * Elemento en la posición {@code index} contando desde el fondo del stack.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fuera del stack de tamaño " + size);
+        }
+        return elements[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Vacía el stack conservando la capacidad reservada.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,121 @@
+package modules.parser;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de latencias con precisión relativa fija, al estilo de
+ * HdrHistogram.
+ *
+ * Los valores (en nanosegundos) se agrupan por potencia de dos y cada
+ * potencia se divide en 32 sub-buckets lineales, así que el error relativo es
+ * de a lo sumo ~3% en todo el rango, con un arreglo fijo de contadores.
+ * Registrar un valor es un cálculo de índice y un incremento, sin reservar
+ * memoria. No es thread-safe: cada parser usa el suyo y se combinan con
+ * {@link #add(LatencyHistogram)}.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts[index(v)]++;
+        total++;
+        sum += v;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+    }
+
+    private static int index(long value) {
+        int exponent = 63 - Long.numberOfLeadingZeros(value | 1);
+        if (exponent < SUB_BITS) {
+            return (int) value; // Exacto para valores pequeños
+        }
+        int shift = exponent - SUB_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Menor valor que cae en el bucket.
+     */
+    private static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << shift;
+    }
+
+    /**
+     * Valor bajo el cual está el {@code percentile}% de las muestras (límite
+     * superior del bucket, como en HdrHistogram).
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                long upper = i + 1 < BUCKETS ? lowerBound(i + 1) - 1 : Long.MAX_VALUE;
+                return Math.min(upper, max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Suma las muestras de otro histograma a este.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    public long getTotalCount() {
+        return total;
+    }
+
+    public long getMin() {
+        return total > 0 ? min : 0;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return total > 0 ? (double) sum / total : 0.0;
+    }
+}
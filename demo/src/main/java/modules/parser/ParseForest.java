@@ -0,0 +1,225 @@
+package modules.parser;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import models.CompiledParseTable;
+
+/**
+ * Bosque de parseo empaquetado (packed parse forest) del driver GLR.
+ *
+ * Cada nodo de símbolo representa un símbolo que deriva el tramo de entrada
+ * {@code [start, end)}. Un nodo no terminal tiene una o más alternativas
+ * (nodos empaquetados), cada una con la producción usada y sus hijos; cuando
+ * la entrada es ambigua, las distintas derivaciones del mismo tramo quedan
+ * como alternativas del mismo nodo en lugar de duplicar el árbol. Las hojas
+ * son los tokens y no tienen alternativas.
+ *
+ * Igual que {@link ParseTreeArena}, los nodos viven en arreglos paralelos de
+ * enteros que se reutilizan entre parseos con {@link #clear()}.
+ */
+public class ParseForest {
+
+    public static final int NONE = -1;
+
+    // Nodos de símbolo
+    private int[] symbols;
+    private int[] starts;
+    private int[] ends;
+    private int[] firstPacked;
+    private int nodeCount;
+
+    // Nodos empaquetados (una alternativa de un nodo de símbolo)
+    private int[] packedProductions;
+    private int[] packedChildStart;
+    private int[] packedChildCount;
+    private int[] packedNext;
+    private int packedCount;
+
+    // Hijos de todas las alternativas, contiguos por alternativa
+    private int[] children;
+    private int childCount;
+
+    public ParseForest() {
+        symbols = new int[256];
+        starts = new int[256];
+        ends = new int[256];
+        firstPacked = new int[256];
+        packedProductions = new int[128];
+        packedChildStart = new int[128];
+        packedChildCount = new int[128];
+        packedNext = new int[128];
+        children = new int[512];
+    }
+
+    /**
+     * Descarta todos los nodos conservando la capacidad reservada.
+     */
+    public void clear() {
+        nodeCount = 0;
+        packedCount = 0;
+        childCount = 0;
+    }
+
+    /**
+     * Crea la hoja del token en la posición {@code position}.
+     */
+    public int addLeaf(int symbol, int position) {
+        return addNode(symbol, position, position + 1);
+    }
+
+    /**
+     * Crea un nodo de símbolo sin alternativas.
+     */
+    public int addNode(int symbol, int start, int end) {
+        if (nodeCount == symbols.length) {
+            int capacity = nodeCount << 1;
+            symbols = Arrays.copyOf(symbols, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            firstPacked = Arrays.copyOf(firstPacked, capacity);
+        }
+        int node = nodeCount++;
+        symbols[node] = symbol;
+        starts[node] = start;
+        ends[node] = end;
+        firstPacked[node] = NONE;
+        return node;
+    }
+
+    /**
+     * Agrega una alternativa al nodo: la producción y sus {@code count} hijos
+     * {@code values[0..count)}. Si el nodo ya tiene la misma alternativa no se
+     * duplica.
+     *
+     * @return true si la alternativa es nueva
+     */
+    public boolean addPacked(int node, int production, int[] values, int count) {
+        for (int p = firstPacked[node]; p != NONE; p = packedNext[p]) {
+            if (packedProductions[p] == production && packedChildCount[p] == count
+                    && Arrays.equals(children, packedChildStart[p], packedChildStart[p] + count, values, 0, count)) {
+                return false;
+            }
+        }
+
+        if (packedCount == packedProductions.length) {
+            int capacity = packedCount << 1;
+            packedProductions = Arrays.copyOf(packedProductions, capacity);
+            packedChildStart = Arrays.copyOf(packedChildStart, capacity);
+            packedChildCount = Arrays.copyOf(packedChildCount, capacity);
+            packedNext = Arrays.copyOf(packedNext, capacity);
+        }
+        if (childCount + count > children.length) {
+            children = Arrays.copyOf(children, Math.max(children.length << 1, childCount + count));
+        }
+
+        int packed = packedCount++;
+        packedProductions[packed] = production;
+        packedChildStart[packed] = childCount;
+        packedChildCount[packed] = count;
+        System.arraycopy(values, 0, children, childCount, count);
+        childCount += count;
+
+        // Las alternativas se enlazan en orden de llegada
+        packedNext[packed] = NONE;
+        if (firstPacked[node] == NONE) {
+            firstPacked[node] = packed;
+        } else {
+            int last = firstPacked[node];
+            while (packedNext[last] != NONE) {
+                last = packedNext[last];
+            }
+            packedNext[last] = packed;
+        }
+        return true;
+    }
+
+    public int size() {
+        return nodeCount;
+    }
+
+    /**
+     * Id de símbolo unificado del nodo (ver {@link CompiledParseTable#getSymbolName(int)}).
+     */
+    public int getSymbol(int node) {
+        return symbols[node];
+    }
+
+    public int getStart(int node) {
+        return starts[node];
+    }
+
+    public int getEnd(int node) {
+        return ends[node];
+    }
+
+    public boolean isLeaf(int node) {
+        return firstPacked[node] == NONE;
+    }
+
+    /**
+     * Si el nodo tiene más de una derivación.
+     */
+    public boolean isAmbiguous(int node) {
+        int first = firstPacked[node];
+        return first != NONE && packedNext[first] != NONE;
+    }
+
+    public int getFirstPacked(int node) {
+        return firstPacked[node];
+    }
+
+    public int getNextPacked(int packed) {
+        return packedNext[packed];
+    }
+
+    /**
+     * Id de producción de la alternativa.
+     */
+    public int getPackedProduction(int packed) {
+        return packedProductions[packed];
+    }
+
+    public int getPackedChildCount(int packed) {
+        return packedChildCount[packed];
+    }
+
+    public int getPackedChild(int packed, int i) {
+        return children[packedChildStart[packed] + i];
+    }
+
+    /**
+     * Imprime los nodos alcanzables desde {@code root}, cada uno una sola vez,
+     * con sus alternativas.
+     */
+    public void print(CompiledParseTable table, int root, PrintStream out) {
+        out.println("=== BOSQUE DE PARSEO ===");
+        if (root == NONE) {
+            out.println("(bosque vacío)");
+            return;
+        }
+        BitSet visited = new BitSet(nodeCount);
+        IntStack pending = new IntStack();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            int node = pending.pop();
+            if (visited.get(node)) {
+                continue;
+            }
+            visited.set(node);
+            out.printf("n%d %s [%d, %d)%s%n", node, table.getSymbolName(symbols[node]), starts[node], ends[node],
+                    isAmbiguous(node) ? " (ambiguo)" : "");
+            for (int p = firstPacked[node]; p != NONE; p = packedNext[p]) {
+                StringBuilder line = new StringBuilder("    -> (producción ").append(packedProductions[p]).append(")");
+                for (int i = 0; i < packedChildCount[p]; i++) {
+                    line.append(" n").append(getPackedChild(p, i));
+                }
+                out.println(line);
+                for (int i = packedChildCount[p] - 1; i >= 0; i--) {
+                    pending.push(getPackedChild(p, i));
+                }
+            }
+        }
+    }
+}
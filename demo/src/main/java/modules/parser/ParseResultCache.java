@@ -0,0 +1,155 @@
+package modules.parser;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import models.CompiledParseTable;
+
+/**
+ * Cache LRU acotado de resultados de parseo por línea.
+ *
+ * La clave es la secuencia de ids de terminal de la línea más la identidad de
+ * la tabla compilada, así que dos líneas con la misma forma (por ejemplo
+ * {@code WORD EQUALS NUMBER EOF}) comparten la entrada aunque sus lexemas
+ * sean distintos, y una misma instancia se puede compartir entre parsers de
+ * tablas diferentes sin mezclar resultados. La comparación de claves es
+ * exacta: el hash solo sirve para ubicar la entrada.
+ *
+ * Los métodos son sincronizados para poder compartir un cache entre los
+ * parsers de {@link Parser#parseFileParallel(java.util.List, int)}.
+ */
+public class ParseResultCache {
+
+    private final int capacity;
+    private final LinkedHashMap<Key, Boolean> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity Cantidad máxima de secuencias distintas a recordar
+     */
+    public ParseResultCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad del cache debe ser positiva: " + capacity);
+        }
+        this.capacity = capacity;
+        // accessOrder = true: cada get mueve la entrada al final (orden LRU)
+        this.entries = new LinkedHashMap<Key, Boolean>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                if (size() > ParseResultCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Busca el resultado de {@code symbols[0..length)}.
+     *
+     * @return El resultado guardado, o null si la secuencia no está en el cache
+     */
+    public synchronized Boolean lookup(CompiledParseTable table, int[] symbols, int length) {
+        Boolean result = entries.get(new Key(table, symbols, length));
+        if (result != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return result;
+    }
+
+    /**
+     * Guarda el resultado de {@code symbols[0..length)}. La secuencia se copia.
+     */
+    public synchronized void store(CompiledParseTable table, int[] symbols, int length, boolean accepted) {
+        entries.put(new Key(table, Arrays.copyOf(symbols, length), length), accepted);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Proporción de consultas resueltas por el cache (0 si no hubo consultas).
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total > 0 ? (double) hits / total : 0.0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ParseResultCache[%d/%d entradas, hits=%d, misses=%d, evictions=%d, hit rate=%.2f%%]",
+                entries.size(), capacity, hits, misses, evictions, getHitRate() * 100);
+    }
+
+    /**
+     * Secuencia de ids de terminal + identidad de la tabla. Para las consultas
+     * envuelve el arreglo del parser sin copiarlo.
+     */
+    private static final class Key {
+        private final CompiledParseTable table;
+        private final int[] symbols;
+        private final int length;
+        private final int hash;
+
+        Key(CompiledParseTable table, int[] symbols, int length) {
+            this.table = table;
+            this.symbols = symbols;
+            this.length = length;
+            int h = System.identityHashCode(table);
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + symbols[i];
+            }
+            this.hash = h ^ (h >>> 16);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return hash == key.hash && table == key.table && length == key.length
+                    && Arrays.equals(symbols, 0, length, key.symbols, 0, key.length);
+        }
+    }
+}
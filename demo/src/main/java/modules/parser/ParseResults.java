@@ -0,0 +1,158 @@
+package modules.parser;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Resultados de parsear un archivo, una entrada por línea.
+ *
+ * Guarda la aceptación de cada línea en un {@link BitSet} y la posición del
+ * primer token con error en un {@code int[]} (-1 si la línea fue aceptada),
+ * sin un Boolean por línea. Los contadores de aceptadas y rechazadas se
+ * mantienen al agregar, así que el resumen es O(1).
+ */
+public class ParseResults {
+
+    public static final int NO_ERROR = -1;
+
+    private final BitSet accepted;
+    private int[] firstErrors;
+    private int size;
+    private int acceptedCount;
+
+    public ParseResults() {
+        this(64);
+    }
+
+    public ParseResults(int expectedLines) {
+        int capacity = Math.max(1, expectedLines);
+        this.accepted = new BitSet(capacity);
+        this.firstErrors = new int[capacity];
+    }
+
+    /**
+     * Agrega el resultado de la siguiente línea.
+     *
+     * @param firstError Posición del primer token con error, o {@link #NO_ERROR}
+     */
+    public void add(boolean lineAccepted, int firstError) {
+        if (size == firstErrors.length) {
+            firstErrors = Arrays.copyOf(firstErrors, firstErrors.length << 1);
+        }
+        if (lineAccepted) {
+            accepted.set(size);
+            acceptedCount++;
+        }
+        firstErrors[size] = lineAccepted ? NO_ERROR : firstError;
+        size++;
+    }
+
+    /**
+     * Crea resultados de {@code lines} líneas a partir de arreglos ya llenos
+     * (ver {@link Parser#parseFileParallel(List, int)}).
+     */
+    static ParseResults of(BitSet accepted, int[] firstErrors, int lines) {
+        ParseResults results = new ParseResults(lines);
+        results.accepted.or(accepted);
+        System.arraycopy(firstErrors, 0, results.firstErrors, 0, lines);
+        results.size = lines;
+        results.acceptedCount = accepted.cardinality();
+        return results;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isAccepted(int line) {
+        checkLine(line);
+        return accepted.get(line);
+    }
+
+    /**
+     * Posición del primer token con error de la línea, o {@link #NO_ERROR}
+     * si fue aceptada (o rechazada sin posición conocida).
+     */
+    public int getFirstErrorOffset(int line) {
+        checkLine(line);
+        return firstErrors[line];
+    }
+
+    public int getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public int getRejectedCount() {
+        return size - acceptedCount;
+    }
+
+    /**
+     * Porcentaje de líneas aceptadas (0 si no hay líneas).
+     */
+    public double getSuccessRate() {
+        return size > 0 ? (double) acceptedCount / size * 100 : 0.0;
+    }
+
+    /**
+     * Imprime el resumen del parseo (total, aceptadas, rechazadas y tasa de
+     * éxito). Es el único lugar que lo arma: lo usan
+     * {@link Parser#printParser(ParseResults)} y el Yalp generado.
+     */
+    public void printSummary() {
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("RESUMEN DEL PARSEO");
+        System.out.println("=".repeat(60));
+        System.out.println("Total de líneas procesadas: " + size);
+        System.out.println("Líneas aceptadas: " + acceptedCount + " ✅");
+        System.out.println("Líneas rechazadas: " + getRejectedCount() + " ❌");
+        System.out.printf("Tasa de éxito: %.2f%%\n", getSuccessRate());
+        System.out.println("=".repeat(60));
+    }
+
+    /**
+     * Índice de la siguiente línea rechazada desde {@code fromLine}, o -1.
+     */
+    public int nextRejected(int fromLine) {
+        int line = accepted.nextClearBit(fromLine);
+        return line < size ? line : -1;
+    }
+
+    /**
+     * Copia del conjunto de líneas aceptadas.
+     */
+    public BitSet getAcceptedLines() {
+        return (BitSet) accepted.clone();
+    }
+
+    /**
+     * Vista de solo lectura como lista, para código que esperaba el
+     * {@code List<Boolean>} anterior. Cada acceso crea un Boolean (cacheado
+     * por el JDK), no hay copia.
+     */
+    public List<Boolean> asList() {
+        return new AbstractList<Boolean>() {
+            @Override
+            public Boolean get(int index) {
+                return isAccepted(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private void checkLine(int line) {
+        if (line < 0 || line >= size) {
+            throw new IndexOutOfBoundsException("Línea " + line + " fuera de " + size + " resultados");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParseResults[líneas=" + size + ", aceptadas=" + acceptedCount + ", rechazadas=" + getRejectedCount() + "]";
+    }
+}
@@ -0,0 +1,121 @@
+package modules.parser;
+
+import java.io.PrintStream;
+
+import models.CompiledParseTable;
+import models.ReduceEntry;
+
+/**
+ * Traza de parseo de bajo costo en un buffer circular.
+ *
+ * Cada paso del driver se guarda como un registro compacto de tres enteros
+ * (estado, id de terminal, acción empaquetada), lo que cuesta unas pocas
+ * escrituras en un arreglo. Solo se conservan los últimos {@code capacity}
+ * pasos y el formateo a texto se hace únicamente al llamar a
+ * {@link #dump(CompiledParseTable, PrintStream)}, ya sea ante un error o
+ * bajo demanda.
+ */
+public class ParseTrace {
+
+    private static final int FIELDS = 3; // estado, símbolo, acción
+
+    private final int[] records;
+    private final int mask;
+    private long steps; // Total de pasos registrados desde el último clear()
+
+    /**
+     * @param capacity Cantidad de pasos a conservar (se redondea a potencia de 2)
+     */
+    public ParseTrace(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.records = new int[size * FIELDS];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Registra un paso del driver.
+     */
+    public void record(int state, int symbol, int action) {
+        int base = (int) (steps & mask) * FIELDS;
+        records[base] = state;
+        records[base + 1] = symbol;
+        records[base + 2] = action;
+        steps++;
+    }
+
+    public void clear() {
+        steps = 0;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Total de pasos registrados (puede superar la capacidad).
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Cantidad de pasos disponibles en el buffer.
+     */
+    public int size() {
+        return (int) Math.min(steps, mask + 1);
+    }
+
+    /**
+     * Estado del i-ésimo paso conservado (0 = el más antiguo).
+     */
+    public int getState(int i) {
+        return records[slot(i)];
+    }
+
+    public int getSymbol(int i) {
+        return records[slot(i) + 1];
+    }
+
+    public int getAction(int i) {
+        return records[slot(i) + 2];
+    }
+
+    private int slot(int i) {
+        long first = steps - size();
+        return (int) ((first + i) & mask) * FIELDS;
+    }
+
+    /**
+     * Imprime los pasos conservados, del más antiguo al más reciente.
+     */
+    public void dump(CompiledParseTable table, PrintStream out) {
+        int size = size();
+        long first = steps - size;
+        out.println("=== TRAZA DE PARSEO (últimos " + size + " de " + steps + " pasos) ===");
+        out.printf("%-8s | %-8s | %-12s | %s%n", "PASO", "ESTADO", "SÍMBOLO", "ACCIÓN");
+        for (int i = 0; i < size; i++) {
+            int symbol = getSymbol(i);
+            out.printf("%-8d | %-8s | %-12s | %s%n",
+                    first + i,
+                    table.getStateName(getState(i)),
+                    symbol >= 0 ? table.getTerminal(symbol) : "?",
+                    describe(table, getAction(i)));
+        }
+    }
+
+    private static String describe(CompiledParseTable table, int action) {
+        int target = CompiledParseTable.target(action);
+        switch (CompiledParseTable.kind(action)) {
+            case CompiledParseTable.SHIFT:
+                return "SHIFT -> Estado " + table.getStateName(target);
+            case CompiledParseTable.REDUCE:
+                ReduceEntry reduceInfo = table.getReduceEntry(target);
+                return table.getReduceName(target) + ": Reduce " + reduceInfo.getProduction_head() + " -> "
+                        + reduceInfo.getProduction_value();
+            case CompiledParseTable.ACCEPT:
+                return "ACCEPT";
+            default:
+                return "ERROR";
+        }
+    }
+}
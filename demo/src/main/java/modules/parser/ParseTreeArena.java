@@ -0,0 +1,169 @@
+package modules.parser;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import models.CompiledParseTable;
+
+/**
+ * Árbol de derivación almacenado en arreglos primitivos.
+ *
+ * Cada nodo es un índice y sus campos viven en arreglos paralelos: símbolo
+ * (id unificado de la tabla compilada), primer hijo, siguiente hermano e
+ * índice del token en la entrada (-1 para los no terminales). No se crea un
+ * objeto por nodo, así que construir el árbol de millones de tokens no genera
+ * basura para el GC, y {@link #clear()} reutiliza los arreglos en el
+ * siguiente parseo.
+ */
+public class ParseTreeArena {
+
+    public static final int NONE = -1;
+
+    private int[] kinds;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[] tokenIndexes;
+    private int size;
+    private int root;
+
+    public ParseTreeArena() {
+        this(256);
+    }
+
+    public ParseTreeArena(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.kinds = new int[capacity];
+        this.firstChildren = new int[capacity];
+        this.nextSiblings = new int[capacity];
+        this.tokenIndexes = new int[capacity];
+        this.root = NONE;
+    }
+
+    /**
+     * Descarta todos los nodos conservando la capacidad reservada.
+     */
+    public void clear() {
+        size = 0;
+        root = NONE;
+    }
+
+    /**
+     * Crea una hoja para un token de la entrada.
+     */
+    public int addLeaf(int symbol, int tokenIndex) {
+        int node = allocate(symbol);
+        tokenIndexes[node] = tokenIndex;
+        return node;
+    }
+
+    /**
+     * Crea un nodo interno cuyos hijos son {@code nodeStack[from..size)}, en
+     * orden. Los hijos se enlazan como lista de hermanos.
+     */
+    public int addNode(int symbol, IntStack nodeStack, int from) {
+        int node = allocate(symbol);
+        tokenIndexes[node] = NONE;
+        int previous = NONE;
+        for (int i = from; i < nodeStack.size(); i++) {
+            int child = nodeStack.get(i);
+            if (previous == NONE) {
+                firstChildren[node] = child;
+            } else {
+                nextSiblings[previous] = child;
+            }
+            previous = child;
+        }
+        return node;
+    }
+
+    private int allocate(int symbol) {
+        if (size == kinds.length) {
+            int capacity = kinds.length << 1;
+            kinds = Arrays.copyOf(kinds, capacity);
+            firstChildren = Arrays.copyOf(firstChildren, capacity);
+            nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+            tokenIndexes = Arrays.copyOf(tokenIndexes, capacity);
+        }
+        int node = size++;
+        kinds[node] = symbol;
+        firstChildren[node] = NONE;
+        nextSiblings[node] = NONE;
+        return node;
+    }
+
+    public void setRoot(int root) {
+        this.root = root;
+    }
+
+    public int getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Id de símbolo unificado del nodo (ver {@link CompiledParseTable#getSymbolName(int)}).
+     */
+    public int getKind(int node) {
+        return kinds[node];
+    }
+
+    public int getFirstChild(int node) {
+        return firstChildren[node];
+    }
+
+    public int getNextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    /**
+     * Posición del token en la entrada, o {@link #NONE} si es un no terminal.
+     */
+    public int getTokenIndex(int node) {
+        return tokenIndexes[node];
+    }
+
+    public boolean isLeaf(int node) {
+        return tokenIndexes[node] != NONE;
+    }
+
+    /**
+     * Imprime el árbol con sangría. El recorrido es iterativo para soportar
+     * árboles profundos.
+     */
+    public void print(CompiledParseTable table, PrintStream out) {
+        if (root == NONE) {
+            out.println("(árbol vacío)");
+            return;
+        }
+        IntStack parents = new IntStack();
+        int node = root;
+        while (true) {
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < parents.size(); i++) {
+                line.append("  ");
+            }
+            line.append(table.getSymbolName(kinds[node]));
+            if (isLeaf(node)) {
+                line.append(" [").append(tokenIndexes[node]).append("]");
+            }
+            out.println(line);
+
+            // Bajar al primer hijo, o avanzar al siguiente hermano disponible
+            if (firstChildren[node] != NONE) {
+                parents.push(node);
+                node = firstChildren[node];
+                continue;
+            }
+            while (nextSiblings[node] == NONE) {
+                if (parents.isEmpty()) {
+                    return;
+                }
+                node = parents.pop();
+            }
+            node = nextSiblings[node];
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package modules.parser;
+import java.io.PrintStream;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+import models.CompiledParseTable;
 import models.ParsingTable;
 import models.ReduceEntry;
 import modules.error.ErrorHandler;
@@ -14,29 +20,67 @@ import modules.error.ErrorHandler;
  * - Ejecutar el algoritmo de parseo LR(0) usando las tablas ACTION y GOTO
  * - Manejar las operaciones SHIFT, REDUCE y ACCEPT
  * - Mantener el stack de parseo con estados y símbolos
- * - Generar árbol de derivación (opcional)
+ * - Generar árbol de derivación (opcional, ver setBuildTree)
+ * - Ejecutar acciones semánticas al reducir (opcional, ver setSemanticActions)
  * - Delegar errores al módulo de manejo de errores
+ * - Recuperarse de errores en modo pánico (opcional, ver setErrorRecovery)
  */
 public class Parser {
     
-    private ParsingTable parsingTable;
+    private CompiledParseTable compiledTable; // Tabla indexada por enteros (inmutable)
     private ErrorHandler errorHandler;
-    private Stack<String> stateStack;    // Stack de estados
-    private Stack<String> symbolStack;   // Stack de símbolos
+    private IntStack stateStack;         // Stack de estados (ids densos)
+    private IntStack symbolStack;        // Stack de símbolos (ids, opcional)
+    private boolean trackSymbols;        // Flag para mantener el stack de símbolos
     private List<String> inputTokens;    // Tokens de entrada
+    private int[] inputSymbols;          // Ids de terminal de la entrada (reutilizado entre parseos)
+    private int inputLength;             // Cantidad de ids válidos en inputSymbols (incluye $)
     private int currentTokenIndex;       // Índice del token actual
     private boolean accepted;            // Flag de aceptación
-    private boolean debug;               // Flag para mostrar debugging
+    private boolean debug;               // Flag para mostrar debugging (printf por paso)
+    private ParseTrace trace;            // Traza circular de pasos (opcional)
+    private ParseTreeArena tree;         // Árbol de derivación (opcional)
+    private IntStack nodeStack;          // Nodos del árbol, paralelo al stack de estados
+    private SemanticActions<Object> actions; // Acciones semánticas por producción (opcional)
+    private ValueStack<Object> valueStack;   // Valores semánticos, paralelo al stack de estados
+    private ParseResultCache cache;      // Resultados por secuencia de tokens (opcional)
+    private boolean recovery;            // Continuar después de un error (modo pánico)
+    private int maxRecoveries;           // Intentos de recuperación por línea
+    private int lastRecoveryIndex;       // Token en el que se aplicó la última recuperación
+    private IntStack errorPositions;     // Posiciones de los errores del último parseo
+    private boolean missingGoto;         // Una reducción no encontró GOTO: se corta la línea
+    private boolean reportErrors;        // Imprimir los errores sintácticos en stderr
+    private ParserMetrics metrics;       // Contadores de ejecución (opcional)
     
+    /**
+     * Crea un parser sobre la tabla congelada (ver {@link ParsingTable#freeze()}).
+     * Congela la tabla del llamador: desde aquí no admite cambios, y
+     * {@link modules.tables.unitRules#eliminar(ParsingTable)} y
+     * {@link modules.tables.defaultReductions#marcar(ParsingTable)} lanzan
+     * IllegalStateException, así que esas pasadas van antes de crear el parser.
+     */
     public Parser(ParsingTable parsingTable) {
-        this.parsingTable = parsingTable;
+        this(parsingTable.freeze());
+    }
+    
+    /**
+     * Crea un parser sobre una tabla ya compilada. La tabla solo se lee, por lo
+     * que varios parsers (uno por hilo) pueden compartirla.
+     */
+    public Parser(CompiledParseTable compiledTable) {
+        this.compiledTable = compiledTable;
         this.errorHandler = new ErrorHandler();
-        this.errorHandler.setParsingTable(parsingTable);
-        this.stateStack = new Stack<>();
-        this.symbolStack = new Stack<>();
+        this.errorHandler.setCompiledTable(compiledTable);
+        this.stateStack = new IntStack();
+        this.symbolStack = new IntStack();
+        this.trackSymbols = true;
+        this.inputSymbols = new int[64];
         this.currentTokenIndex = 0;
         this.accepted = false;
-        this.debug = true;
+        this.debug = false;
+        this.maxRecoveries = 5;
+        this.reportErrors = true;
+        this.errorPositions = new IntStack(8);
     }
     
     /**
@@ -51,44 +95,69 @@ public class Parser {
      * 3. Retornar resultado del parseo
      */
     public boolean parse(List<String> tokens) {
-        this.inputTokens = new ArrayList<>(tokens);
+        long start = metrics != null ? System.nanoTime() : 0;
+        boolean result = parseTokens(tokens);
+        if (metrics != null) {
+            metrics.onLine(System.nanoTime() - start, result, errorPositions.size());
+        }
+        return result;
+    }
+    
+    private boolean parseTokens(List<String> tokens) {
+        this.inputTokens = tokens;
         initializeParsing();
         
+        // Solo reconocimiento: una línea aceptada con la misma forma no se
+        // vuelve a parsear. Las rechazadas se parsean de nuevo para reportar
+        // el error.
+        boolean cacheable = isCacheable();
+        if (cacheable && Boolean.TRUE.equals(cache.lookup(compiledTable, inputSymbols, inputLength))) {
+            accepted = true;
+            return true;
+        }
+        
         if (debug) {
             System.out.println("\n=== INICIANDO PARSEO LR(0) ===");
-            System.out.println("Input: " + String.join(" ", inputTokens));
+            System.out.println("Input: " + String.join(" ", inputWithSentinel()));
             System.out.println("\nPASO A PASO:");
             printHeader();
         }
         
-        while (!accepted && currentTokenIndex < inputTokens.size()) {
-            String currentState = getCurrentState();
-            String currentToken = getCurrentToken();
-            String action = getAction(currentState, currentToken);
-            
-            if (debug) {
-                printParserState(currentState, currentToken, action);
-            }
-            
-            if (action == null || action.isEmpty()) {
+        while (!accepted && currentTokenIndex < inputLength) {
+            if (consume(getCurrentSymbol()) == CompiledParseTable.ERROR) {
+                // Sin GOTO no queda un estado desde el que recuperar; executeReduce
+                // ya registró el error
+                if (missingGoto) {
+                    accepted = false;
+                    break;
+                }
+                
                 // Error sintáctico
-                handleError(currentState, currentToken);
-                return false;
-            }
-            
-            if (action.equals("ACCEPT")) {
-                executeAccept();
-                break;
-            } else if (action.startsWith("S")) {
-                executeShift(action);
-            } else if (action.startsWith("R")) {
-                executeReduce(action);
-            } else {
-                handleError(currentState, currentToken);
-                return false;
+                errorPositions.push(currentTokenIndex);
+                if (reportErrors) {
+                    handleError(getCurrentState(), getCurrentToken());
+                }
+                
+                // En modo recuperación se sigue parseando para reportar el resto
+                // de los errores de la línea
+                if (!recovery || !recover()) {
+                    accepted = false;
+                    break;
+                }
             }
         }
         
+        // Una línea con errores se rechaza aunque la recuperación llegue a ACCEPT
+        if (!errorPositions.isEmpty()) {
+            accepted = false;
+        }
+        
+        // Solo se guardan las aceptadas: una rechazada ocuparía una entrada que
+        // lookup nunca usa
+        if (cacheable && accepted) {
+            cache.store(compiledTable, inputSymbols, inputLength, true);
+        }
+        
         if (debug && accepted) {
             System.out.println("\n✅ EL INPUT ES ACEPTADO");
         }
@@ -97,79 +166,355 @@ public class Parser {
     }
     
     /**
-     * Inicializa el parser para una nueva entrada
+     * El cache solo aplica cuando el parseo no produce nada más que el
+     * resultado (sin árbol, acciones semánticas, traza ni debugging).
      */
-    private void initializeParsing() {
+    private boolean isCacheable() {
+        return cache != null && tree == null && actions == null && trace == null && !debug;
+    }
+    
+    /**
+     * Procesa un terminal de entrada: ejecuta las reducciones que correspondan
+     * y termina al hacer SHIFT del terminal, al aceptar o al encontrar un error.
+     * 
+     * @param symbol Id de terminal (-1 si no pertenece a la gramática)
+     * @return SHIFT, ACCEPT o ERROR de {@link CompiledParseTable}
+     */
+    int consume(int symbol) {
+        while (true) {
+            int currentState = getCurrentState();
+            // Los estados con reducción por defecto no consultan el lookahead
+            int action = compiledTable.defaultAction(currentState);
+            if (action == CompiledParseTable.ERROR) {
+                action = getAction(currentState, symbol);
+            }
+            int kind = CompiledParseTable.kind(action);
+            
+            if (trace != null) {
+                trace.record(currentState, symbol, action);
+            }
+            
+            if (metrics != null) {
+                metrics.onStep(currentState);
+            }
+            
+            if (debug) {
+                printParserState(action, symbol);
+            }
+            
+            if (kind == CompiledParseTable.ACCEPT) {
+                executeAccept();
+                return kind;
+            } else if (kind == CompiledParseTable.SHIFT) {
+                executeShift(action, symbol);
+                return kind;
+            } else if (kind == CompiledParseTable.REDUCE) {
+                if (!executeReduce(action)) {
+                    return CompiledParseTable.ERROR;
+                }
+            } else {
+                return CompiledParseTable.ERROR;
+            }
+        }
+    }
+    
+    /**
+     * Prepara el parser para recibir tokens uno a uno con {@link #consume(int)}
+     * (ver {@link ParserSession}).
+     */
+    void beginStream() {
+        inputTokens = Collections.emptyList();
+        inputLength = 0;
+        resetStacks();
+        errorPositions.clear();
+    }
+    
+    /**
+     * Vacía los stacks y deja el estado inicial
+     */
+    private void resetStacks() {
         stateStack.clear();
         symbolStack.clear();
+        if (tree != null) {
+            tree.clear();
+            nodeStack.clear();
+        }
+        if (actions != null) {
+            valueStack.clear();
+        }
         currentTokenIndex = 0;
         accepted = false;
+        missingGoto = false;
         
         // Agregar estado inicial (0) al stack
-        stateStack.push("0");
+        stateStack.push(compiledTable.getInitialState());
+    }
+    
+    /**
+     * Inicializa el parser para una nueva entrada
+     */
+    private void initializeParsing() {
+        resetStacks();
+        if (trace != null) {
+            trace.clear();
+        }
+        errorPositions.clear();
+        lastRecoveryIndex = -1;
+        
+        // Traducir los tokens a ids una sola vez (-1 si no pertenece a la gramática)
+        int size = inputTokens.size();
+        if (inputSymbols.length < size + 1) {
+            inputSymbols = new int[Math.max(size + 1, inputSymbols.length << 1)];
+        }
+        for (int i = 0; i < size; i++) {
+            inputSymbols[i] = compiledTable.terminalId(inputTokens.get(i));
+        }
+        inputLength = size;
         
         // Agregar símbolo centinela $ si no existe
-        if (!inputTokens.get(inputTokens.size() - 1).equals("$")) {
-            inputTokens.add("$");
+        if (size == 0 || !inputTokens.get(size - 1).equals("$")) {
+            inputSymbols[inputLength++] = compiledTable.terminalId("$");
         }
     }
    
     /**
      * Ejecuta una operación SHIFT
      */
-    private void executeShift(String action) {
-        // Extraer número de estado de la acción (ej: "S5" -> "5")
-        String newState = action.substring(1);
-        String currentToken = getCurrentToken();
+    private void executeShift(int action, int symbol) {
+        // Extraer el estado destino de la acción empaquetada
+        int newState = CompiledParseTable.target(action);
         
         // Push del símbolo actual al symbolStack
-        symbolStack.push(currentToken);
+        if (trackSymbols) {
+            symbolStack.push(symbol);
+        }
         
         // Push del nuevo estado al stateStack
         stateStack.push(newState);
         
+        if (metrics != null) {
+            metrics.onShift(stateStack.size());
+        }
+        
+        // Crear la hoja del token en el árbol
+        if (tree != null) {
+            nodeStack.push(tree.addLeaf(symbol, currentTokenIndex));
+        }
+        
+        // Valor semántico del token
+        if (actions != null) {
+            actions.shift(valueStack, symbol, currentTokenIndex);
+        }
+        
         // Avanzar al siguiente token
         currentTokenIndex++;
     }
     
     /**
      * Ejecuta una operación REDUCE
+     * 
+     * @return false si la tabla no tiene GOTO para la cabeza de la producción
      */
-    private void executeReduce(String action) {
-        // Obtener información de la producción desde reduceDictionary
-        ReduceEntry reduceInfo = parsingTable.getReduceDictionary().get(action);
-        
-        if (reduceInfo == null) {
-            System.err.println("Error: No se encontró información para " + action);
-            return;
+    private boolean executeReduce(int action) {
+        // Obtener la longitud y la cabeza precalculadas de la producción
+        int reduce = CompiledParseTable.target(action);
+        int rhsLength = compiledTable.getReduceLength(reduce);
+        int lhs = compiledTable.getReduceLhs(reduce);
+        if (metrics != null) {
+            metrics.onReduce(compiledTable.getReduceProduction(reduce));
         }
         
-        String productionHead = reduceInfo.getProduction_head();
-        String productionBody = reduceInfo.getProduction_value();
-        
-        // Contar elementos en el lado derecho de la producción
-        String[] rhsSymbols = productionBody.trim().split("\\s+");
-        int rhsLength = rhsSymbols.length;
-        
         // Hacer pop de |producción| elementos de ambos stacks
-        for (int i = 0; i < rhsLength; i++) {
-            if (!stateStack.isEmpty()) stateStack.pop();
-            if (!symbolStack.isEmpty()) symbolStack.pop();
+        stateStack.pop(rhsLength);
+        if (trackSymbols) {
+            symbolStack.pop(rhsLength);
+            
+            // Hacer push del lado izquierdo de la producción al symbolStack
+            symbolStack.push(compiledTable.nonTerminalSymbol(lhs));
+        }
+        
+        // Crear el nodo de la producción con los |producción| nodos superiores como hijos
+        if (tree != null) {
+            int from = Math.max(0, nodeStack.size() - rhsLength);
+            int node = tree.addNode(compiledTable.nonTerminalSymbol(lhs), nodeStack, from);
+            nodeStack.pop(rhsLength);
+            nodeStack.push(node);
         }
         
-        // Hacer push del lado izquierdo de la producción al symbolStack
-        symbolStack.push(productionHead);
+        // Invocar la acción semántica de la producción
+        if (actions != null) {
+            actions.reduce(valueStack, reduce, rhsLength);
+        }
         
         // Consultar GOTO table con (estado_actual, no_terminal)
-        String currentState = getCurrentState();
-        String gotoState = getGotoState(currentState, productionHead);
+        int currentState = getCurrentState();
+        int gotoState = getGotoState(currentState, lhs);
         
-        if (gotoState != null && !gotoState.isEmpty()) {
+        if (gotoState >= 0) {
             // Hacer push del nuevo estado al stateStack
             stateStack.push(gotoState);
+            if (trackSymbols || tree != null || actions != null) {
+                expandUnitChain(currentState, lhs);
+            }
         } else {
-            System.err.println("Error: No se encontró transición GOTO para (" + currentState + ", " + productionHead + ")");
+            // Tabla inconsistente: la línea se rechaza en el token actual, igual
+            // que en los parsers generados
+            if (reportErrors) {
+                System.err.println("Error: No se encontró transición GOTO para ("
+                        + compiledTable.getStateName(currentState) + ", " + compiledTable.getNonTerminal(lhs) + ")");
+            }
+            errorPositions.push(currentTokenIndex);
+            missingGoto = true;
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Aplica sobre el tope de los stacks las reducciones unitarias que la
+     * tabla omitió en GOTO(state, nonTerminal) (ver
+     * {@link models.ParsingTable#getUnitChainTable()}), para que el árbol, los
+     * valores semánticos y el stack de símbolos sean los de la derivación
+     * completa. El stack de estados ya tiene el estado final de la cadena.
+     */
+    private void expandUnitChain(int state, int nonTerminal) {
+        int count = compiledTable.unitChainCount(state, nonTerminal);
+        for (int i = 0; i < count; i++) {
+            int unit = compiledTable.unitChainReduce(state, nonTerminal, i);
+            int symbol = compiledTable.nonTerminalSymbol(compiledTable.getReduceLhs(unit));
+            if (trackSymbols) {
+                symbolStack.pop(1);
+                symbolStack.push(symbol);
+            }
+            if (tree != null) {
+                int node = tree.addNode(symbol, nodeStack, nodeStack.size() - 1);
+                nodeStack.pop(1);
+                nodeStack.push(node);
+            }
+            if (actions != null) {
+                actions.reduce(valueStack, unit, 1);
+            }
+        }
+    }
+    
+    /**
+     * Recuperación en modo pánico. Se intenta, en orden:
+     * 1. SKIP_TOKEN: descartar el token si el siguiente es válido en el estado actual
+     * 2. POP_STACK + SYNC_FORWARD: bajar por el stack hasta un estado con GOTO
+     *    sobre algún no terminal A, descartar tokens hasta uno del FOLLOW(A)
+     *    que sea válido después de A, y continuar como si A se hubiera reducido
+     * 
+     * @return false si se agotaron los intentos de la línea o no hay punto de
+     *         sincronización (ABORT)
+     */
+    private boolean recover() {
+        int position = currentTokenIndex;
+        if (errorPositions.size() > maxRecoveries) {
+            reportRecovery(ErrorHandler.RecoveryAction.ABORT, position,
+                    "se alcanzó el máximo de " + maxRecoveries + " recuperaciones por línea");
+            return false;
+        }
+        
+        // Un segundo error en el mismo token obliga a descartar al menos uno
+        boolean stalled = position == lastRecoveryIndex;
+        lastRecoveryIndex = position;
+        int state = getCurrentState();
+        int endSymbol = compiledTable.terminalId("$");
+        
+        // 1. SKIP_TOKEN
+        if (getCurrentSymbol() != endSymbol && position + 1 < inputLength
+                && getAction(state, inputSymbols[position + 1]) != CompiledParseTable.ERROR) {
+            currentTokenIndex++;
+            reportRecovery(ErrorHandler.RecoveryAction.SKIP_TOKEN, position,
+                    "se descartó '" + getTokenName(position) + "'");
+            return true;
+        }
+        
+        // 2. Buscar, del tope hacia el fondo, el estado más cercano con un punto
+        // de sincronización; en cada estado, el no terminal que descarta menos tokens
+        int from = stalled ? position + 1 : position;
+        for (int depth = stateStack.size() - 1; depth >= 0; depth--) {
+            int candidate = stateStack.get(depth);
+            int bestNonTerminal = -1;
+            int bestIndex = inputLength;
+            for (int nt = 0; nt < compiledTable.getNonTerminalCount(); nt++) {
+                int target = compiledTable.goTo(candidate, nt);
+                if (target < 0) {
+                    continue;
+                }
+                for (int i = from; i < bestIndex; i++) {
+                    int symbol = inputSymbols[i];
+                    if (symbol >= 0 && compiledTable.isFollow(nt, symbol)
+                            && getAction(target, symbol) != CompiledParseTable.ERROR) {
+                        bestNonTerminal = nt;
+                        bestIndex = i;
+                        break;
+                    }
+                }
+            }
+            if (bestNonTerminal >= 0) {
+                int pops = stateStack.size() - 1 - depth;
+                if (pops > 0) {
+                    popStacks(pops);
+                    reportRecovery(ErrorHandler.RecoveryAction.POP_STACK, position,
+                            "se descartaron " + pops + " estados hasta el estado " + compiledTable.getStateName(candidate));
+                }
+                pushRecoveredNonTerminal(bestNonTerminal, compiledTable.goTo(candidate, bestNonTerminal));
+                currentTokenIndex = bestIndex;
+                reportRecovery(ErrorHandler.RecoveryAction.SYNC_FORWARD, position,
+                        "se descartaron " + (bestIndex - position) + " tokens y se sincronizó en '"
+                                + getTokenName(bestIndex) + "' tras " + compiledTable.getNonTerminal(bestNonTerminal));
+                return true;
+            }
+        }
+        
+        reportRecovery(ErrorHandler.RecoveryAction.ABORT, position, "no hay punto de sincronización");
+        return false;
+    }
+    
+    /**
+     * Hace pop de {@code count} estados y de los elementos paralelos de los
+     * demás stacks.
+     */
+    private void popStacks(int count) {
+        stateStack.pop(count);
+        if (trackSymbols) {
+            symbolStack.pop(count);
+        }
+        if (tree != null) {
+            nodeStack.pop(count);
+        }
+        if (actions != null) {
+            valueStack.pop(count);
+        }
+    }
+    
+    /**
+     * Apila un no terminal sintético (sin hijos ni valor) para continuar desde
+     * el punto de sincronización.
+     */
+    private void pushRecoveredNonTerminal(int nonTerminal, int gotoState) {
+        stateStack.push(gotoState);
+        if (trackSymbols) {
+            symbolStack.push(compiledTable.nonTerminalSymbol(nonTerminal));
         }
+        if (tree != null) {
+            nodeStack.push(tree.addNode(compiledTable.nonTerminalSymbol(nonTerminal), nodeStack, nodeStack.size()));
+        }
+        if (actions != null) {
+            valueStack.push(null);
+        }
+        expandUnitChain(stateStack.get(stateStack.size() - 2), nonTerminal);
+    }
+    
+    private void reportRecovery(ErrorHandler.RecoveryAction action, int position, String detail) {
+        if (reportErrors) {
+            errorHandler.reportRecovery(action, position, detail);
+        }
+    }
+    
+    private String getTokenName(int index) {
+        return index < inputTokens.size() ? inputTokens.get(index) : "$";
     }
     
     /**
@@ -177,8 +522,11 @@ public class Parser {
      */
     private void executeAccept() {
         accepted = true;
+        if (tree != null && !nodeStack.isEmpty()) {
+            tree.setRoot(nodeStack.peek());
+        }
         if (debug) {
-            System.out.println("Estado: " + getCurrentState() + " | Input: $ | Acción: ACCEPT");
+            System.out.println("Estado: " + compiledTable.getStateName(getCurrentState()) + " | Input: $ | Acción: ACCEPT");
         }
     }
      /**
@@ -191,44 +539,72 @@ public class Parser {
         return inputTokens.get(currentTokenIndex);
     }
     
+    /**
+     * Obtiene el id de terminal del token actual
+     */
+    private int getCurrentSymbol() {
+        if (currentTokenIndex >= inputLength) {
+            return compiledTable.terminalId("$");
+        }
+        return inputSymbols[currentTokenIndex];
+    }
+    
+    /**
+     * Copia de la entrada con el centinela $ al final. Solo se construye para
+     * debugging y reporte de errores, nunca en el loop de parseo.
+     */
+    private List<String> inputWithSentinel() {
+        List<String> input = new ArrayList<>(inputTokens);
+        if (input.size() < inputLength) {
+            input.add("$");
+        }
+        return input;
+    }
+    
     /**
      * Obtiene el estado actual del tope del stack
      */
-    private String getCurrentState() {
-        return stateStack.isEmpty() ? "0" : stateStack.peek();
+    int getCurrentState() {
+        return stateStack.isEmpty() ? compiledTable.getInitialState() : stateStack.peek();
     }
     
     /**
      * Consulta la tabla ACTION
      */
-    private String getAction(String state, String symbol) {
-        if (parsingTable.getActionTable().containsKey(state)) {
-            return parsingTable.getActionTable().get(state).get(symbol);
+    private int getAction(int state, int symbol) {
+        if (symbol < 0) {
+            return CompiledParseTable.ERROR;
         }
-        return null;
+        return compiledTable.action(state, symbol);
     }
     
     /**
      * Consulta la tabla GOTO
      */
-    private String getGotoState(String state, String nonTerminal) {
-        if (parsingTable.getGoToTable().containsKey(state)) {
-            return parsingTable.getGoToTable().get(state).get(nonTerminal);
+    private int getGotoState(int state, int nonTerminal) {
+        if (nonTerminal < 0) {
+            return -1;
         }
-        return null;
+        return compiledTable.goTo(state, nonTerminal);
     }
     
     /**
      * Maneja errores sintácticos
      */
-    private void handleError(String currentState, String currentToken) {
+    private void handleError(int stateId, String currentToken) {
+        String currentState = compiledTable.getStateName(stateId);
         System.err.println("\n❌ ERROR SINTÁCTICO DETECTADO");
         System.err.println("Estado actual: " + currentState);
         System.err.println("Token actual: " + currentToken);
         System.err.println("Posición: " + currentTokenIndex);
         
         // Delegar al ErrorHandler para manejo más sofisticado
-        errorHandler.handleSyntaxError(currentState, currentToken, currentTokenIndex, inputTokens);
+        errorHandler.handleSyntaxError(currentState, currentToken, currentTokenIndex, inputWithSentinel());
+        
+        // Mostrar los últimos pasos que llevaron al error
+        if (trace != null) {
+            trace.dump(compiledTable, System.err);
+        }
     }
     
     /**
@@ -242,39 +618,40 @@ public class Parser {
     /**
      * Imprime el estado actual del parser (para debugging)
      */
-    private void printParserState(String currentState, String currentToken, String action) {
+    private void printParserState(int action, int symbol) {
         // Construir representación del stack
         StringBuilder stackStr = new StringBuilder();
         for (int i = 0; i < stateStack.size(); i++) {
+            stackStr.append(compiledTable.getStateName(stateStack.get(i)));
             if (i < symbolStack.size()) {
-                stackStr.append(stateStack.get(i)).append(symbolStack.get(i));
-            } else {
-                stackStr.append(stateStack.get(i));
+                stackStr.append(compiledTable.getSymbolName(symbolStack.get(i)));
             }
         }
         
-        // Construir representación del input restante
+        // Construir representación del input restante (en modo stream solo se
+        // conoce el token actual)
         StringBuilder inputStr = new StringBuilder();
-        for (int i = currentTokenIndex; i < inputTokens.size(); i++) {
-            inputStr.append(inputTokens.get(i));
-            if (i < inputTokens.size() - 1) inputStr.append(" ");
+        if (currentTokenIndex < inputLength) {
+            List<String> input = inputWithSentinel();
+            for (int i = currentTokenIndex; i < input.size(); i++) {
+                inputStr.append(input.get(i));
+                if (i < input.size() - 1) inputStr.append(" ");
+            }
+        } else {
+            inputStr.append(symbol >= 0 ? compiledTable.getTerminal(symbol) : "?");
         }
         
         // Describir la acción
-        String actionDescription = "";
-        if (action != null) {
-            if (action.equals("ACCEPT")) {
-                actionDescription = "ACCEPT";
-            } else if (action.startsWith("S")) {
-                actionDescription = "SHIFT -> Estado " + action.substring(1);
-            } else if (action.startsWith("R")) {
-                ReduceEntry reduceInfo = parsingTable.getReduceDictionary().get(action);
-                if (reduceInfo != null) {
-                    actionDescription = action + ": Reduce " + reduceInfo.getProduction_head() + " -> " + reduceInfo.getProduction_value();
-                } else {
-                    actionDescription = action + ": Reduce";
-                }
-            }
+        String actionDescription;
+        int kind = CompiledParseTable.kind(action);
+        if (kind == CompiledParseTable.ACCEPT) {
+            actionDescription = "ACCEPT";
+        } else if (kind == CompiledParseTable.SHIFT) {
+            actionDescription = "SHIFT -> Estado " + compiledTable.getStateName(CompiledParseTable.target(action));
+        } else if (kind == CompiledParseTable.REDUCE) {
+            int reduce = CompiledParseTable.target(action);
+            ReduceEntry reduceInfo = compiledTable.getReduceEntry(reduce);
+            actionDescription = compiledTable.getReduceName(reduce) + ": Reduce " + reduceInfo.getProduction_head() + " -> " + reduceInfo.getProduction_value();
         } else {
             actionDescription = "ERROR";
         }
@@ -286,57 +663,327 @@ public class Parser {
     }
     
     // Getters para acceso externo
+    public CompiledParseTable getCompiledTable() {
+        return compiledTable;
+    }
+    
     public boolean isAccepted() {
         return accepted;
     }
     
-    public Stack<String> getStateStack() {
-        return stateStack;
+    /**
+     * Vista de solo lectura del stack de estados (ids del AFD, fondo primero)
+     */
+    public List<String> getStateStack() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return compiledTable.getStateName(stateStack.get(index));
+            }
+            
+            @Override
+            public int size() {
+                return stateStack.size();
+            }
+        };
     }
     
-    public Stack<String> getSymbolStack() {
-        return symbolStack;
+    /**
+     * Vista de solo lectura del stack de símbolos (fondo primero). Vacía si
+     * el seguimiento de símbolos está desactivado.
+     */
+    public List<String> getSymbolStack() {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int index) {
+                return compiledTable.getSymbolName(symbolStack.get(index));
+            }
+            
+            @Override
+            public int size() {
+                return symbolStack.size();
+            }
+        };
     }
     
+    /**
+     * Activa la impresión paso a paso en consola. Reconstruye el stack y la
+     * entrada restante en cada paso, por lo que solo sirve para entradas
+     * pequeñas; para diagnóstico en producción usar {@link #enableTrace(int)}.
+     */
     public void setDebug(boolean debug) {
         this.debug = debug;
     }
     
+    /**
+     * Activa la traza circular con los últimos {@code capacity} pasos de cada
+     * parseo. Se imprime automáticamente ante un error sintáctico y se puede
+     * consultar con {@link #getTrace()} o {@link #dumpTrace(PrintStream)}.
+     */
+    public void enableTrace(int capacity) {
+        this.trace = new ParseTrace(capacity);
+    }
+    
+    /**
+     * Activa o desactiva la construcción del árbol de derivación durante el
+     * parseo. El árbol se reconstruye en cada parse() sobre la misma arena.
+     */
+    public void setBuildTree(boolean buildTree) {
+        if (buildTree && tree == null) {
+            tree = new ParseTreeArena();
+            nodeStack = new IntStack();
+        } else if (!buildTree) {
+            tree = null;
+            nodeStack = null;
+        }
+    }
+    
+    /**
+     * Árbol del último parseo aceptado (raíz en {@link ParseTreeArena#getRoot()}),
+     * o null si la construcción del árbol está desactivada. Se sobrescribe en el
+     * siguiente parseo.
+     */
+    public ParseTreeArena getParseTree() {
+        return tree;
+    }
+    
+    /**
+     * Registra las acciones semánticas a ejecutar en cada reducción (null para
+     * desactivarlas). Deben haberse construido sobre la misma tabla.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void setSemanticActions(SemanticActions<T> actions) {
+        if (actions != null && actions.getTable() != compiledTable) {
+            throw new IllegalArgumentException("Las acciones semánticas pertenecen a otra tabla");
+        }
+        this.actions = (SemanticActions<Object>) actions;
+        this.valueStack = actions != null ? new ValueStack<>() : null;
+    }
+    
+    /**
+     * Valor semántico del símbolo inicial tras un parseo aceptado, o null si
+     * no hay acciones registradas o la entrada no fue aceptada.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getSemanticValue() {
+        if (actions == null || !accepted || valueStack.isEmpty()) {
+            return null;
+        }
+        return (T) valueStack.peek();
+    }
+    
+    /**
+     * Activa un cache de resultados por secuencia de tokens delante de
+     * {@link #parse(List)} (null para desactivarlo). Se ignora mientras estén
+     * activos el árbol, las acciones semánticas, la traza o el debugging.
+     */
+    public void setResultCache(ParseResultCache cache) {
+        this.cache = cache;
+    }
+    
+    public ParseResultCache getResultCache() {
+        return cache;
+    }
+    
+    /**
+     * Activa la recuperación de errores en modo pánico: ante un error el
+     * parser reporta, se recupera y sigue con la línea, de modo que una sola
+     * pasada reporta todos los errores. Las líneas con errores se siguen
+     * rechazando.
+     * 
+     * @param maxRecoveries Máximo de recuperaciones por línea antes de abortarla
+     */
+    public void setErrorRecovery(boolean recovery, int maxRecoveries) {
+        this.recovery = recovery;
+        this.maxRecoveries = Math.max(1, maxRecoveries);
+        this.errorHandler.setRecoveryApplied(recovery);
+    }
+    
+    public void setErrorRecovery(boolean recovery) {
+        setErrorRecovery(recovery, maxRecoveries);
+    }
+    
+    /**
+     * Cantidad de errores del último parseo (a lo sumo 1 sin recuperación).
+     */
+    public int getErrorCount() {
+        return errorPositions.size();
+    }
+    
+    /**
+     * Posiciones de los tokens con error en el último parseo, en orden.
+     */
+    public int[] getErrorPositions() {
+        int[] positions = new int[errorPositions.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = errorPositions.get(i);
+        }
+        return positions;
+    }
+    
+    /**
+     * Posición del primer error del último parseo, o
+     * {@link ParseResults#NO_ERROR} si no hubo errores.
+     */
+    public int getFirstErrorPosition() {
+        return errorPositions.isEmpty() ? ParseResults.NO_ERROR : errorPositions.get(0);
+    }
+    
+    /**
+     * Activa o desactiva el reporte de errores en stderr. Sin reporte, los
+     * errores solo se consultan con {@link #getErrorPositions()}.
+     */
+    public void setReportErrors(boolean reportErrors) {
+        this.reportErrors = reportErrors;
+    }
+    
+    /**
+     * Activa los contadores de ejecución (null para desactivarlos). Deben
+     * haberse creado sobre la misma tabla.
+     */
+    public void setMetrics(ParserMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    public ParserMetrics getMetrics() {
+        return metrics;
+    }
+    
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+    
+    public void setTrace(ParseTrace trace) {
+        this.trace = trace;
+    }
+    
+    public ParseTrace getTrace() {
+        return trace;
+    }
+    
+    /**
+     * Imprime la traza del último parseo (si está activa).
+     */
+    public void dumpTrace(PrintStream out) {
+        if (trace != null) {
+            trace.dump(compiledTable, out);
+        }
+    }
+    
+    /**
+     * Activa o desactiva el stack de símbolos. Sin él, el driver solo mantiene
+     * el stack de estados, que es todo lo que necesita el algoritmo LR.
+     */
+    public void setTrackSymbols(boolean trackSymbols) {
+        this.trackSymbols = trackSymbols;
+        this.symbolStack.clear();
+    }
+    
 
 
 /**
  * Parsea una lista de listas de strings usando el parser LR(0)
  * 
  * @param lineasParaParsear Lista de listas de strings, donde cada lista interna representa una línea a parsear
- * @return Lista de resultados booleanos, uno por cada línea procesada
+ * @return Resultado de cada línea (aceptación y posición del primer error)
  */
-public List<Boolean> parseFile(List<List<String>> lineasParaParsear) {
-    List<Boolean> results = new ArrayList<>();
+public ParseResults parseFile(List<List<String>> lineasParaParsear) {
+    ParseResults results = new ParseResults(lineasParaParsear.size());
     
     for (List<String> tokens : lineasParaParsear) {
         boolean result = parse(tokens);
-        results.add(result);
+        results.add(result, getFirstErrorPosition());
     }
     
     return results;
 }
 
+/**
+ * Parsea las líneas en paralelo usando todos los núcleos disponibles
+ * 
+ * @see #parseFileParallel(List, int)
+ */
+public ParseResults parseFileParallel(List<List<String>> lineasParaParsear) {
+    return parseFileParallel(lineasParaParsear, Runtime.getRuntime().availableProcessors());
+}
+
+/**
+ * Parsea las líneas en paralelo sobre un ForkJoinPool
+ * 
+ * Las líneas se dividen en bloques contiguos; cada bloque lo procesa un parser
+ * propio (stacks propios, sin debugging) que comparte la tabla compilada y el
+ * cache de resultados de este parser. Los resultados se escriben por índice, por lo que respetan el
+ * orden de entrada.
+ * 
+ * Los workers copian la configuración de reconocimiento de este parser:
+ * recuperación de errores (y su máximo por línea), reporte en stderr y
+ * métricas (que se suman al terminar). El árbol, las acciones semánticas y la
+ * traza no se copian, como en {@link #parseFile(List)} solo interesa el
+ * resultado de cada línea.
+ * 
+ * @param lineasParaParsear Lista de listas de strings, una por línea a parsear
+ * @param threads Cantidad de hilos a utilizar
+ * @return Resultado de cada línea en el mismo orden de la entrada
+ */
+public ParseResults parseFileParallel(List<List<String>> lineasParaParsear, int threads) {
+    int totalLines = lineasParaParsear.size();
+    if (threads <= 1 || totalLines < 2) {
+        return parseFile(lineasParaParsear);
+    }
+    
+    // Cada bloque escribe sus propias líneas; el BitSet se arma al final
+    // porque no admite escrituras concurrentes
+    boolean[] accepted = new boolean[totalLines];
+    int[] firstErrors = new int[totalLines];
+    // Varios bloques por hilo para balancear líneas de distinto largo
+    int blockSize = Math.max(1, totalLines / (threads * 8));
+    
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int start = 0; start < totalLines; start += blockSize) {
+            int from = start;
+            int to = Math.min(totalLines, start + blockSize);
+            tasks.add(pool.submit(() -> {
+                Parser worker = new Parser(compiledTable);
+                worker.setDebug(false);
+                worker.setTrackSymbols(false);
+                worker.setResultCache(cache);
+                worker.setReportErrors(reportErrors);
+                worker.setErrorRecovery(recovery, maxRecoveries);
+                if (metrics != null) {
+                    worker.setMetrics(new ParserMetrics(compiledTable));
+                }
+                for (int i = from; i < to; i++) {
+                    accepted[i] = worker.parse(lineasParaParsear.get(i));
+                    firstErrors[i] = worker.getFirstErrorPosition();
+                }
+                if (metrics != null) {
+                    metrics.merge(worker.getMetrics());
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    } finally {
+        pool.shutdown();
+    }
+    
+    BitSet acceptedLines = new BitSet(totalLines);
+    for (int i = 0; i < totalLines; i++) {
+        if (accepted[i]) {
+            acceptedLines.set(i);
+        }
+    }
+    return ParseResults.of(acceptedLines, firstErrors, totalLines);
+}
+
 /**
  * Imprime un resumen de los resultados del parseo
  */
-public void printParser(List<Boolean> results) {
-    int totalLines = results.size();
-    int acceptedLines = (int) results.stream().mapToInt(b -> b ? 1 : 0).sum();
-    int rejectedLines = totalLines - acceptedLines;
-    
-    System.out.println("\n" + "=".repeat(60));
-    System.out.println("RESUMEN DEL PARSEO");
-    System.out.println("=".repeat(60));
-    System.out.println("Total de líneas procesadas: " + totalLines);
-    System.out.println("Líneas aceptadas: " + acceptedLines + " ✅");
-    System.out.println("Líneas rechazadas: " + rejectedLines + " ❌");
-    System.out.printf("Tasa de éxito: %.2f%%\n", (totalLines > 0 ? (double) acceptedLines / totalLines * 100 : 0.0));
-    System.out.println("=".repeat(60));
+public void printParser(ParseResults results) {
+    results.printSummary();
 }
 
 }
\ No newline at end of file
@@ -0,0 +1,240 @@
+package modules.parser;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import models.CompiledParseTable;
+import models.ReduceEntry;
+
+/**
+ * Contadores de ejecución del driver LR.
+ *
+ * Registra SHIFTs, REDUCEs, visitas por estado, reducciones por producción,
+ * profundidad máxima del stack y latencia por línea ({@link LatencyHistogram}).
+ * Cada evento es un incremento en un arreglo de longs, por lo que se puede
+ * dejar activo en producción. Las métricas pertenecen a un solo parser; las de
+ * varios parsers (por ejemplo los de parseFileParallel) se combinan con
+ * {@link #merge(ParserMetrics)}, y {@link #snapshot()} entrega una copia
+ * para exportar.
+ *
+ * Los eventos del driver no se sincronizan (son el camino caliente del
+ * parser): merge, snapshot, reset y toJson sí lo hacen entre ellos, pero solo
+ * son consistentes si el parser dueño no está parseando mientras tanto. El
+ * patrón esperado es que cada hilo acumule en sus propias métricas y las
+ * combine con merge al terminar.
+ */
+public class ParserMetrics {
+
+    private final CompiledParseTable table;
+    private final long[] stateHits; // estado -> pasos del driver en ese estado
+    private final long[] productionHits; // id de producción -> reducciones
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private long shifts;
+    private long reduces;
+    private long lines;
+    private long acceptedLines;
+    private long errors;
+    private int maxStackDepth;
+
+    public ParserMetrics(CompiledParseTable table) {
+        this.table = table;
+        this.stateHits = new long[table.getStateCount()];
+        this.productionHits = new long[Math.max(1, table.getProductionCount())];
+    }
+
+    private ParserMetrics(ParserMetrics source) {
+        this.table = source.table;
+        this.stateHits = source.stateHits.clone();
+        this.productionHits = source.productionHits.clone();
+        this.latency.add(source.latency);
+        this.shifts = source.shifts;
+        this.reduces = source.reduces;
+        this.lines = source.lines;
+        this.acceptedLines = source.acceptedLines;
+        this.errors = source.errors;
+        this.maxStackDepth = source.maxStackDepth;
+    }
+
+    // Eventos del driver
+
+    void onStep(int state) {
+        stateHits[state]++;
+    }
+
+    void onShift(int stackDepth) {
+        shifts++;
+        if (stackDepth > maxStackDepth) {
+            maxStackDepth = stackDepth;
+        }
+    }
+
+    void onReduce(int production) {
+        reduces++;
+        productionHits[production]++;
+    }
+
+    void onLine(long nanos, boolean accepted, int lineErrors) {
+        lines++;
+        if (accepted) {
+            acceptedLines++;
+        }
+        errors += lineErrors;
+        latency.record(nanos);
+    }
+
+    /**
+     * Suma las métricas de otro parser sobre la misma tabla.
+     */
+    public synchronized void merge(ParserMetrics other) {
+        if (other.table != table) {
+            throw new IllegalArgumentException("Las métricas pertenecen a otra tabla");
+        }
+        for (int i = 0; i < stateHits.length; i++) {
+            stateHits[i] += other.stateHits[i];
+        }
+        for (int i = 0; i < productionHits.length; i++) {
+            productionHits[i] += other.productionHits[i];
+        }
+        latency.add(other.latency);
+        shifts += other.shifts;
+        reduces += other.reduces;
+        lines += other.lines;
+        acceptedLines += other.acceptedLines;
+        errors += other.errors;
+        maxStackDepth = Math.max(maxStackDepth, other.maxStackDepth);
+    }
+
+    /**
+     * Copia independiente de las métricas actuales. Es consistente frente a
+     * {@link #merge(ParserMetrics)} y {@link #reset()}; si el parser dueño
+     * sigue parseando, la copia puede mezclar contadores de líneas distintas.
+     */
+    public synchronized ParserMetrics snapshot() {
+        return new ParserMetrics(this);
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(stateHits, 0);
+        Arrays.fill(productionHits, 0);
+        latency.reset();
+        shifts = 0;
+        reduces = 0;
+        lines = 0;
+        acceptedLines = 0;
+        errors = 0;
+        maxStackDepth = 0;
+    }
+
+    public long getShifts() {
+        return shifts;
+    }
+
+    public long getReduces() {
+        return reduces;
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    public long getAcceptedLines() {
+        return acceptedLines;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public int getMaxStackDepth() {
+        return maxStackDepth;
+    }
+
+    public long getStateHits(int state) {
+        return stateHits[state];
+    }
+
+    public long getProductionHits(int production) {
+        return productionHits[production];
+    }
+
+    /**
+     * Latencia por línea en nanosegundos.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Imprime los totales, la latencia y los {@code top} estados y
+     * producciones más usados.
+     */
+    public void print(PrintStream out, int top) {
+        out.println("=== MÉTRICAS DEL PARSER ===");
+        out.println("Líneas: " + lines + " (aceptadas: " + acceptedLines + ", errores: " + errors + ")");
+        out.println("SHIFT: " + shifts + " | REDUCE: " + reduces + " | Profundidad máxima del stack: " + maxStackDepth);
+        out.printf("Latencia por línea (µs): media %.2f | p50 %.2f | p99 %.2f | p99.9 %.2f | máx %.2f%n",
+                latency.getMean() / 1000.0,
+                latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0,
+                latency.getValueAtPercentile(99.9) / 1000.0,
+                latency.getMax() / 1000.0);
+
+        out.println("Estados más visitados:");
+        for (int state : topIndexes(stateHits, top)) {
+            out.printf("  Estado %-6s %d%n", table.getStateName(state), stateHits[state]);
+        }
+
+        out.println("Producciones más reducidas:");
+        for (int production : topIndexes(productionHits, top)) {
+            out.printf("  (%d) %-40s %d%n", production, describeProduction(production), productionHits[production]);
+        }
+    }
+
+    private String describeProduction(int production) {
+        for (int reduce = 0; reduce < table.getReduceCount(); reduce++) {
+            if (table.getReduceProduction(reduce) == production) {
+                ReduceEntry entry = table.getReduceEntry(reduce);
+                return entry.getProduction_head() + " -> " + entry.getProduction_value();
+            }
+        }
+        return "?";
+    }
+
+    private static int[] topIndexes(long[] hits, int top) {
+        return IntStream.range(0, hits.length)
+                .filter(i -> hits[i] > 0)
+                .boxed()
+                .sorted((a, b) -> Long.compare(hits[b], hits[a]))
+                .limit(top)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Exporta las métricas como JSON (los contadores por estado y producción
+     * van completos, indexados por id).
+     */
+    public synchronized String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        json.append("\"lines\":").append(lines);
+        json.append(",\"acceptedLines\":").append(acceptedLines);
+        json.append(",\"errors\":").append(errors);
+        json.append(",\"shifts\":").append(shifts);
+        json.append(",\"reduces\":").append(reduces);
+        json.append(",\"maxStackDepth\":").append(maxStackDepth);
+        json.append(",\"latencyNanos\":{");
+        json.append("\"count\":").append(latency.getTotalCount());
+        json.append(",\"min\":").append(latency.getMin());
+        json.append(",\"mean\":").append(String.format(Locale.ROOT, "%.1f", latency.getMean()));
+        json.append(",\"p50\":").append(latency.getValueAtPercentile(50));
+        json.append(",\"p90\":").append(latency.getValueAtPercentile(90));
+        json.append(",\"p99\":").append(latency.getValueAtPercentile(99));
+        json.append(",\"p999\":").append(latency.getValueAtPercentile(99.9));
+        json.append(",\"max\":").append(latency.getMax());
+        json.append("},\"stateHits\":").append(Arrays.toString(stateHits).replace(" ", ""));
+        json.append(",\"productionHits\":").append(Arrays.toString(productionHits).replace(" ", ""));
+        return json.append("}").toString();
+    }
+}
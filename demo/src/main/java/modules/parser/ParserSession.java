@@ -0,0 +1,163 @@
+package modules.parser;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import models.CompiledParseTable;
+
+/**
+ * Sesión de parseo incremental (push) sobre una tabla compilada.
+ *
+ * En lugar de recibir toda la entrada como {@code List<List<String>>}, la
+ * sesión recibe los tokens uno a uno con {@link #feed(int)} y conserva sus
+ * stacks entre llamadas. Cada llamada reporta de inmediato si la entrada sigue
+ * siendo válida, si fue aceptada o si hay un error, por lo que se puede
+ * parsear directamente desde el lexer o desde un stream sin límite usando
+ * memoria proporcional solo a la profundidad del stack.
+ *
+ * Uso:
+ * 1. Crear la sesión con la tabla compilada.
+ * 2. Llamar a {@code feed} por cada token (id de terminal o nombre).
+ * 3. Llamar a {@link #endOfInput()} al terminar la entrada.
+ * 4. Llamar a {@link #reset()} para reutilizar la sesión.
+ */
+public class ParserSession {
+
+    public enum Status {
+        NEED_MORE, // Entrada válida hasta ahora, se esperan más tokens
+        ACCEPTED, // La entrada fue aceptada
+        ERROR // Error sintáctico en el último token recibido
+    }
+
+    private final CompiledParseTable table;
+    private final Parser parser;
+    private final int endSymbol;
+    private Status status;
+    private int tokenCount; // Tokens recibidos hasta ahora
+    private int errorToken; // Terminal que produjo el error (-1 si no pertenece a la gramática)
+    private int errorState; // Estado en el que se produjo el error
+
+    public ParserSession(CompiledParseTable table) {
+        this.table = table;
+        this.parser = new Parser(table);
+        this.parser.setDebug(false);
+        this.parser.setTrackSymbols(false);
+        this.endSymbol = table.terminalId("$");
+        restart();
+    }
+
+    /**
+     * Recibe el siguiente token de la entrada.
+     *
+     * @param tokenId Id de terminal en la tabla compilada
+     * @return Estado de la sesión después de procesar el token
+     */
+    public Status feed(int tokenId) {
+        if (status != Status.NEED_MORE) {
+            return status;
+        }
+        tokenCount++;
+        return step(tokenId);
+    }
+
+    /**
+     * Recibe el siguiente token por nombre.
+     */
+    public Status feed(String token) {
+        return feed(table.terminalId(token));
+    }
+
+    /**
+     * Indica el fin de la entrada (procesa el centinela $).
+     */
+    public Status endOfInput() {
+        if (status != Status.NEED_MORE) {
+            return status;
+        }
+        return step(endSymbol);
+    }
+
+    /**
+     * Descarta el estado actual para empezar una nueva entrada.
+     */
+    public void reset() {
+        restart();
+    }
+
+    // Privado para que el constructor no llame a un método sobrescribible
+    private void restart() {
+        parser.beginStream();
+        status = Status.NEED_MORE;
+        tokenCount = 0;
+        errorToken = -1;
+        errorState = -1;
+    }
+
+    private Status step(int symbol) {
+        int result = symbol < 0 ? CompiledParseTable.ERROR : parser.consume(symbol);
+        if (result == CompiledParseTable.ACCEPT) {
+            status = Status.ACCEPTED;
+        } else if (result == CompiledParseTable.ERROR) {
+            status = Status.ERROR;
+            errorToken = symbol;
+            errorState = parser.getCurrentState();
+        } else {
+            status = Status.NEED_MORE;
+        }
+        return status;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Cantidad de tokens recibidos (sin contar el fin de entrada).
+     */
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * Posición (base 0) del token que produjo el error, o -1 si no hay error.
+     */
+    public int getErrorPosition() {
+        if (status != Status.ERROR) {
+            return -1;
+        }
+        return errorToken == endSymbol ? tokenCount : tokenCount - 1;
+    }
+
+    /**
+     * Nombre del token que produjo el error, o null si no hay error.
+     */
+    public String getErrorToken() {
+        if (status != Status.ERROR) {
+            return null;
+        }
+        return errorToken >= 0 ? table.getTerminal(errorToken) : "?";
+    }
+
+    /**
+     * Terminales que el parser hubiera aceptado en el punto del error.
+     */
+    public Set<String> getExpectedTokens() {
+        Set<String> expected = new LinkedHashSet<>();
+        if (status != Status.ERROR) {
+            return expected;
+        }
+        for (int terminal = 0; terminal < table.getTerminalCount(); terminal++) {
+            if (table.action(errorState, terminal) != CompiledParseTable.ERROR) {
+                expected.add(table.getTerminal(terminal));
+            }
+        }
+        return expected;
+    }
+
+    /**
+     * Profundidad actual del stack de estados.
+     */
+    public int getStackDepth() {
+        return parser.getStateStack().size();
+    }
+}
@@ -0,0 +1,116 @@
+package modules.parser;
+
+import models.CompiledParseTable;
+import models.ReduceEntry;
+
+/**
+ * Tabla de acciones semánticas indexada por id de producción.
+ *
+ * Las acciones se registran como lambdas con {@link #bind(int, Action)} o
+ * {@link #bind(String, String, Action)} y se guardan en un arreglo indexado
+ * por id de producción. Junto con el arreglo reducción -> producción
+ * precalculado, el driver despacha cada REDUCE con dos accesos a arreglo, sin
+ * búsquedas en mapas.
+ *
+ * Si una producción no tiene acción, su valor es el del primer símbolo del
+ * lado derecho (o null para producciones vacías). Los tokens toman el valor
+ * que retorne {@link TokenAction}, o null si no hay ninguna registrada.
+ *
+ * @param <T> Tipo de los valores semánticos
+ */
+public class SemanticActions<T> {
+
+    /**
+     * Acción invocada al reducir una producción. Los valores del lado derecho
+     * se leen con {@link ValueStack#arg(int)}.
+     */
+    @FunctionalInterface
+    public interface Action<T> {
+        T reduce(ValueStack<T> values);
+    }
+
+    /**
+     * Valor semántico de un token al hacer SHIFT.
+     */
+    @FunctionalInterface
+    public interface TokenAction<T> {
+        T shift(int terminal, int tokenIndex);
+    }
+
+    private final CompiledParseTable table;
+    private final Action<T>[] byProduction; // producción -> acción (null = acción por defecto)
+    private final int[] reduceProductions; // reducción -> id de producción
+    private TokenAction<T> tokenAction;
+
+    public SemanticActions(CompiledParseTable table) {
+        this.table = table;
+        @SuppressWarnings("unchecked")
+        Action<T>[] actions = (Action<T>[]) new Action<?>[table.getProductionCount()];
+        this.byProduction = actions;
+        this.reduceProductions = new int[table.getReduceCount()];
+        for (int reduce = 0; reduce < reduceProductions.length; reduce++) {
+            reduceProductions[reduce] = table.getReduceProduction(reduce);
+        }
+    }
+
+    /**
+     * Asocia una acción a la producción con el id dado. Todas las reducciones
+     * de esa producción (una por estado) usan la misma acción.
+     */
+    public SemanticActions<T> bind(int productionId, Action<T> action) {
+        if (productionId < 0 || productionId >= byProduction.length) {
+            throw new IllegalArgumentException("Id de producción inválido: " + productionId);
+        }
+        byProduction[productionId] = action;
+        return this;
+    }
+
+    /**
+     * Asocia una acción a la producción {@code head -> body}, con el cuerpo
+     * escrito como en la gramática (símbolos separados por espacios).
+     */
+    public SemanticActions<T> bind(String head, String body, Action<T> action) {
+        String normalized = body.trim().replaceAll("\\s+", " ");
+        for (int reduce = 0; reduce < reduceProductions.length; reduce++) {
+            ReduceEntry entry = table.getReduceEntry(reduce);
+            if (entry.getProduction_head().equals(head)
+                    && entry.getProduction_value().trim().replaceAll("\\s+", " ").equals(normalized)) {
+                return bind(reduceProductions[reduce], action);
+            }
+        }
+        throw new IllegalArgumentException("No existe la producción " + head + " -> " + body);
+    }
+
+    public SemanticActions<T> onToken(TokenAction<T> tokenAction) {
+        this.tokenAction = tokenAction;
+        return this;
+    }
+
+    /**
+     * Apila el valor del token desplazado.
+     */
+    void shift(ValueStack<T> values, int terminal, int tokenIndex) {
+        values.push(tokenAction != null ? tokenAction.shift(terminal, tokenIndex) : null);
+    }
+
+    /**
+     * Ejecuta la acción de la reducción y reemplaza sus argumentos por el
+     * resultado.
+     */
+    void reduce(ValueStack<T> values, int reduce, int rhsLength) {
+        values.setFrame(rhsLength);
+        Action<T> action = byProduction[reduceProductions[reduce]];
+        T result;
+        if (action != null) {
+            result = action.reduce(values);
+        } else {
+            result = values.arity() > 0 ? values.arg(0) : null;
+        }
+        values.pop(values.arity());
+        values.push(result);
+    }
+
+    public CompiledParseTable getTable() {
+        return table;
+    }
+}
@@ -47,6 +47,25 @@ public class TraduccionToken {
         return resultado;
     }
 
+    /**
+     * Convierte los tokens de una sola línea fuente en su lista de tipos,
+     * descartando espacios y saltos de línea (ver {@link IncrementalParseSession})
+     * 
+     * @param tokens Tokens de la línea según el analizador léxico
+     * @return Tipos de tokens de la línea (vacía si la línea no tiene tokens)
+     */
+    public static List<String> traducirLinea(List<Token> tokens) {
+        List<String> linea = new ArrayList<>();
+        for (Token token : tokens) {
+            String tipo = token.getTipo();
+            if (tipo.equals("lexbuf") || tipo.equals("WHITESPACE") || tipo.equals("SPACE") || tipo.equals("EOL")) {
+                continue;
+            }
+            linea.add(tipo);
+        }
+        return linea;
+    }
+
     /**
      * Método para procesar una sola línea de tokens hasta encontrar EOL o EOF
      * 
@@ -0,0 +1,102 @@
+package modules.parser;
+
+import java.util.Arrays;
+
+/**
+ * Stack de valores semánticos, paralelo al stack de estados del driver.
+ *
+ * Durante una reducción el stack expone los valores del lado derecho de la
+ * producción como argumentos ({@link #arg(int)}), sin copiarlos a una lista
+ * nueva, por lo que invocar una acción semántica no reserva memoria.
+ *
+ * @param <T> Tipo de los valores semánticos
+ */
+public class ValueStack<T> {
+
+    private Object[] elements;
+    private int size;
+    private int frameBase;   // Primer argumento de la reducción en curso
+    private int frameLength; // Cantidad de argumentos de la reducción en curso
+
+    public ValueStack() {
+        this(64);
+    }
+
+    public ValueStack(int initialCapacity) {
+        this.elements = new Object[Math.max(1, initialCapacity)];
+    }
+
+    public void push(T value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Descarta los {@code count} valores superiores (o todos si hay menos).
+     */
+    public void pop(int count) {
+        int newSize = Math.max(0, size - count);
+        Arrays.fill(elements, newSize, size, null); // No retener valores para el GC
+        size = newSize;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return (T) elements[size - 1];
+    }
+
+    /**
+     * Valor en la posición {@code index} contando desde el fondo del stack.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fuera del stack de tamaño " + size);
+        }
+        return (T) elements[index];
+    }
+
+    /**
+     * Valor del i-ésimo símbolo del lado derecho de la producción que se está
+     * reduciendo (base 0).
+     */
+    public T arg(int i) {
+        if (i < 0 || i >= frameLength) {
+            throw new IndexOutOfBoundsException("Argumento " + i + " fuera de la producción de largo " + frameLength);
+        }
+        return get(frameBase + i);
+    }
+
+    /**
+     * Cantidad de símbolos del lado derecho de la producción en curso.
+     */
+    public int arity() {
+        return frameLength;
+    }
+
+    /**
+     * Marca los {@code length} valores superiores como argumentos de la
+     * reducción en curso.
+     */
+    void setFrame(int length) {
+        this.frameLength = Math.min(length, size);
+        this.frameBase = size - frameLength;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        frameBase = 0;
+        frameLength = 0;
+    }
+}
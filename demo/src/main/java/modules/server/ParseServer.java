@@ -0,0 +1,271 @@
+package modules.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import models.CompiledParseTable;
+import models.ParseTableFile;
+import modules.parser.Parser;
+
+/**
+ * Servicio de parseo residente.
+ *
+ * Carga la tabla de parseo una sola vez y atiende pedidos por un socket
+ * local (Unix domain o TCP en loopback), de modo que cada parseo no paga el
+ * arranque de la JVM ni la carga de PARSE_TABLE.bin. Cada conexión
+ * se atiende en un hilo virtual con su propio {@link Parser}; todos comparten
+ * la tabla compilada (inmutable).
+ *
+ * Protocolo (texto UTF-8, una línea por pedido, varias por conexión):
+ * - {@code WORD EQUALS NUMBER EOF}: tipos de token de una línea separados por
+ *   espacios. Respuesta: {@code ACCEPT} o {@code REJECT <posición> <token>}.
+ * - {@code PING}: responde {@code PONG}.
+ * - {@code STATS}: responde {@code STATS <conexiones> <líneas> <aceptadas>}.
+ * - {@code QUIT}: cierra la conexión.
+ *
+ * Uso: {@code java modules.server.ParseServer [--unix <ruta> | --port <n>] [--table <PARSE_TABLE.bin>]}
+ */
+public class ParseServer implements AutoCloseable {
+
+    private final CompiledParseTable table;
+    private final ServerSocketChannel serverChannel;
+    private final SocketAddress address; // Dirección ya enlazada (con el puerto real si se pidió 0)
+    private final ExecutorService executor;
+    private final Set<SocketChannel> clients = ConcurrentHashMap.newKeySet(); // Conexiones abiertas
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong lines = new AtomicLong();
+    private final AtomicLong acceptedLines = new AtomicLong();
+    private volatile boolean running;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Abre el socket del servicio. Para {@link UnixDomainSocketAddress} se
+     * elimina el archivo del socket si quedó de una ejecución anterior; si en
+     * la ruta hay otro tipo de archivo se lanza IOException sin tocarlo.
+     */
+    public ParseServer(CompiledParseTable table, SocketAddress address) throws IOException {
+        this.table = table;
+        if (address instanceof UnixDomainSocketAddress) {
+            removeStaleSocket(((UnixDomainSocketAddress) address).getPath());
+            this.serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            this.serverChannel = ServerSocketChannel.open();
+        }
+        this.serverChannel.bind(address);
+        this.address = serverChannel.getLocalAddress();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Borra el socket que dejó una ejecución anterior. Un socket no es archivo
+     * regular, directorio ni enlace ({@link BasicFileAttributes#isOther()}).
+     */
+    private static void removeStaleSocket(Path path) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        if (!attributes.isOther()) {
+            throw new IOException("La ruta del socket ya existe y no es un socket: " + path);
+        }
+        Files.delete(path);
+    }
+
+    /**
+     * Acepta conexiones hasta {@link #close()}. Bloquea al hilo que lo llama.
+     */
+    public void serve() throws IOException {
+        running = true;
+        while (running) {
+            SocketChannel client;
+            try {
+                client = serverChannel.accept();
+            } catch (ClosedChannelException e) {
+                break; // close() desde otro hilo
+            }
+            clients.add(client);
+            // close() pudo recorrer las conexiones antes de que se agregara esta
+            if (closed.get()) {
+                clients.remove(client);
+                client.close();
+                break;
+            }
+            connections.incrementAndGet();
+            executor.submit(() -> handle(client));
+        }
+    }
+
+    /**
+     * Atiende una conexión: un pedido por línea hasta QUIT o fin del stream.
+     */
+    private void handle(SocketChannel client) {
+        Parser parser = new Parser(table);
+        parser.setDebug(false);
+        parser.setTrackSymbols(false);
+        parser.setReportErrors(false);
+
+        try (SocketChannel channel = client;
+                BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String request = line.trim();
+                if (request.isEmpty()) {
+                    continue;
+                }
+                if (request.equals("QUIT")) {
+                    break;
+                }
+                out.write(respond(parser, request));
+                out.write('\n');
+                // Responder de inmediato salvo que el cliente ya haya enviado más pedidos
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // Al cerrar el servicio las conexiones abiertas se cortan a propósito
+            if (!closed.get()) {
+                System.err.println("Error en la conexión: " + e.getMessage());
+            }
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    private String respond(Parser parser, String request) {
+        if (request.equals("PING")) {
+            return "PONG";
+        }
+        if (request.equals("STATS")) {
+            return "STATS " + connections.get() + " " + lines.get() + " " + acceptedLines.get();
+        }
+
+        List<String> tokens = Arrays.asList(request.split("\\s+"));
+        lines.incrementAndGet();
+        if (parser.parse(tokens)) {
+            acceptedLines.incrementAndGet();
+            return "ACCEPT";
+        }
+        int position = parser.getFirstErrorPosition();
+        String token = position >= 0 && position < tokens.size() ? tokens.get(position) : "$";
+        return "REJECT " + position + " " + token;
+    }
+
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    public long getConnectionCount() {
+        return connections.get();
+    }
+
+    public long getLineCount() {
+        return lines.get();
+    }
+
+    public long getAcceptedLineCount() {
+        return acceptedLines.get();
+    }
+
+    /**
+     * Cierra el socket y las conexiones abiertas (los hilos que las atienden
+     * terminan al fallar su lectura) y, si es Unix domain, borra su archivo.
+     * Se puede llamar más de una vez (p. ej. desde el shutdown hook y al
+     * terminar {@link #serve()}); solo la primera tiene efecto.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        running = false;
+        try {
+            serverChannel.close();
+        } finally {
+            for (SocketChannel client : clients) {
+                try {
+                    client.close();
+                } catch (IOException ignored) {
+                    // La conexión ya estaba cerrada
+                }
+            }
+            executor.shutdown();
+            if (address instanceof UnixDomainSocketAddress) {
+                Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String tablePath = "demo/src/main/resources/PARSE_TABLE.bin";
+        SocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 7878);
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--unix":
+                    address = UnixDomainSocketAddress.of(Path.of(args[i + 1]));
+                    break;
+                case "--port":
+                    address = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[i + 1]));
+                    break;
+                case "--table":
+                    tablePath = args[i + 1];
+                    break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    return;
+            }
+        }
+
+        CompiledParseTable table;
+        try {
+            table = ParseTableFile.map(Path.of(tablePath));
+        } catch (IOException e) {
+            System.err.println("Error al cargar la Parsing Table: " + e.getMessage());
+            return;
+        }
+
+        ParseServer server = new ParseServer(table, address);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException ignored) {
+                // Se está apagando la JVM
+            }
+        }));
+        try {
+            System.out.println("Servicio de parseo escuchando en " + server.getAddress());
+            server.serve();
+        } finally {
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package modules.tables;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import models.AFD;
+import models.Grammar;
+import models.GrammarExtended;
+import models.ParsingTable;
+import models.ReduceEntry;
+import modules.automaton.automatom;
+import modules.automaton.extension;
+
+/**
+ * Reducciones por defecto para estados que solo pueden reducir.
+ *
+ * Un estado cuya fila de ACTION tiene una única reducción (un solo item
+ * completo y ningún SHIFT) reduce con cualquier terminal del FOLLOW y da error
+ * con los demás. Con una reducción por defecto reduce sin consultar el
+ * lookahead: el error con un terminal inválido se detecta en el siguiente
+ * estado, antes de desplazar ese terminal, así que la línea se rechaza en el
+ * mismo token (como en yacc/bison). La fila de ACTION del estado queda vacía.
+ *
+ * Los estados con alternativas GLR conservan su fila, igual que aquellos a
+ * los que se puede llegar desde un estado sin GOTO para la cabeza de la
+ * producción (ahí el lookahead era lo que evitaba reducir).
+ */
+public class defaultReductions {
+
+    /**
+     * Marca los estados de una sola reducción. Si se combina con
+     * {@link unitRules#eliminar(ParsingTable)}, esa pasada va primero.
+     *
+     * @return Cantidad de estados con reducción por defecto
+     * @throws IllegalStateException si la tabla ya está congelada
+     */
+    public static int marcar(ParsingTable parseTable) {
+        if (parseTable.isFrozen()) {
+            throw new IllegalStateException("Las reducciones por defecto se marcan antes de congelar la tabla");
+        }
+        Map<String, Map<String, List<String>>> predecesores = predecesores(parseTable);
+        Map<String, String> porDefecto = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, String>> row : parseTable.getActionTable().entrySet()) {
+            String reduccion = unicaReduccion(row.getValue());
+            if (reduccion != null && !parseTable.getConflictTable().containsKey(row.getKey())
+                    && gotoGarantizado(parseTable, predecesores, row.getKey(), reduccion)) {
+                porDefecto.put(row.getKey(), reduccion);
+            }
+        }
+        for (Map.Entry<String, String> entry : porDefecto.entrySet()) {
+            parseTable.agregarReduccionPorDefecto(entry.getKey(), entry.getValue());
+        }
+        return porDefecto.size();
+    }
+
+    /**
+     * Transiciones invertidas de la tabla: destino -> símbolo -> orígenes.
+     */
+    private static Map<String, Map<String, List<String>>> predecesores(ParsingTable parseTable) {
+        Map<String, Map<String, List<String>>> predecesores = new HashMap<>();
+        for (Map.Entry<String, Map<String, String>> row : parseTable.getActionTable().entrySet()) {
+            for (Map.Entry<String, String> cell : row.getValue().entrySet()) {
+                if (cell.getValue().startsWith("S")) {
+                    predecesores.computeIfAbsent(cell.getValue().substring(1), k -> new HashMap<>())
+                            .computeIfAbsent(cell.getKey(), k -> new ArrayList<>()).add(row.getKey());
+                }
+            }
+        }
+        for (Map.Entry<String, Map<String, String>> row : parseTable.getGoToTable().entrySet()) {
+            for (Map.Entry<String, String> cell : row.getValue().entrySet()) {
+                predecesores.computeIfAbsent(cell.getValue(), k -> new HashMap<>())
+                        .computeIfAbsent(cell.getKey(), k -> new ArrayList<>()).add(row.getKey());
+            }
+        }
+        return predecesores;
+    }
+
+    /**
+     * Si todos los estados que pueden quedar en el tope después de reducir
+     * tienen GOTO para la cabeza de la producción. En un AFD LR(0) canónico
+     * siempre es así, pero si no lo fuera la reducción solo era segura gracias
+     * al lookahead, y el estado conserva su fila.
+     */
+    private static boolean gotoGarantizado(ParsingTable parseTable, Map<String, Map<String, List<String>>> predecesores,
+            String estado, String reduceName) {
+        ReduceEntry entry = parseTable.getReduceDictionary().get(reduceName);
+        if (entry == null) {
+            return false;
+        }
+        String[] body = entry.getProduction_value().trim().split("\\s+");
+        Set<String> actuales = new HashSet<>();
+        actuales.add(estado);
+        for (int i = body.length - 1; i >= 0; i--) {
+            Set<String> anteriores = new HashSet<>();
+            for (String actual : actuales) {
+                anteriores.addAll(predecesores.getOrDefault(actual, Collections.emptyMap())
+                        .getOrDefault(body[i], Collections.emptyList()));
+            }
+            actuales = anteriores;
+        }
+        for (String anterior : actuales) {
+            Map<String, String> gotos = parseTable.getGoToTable().get(anterior);
+            if (gotos == null || !gotos.containsKey(entry.getProduction_head())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * La reducción de la fila si es la única acción, o null.
+     */
+    private static String unicaReduccion(Map<String, String> acciones) {
+        String reduccion = null;
+        for (String accion : acciones.values()) {
+            if (!accion.startsWith("R") || (reduccion != null && !reduccion.equals(accion))) {
+                return null;
+            }
+            reduccion = accion;
+        }
+        return reduccion;
+    }
+
+    public static void main(String[] args) {
+        // Gramática de generateParseTable
+        Grammar g = new Grammar("S");
+        g.agregarNoTerminal("S");
+        g.agregarNoTerminal("P");
+        g.agregarNoTerminal("Q");
+
+        g.agregarTerminal("^");
+        g.agregarTerminal("V");
+        g.agregarTerminal("[");
+        g.agregarTerminal("]");
+        g.agregarTerminal("sentence");
+
+        g.agregarProduccion("S", "S ^ P");
+        g.agregarProduccion("S", "P");
+        g.agregarProduccion("P", "P V Q");
+        g.agregarProduccion("P", "Q");
+        g.agregarProduccion("Q", "[ S ]");
+        g.agregarProduccion("Q", "sentence");
+
+        GrammarExtended extendida = extension.extenderGramatica(g);
+        AFD afd = automatom.generarAFD(extendida, automatom.crearEstadoInicial(extendida));
+        ParsingTable parseTable = generateParseTable.generateTables(afd, g);
+
+        int marcados = marcar(parseTable);
+        System.out.println("\nEstados con reducción por defecto: " + marcados);
+        parseTable.printDefaultReduceTable();
+    }
+}
@@ -1,5 +1,6 @@
 package modules.tables;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +13,7 @@ import models.Grammar;
 import models.GrammarExtended;
 import models.ParsingTable;
 import models.ReduceEntry;
+import models.SymbolTable;
 import modules.automaton.automatom;
 import modules.automaton.extension;
 import modules.tables.pos.firstpos;
@@ -20,6 +22,22 @@ import modules.tables.pos.followpos;
 public class generateParseTable {
 
     public static ParsingTable generateTables(AFD relatedAfd, Grammar originalGrammar) {
+        return generateTables(relatedAfd, originalGrammar, false, false);
+    }
+
+    public static ParsingTable generateTables(AFD relatedAfd, Grammar originalGrammar, boolean eliminarUnitarias) {
+        return generateTables(relatedAfd, originalGrammar, eliminarUnitarias, false);
+    }
+
+    /**
+     * @param eliminarUnitarias     Si es true se omiten las reducciones por
+     *                              reglas unitarias (ver {@link unitRules})
+     * @param reduccionesPorDefecto Si es true los estados de una sola reducción
+     *                              reducen sin mirar el lookahead (ver
+     *                              {@link defaultReductions})
+     */
+    public static ParsingTable generateTables(AFD relatedAfd, Grammar originalGrammar, boolean eliminarUnitarias,
+            boolean reduccionesPorDefecto) {
         // Crear objeto para tabla de parseo
         ParsingTable parseTable = new ParsingTable(relatedAfd, originalGrammar);
 
@@ -32,13 +50,26 @@ public class generateParseTable {
         Map<String, Set<String>> tablaFollow = follow_calc.getFollowPos();
 
         reduceTable(parseTable, tablaFollow);
+        parseTable.setFollowTable(tablaFollow);
         parseTable.agregarAction("1", "$", "ACCEPT");
-
+        if (eliminarUnitarias) {
+            unitRules.eliminar(parseTable);
+        }
+        if (reduccionesPorDefecto) {
+            defaultReductions.marcar(parseTable);
+        }
 
         // IMPRIMIR RESULTADOS
         parseTable.printParsingTables(follow_calc.getSentinel());
         System.out.println();
         parseTable.printReduceDictionary();
+        parseTable.printConflictTable();
+        if (eliminarUnitarias) {
+            parseTable.printUnitChainTable();
+        }
+        if (reduccionesPorDefecto) {
+            parseTable.printDefaultReduceTable();
+        }
 
         return parseTable;
     }
@@ -56,9 +87,8 @@ public class generateParseTable {
         // Obtener la tabla de transiciones del AFD
         Map<String, Map<String, String>> transitions = parseTable.getAssociatedAfd().getTransitionsTable();
 
-        // Obtener terminales y no terminales de la gramática original
-        List<String> terminales = parseTable.getOriginalGrammar().getTerminales();
-        List<String> noTerminales = parseTable.getOriginalGrammar().getNoTerminales();
+        // Obtener la tabla de símbolos de la gramática original
+        SymbolTable symbols = parseTable.getOriginalGrammar().getSymbolTable();
 
         // Recorrer todos los estados y sus transiciones
         for (Map.Entry<String, Map<String, String>> entry : transitions.entrySet()) {
@@ -66,11 +96,12 @@ public class generateParseTable {
             for (Map.Entry<String, String> trans : entry.getValue().entrySet()) {
                 String symbol = trans.getKey(); // Símbolo de transición
                 String to = trans.getValue(); // Estado destino
+                int symbolId = symbols.id(symbol);
 
-                if (terminales.contains(symbol)) {
+                if (symbols.isTerminal(symbolId)) {
                     // Si el símbolo es terminal, registrar acción SHIFT (desplazamiento)
                     parseTable.agregarAction(from, symbol, "S" + to);
-                } else if (noTerminales.contains(symbol)) {
+                } else if (symbols.isNonTerminal(symbolId)) {
                     // Si el símbolo es no terminal, registrar transición GOTO
                     parseTable.agregarGoTo(from, symbol, to);
                 }
@@ -97,10 +128,20 @@ public class generateParseTable {
         LinkedHashMap<String, EstadoAFD> estados = parseTable.getAssociatedAfd().getEstados();
         // Obtener todas las producciones de la gramática original
         Map<String, List<String>> produccionesOG = parseTable.getOriginalGrammar().getProductions();
+        SymbolTable symbols = parseTable.getOriginalGrammar().getSymbolTable();
+
+        // Id de la primera producción de cada no terminal, en orden de declaración
+        Map<String, Integer> primeraProduccion = new LinkedHashMap<>();
+        int totalProducciones = 0;
+        for (Entry<String, List<String>> producciones_de_un_key : produccionesOG.entrySet()) {
+            primeraProduccion.put(producciones_de_un_key.getKey(), totalProducciones);
+            totalProducciones += producciones_de_un_key.getValue().size();
+        }
+        parseTable.setProductionCount(totalProducciones);
 
         // Se remueve el primer estado de aceptación (posiblemente el estado inicial con
         // la producción aumentada)
-        acceptanceStates.remove(0);
+        String estadoAumentado = acceptanceStates.remove(0);
 
         int reductionCounter = 1; // Contador para generar nombres únicos de reducciones
 
@@ -114,27 +155,14 @@ public class generateParseTable {
                     String reduceName = "R" + reductionCounter;
                     reductionCounter++;
 
-                    // Convertir los símbolos de la producción en un string plano
-                    String acceptanceProduction = "";
-                    for (String string : production.getSymbols()) {
-                        acceptanceProduction += string + " ";
-                    }
-                    acceptanceProduction = acceptanceProduction.trim();
-
                     // Buscar la producción original correspondiente (head -> body) en la gramática
-                    for (Entry<String, List<String>> producciones_de_un_key : produccionesOG.entrySet()) {
-                        for (String produccionKey : producciones_de_un_key.getValue()) {
-                            if (acceptanceProduction.equals(produccionKey)) {
-                                // Crear y guardar una entrada REDUCE con estado, cabeza y producción
-                                ReduceEntry reduceResult = new ReduceEntry(id, producciones_de_un_key.getKey(),
-                                        produccionKey);
-                                parseTable.agregarReduceValue(reduceName, reduceResult);
-                                break; // Solo se necesita una coincidencia
-                            }
-                        }
+                    ReduceEntry reduceResult = buscarProduccion(id, production, produccionesOG,
+                            primeraProduccion, symbols);
+                    if (reduceResult != null) {
+                        parseTable.agregarReduceValue(reduceName, reduceResult);
                     }
 
-                    break; // Solo se procesa una producción completa por estado
+                    break; // Solo se procesa una producción completa por estado (tabla LR)
                 }
             }
         }
@@ -153,6 +181,67 @@ public class generateParseTable {
                 parseTable.agregarAction(productionInfo.getState(), symbol, reduceName);
             }
         }
+
+        // Las demás producciones completas de cada estado no entran en la tabla LR
+        // (que conserva una sola por estado), pero se registran como acciones
+        // alternativas para el driver GLR
+        List<String> estadosGLR = new ArrayList<>(acceptanceStates);
+        estadosGLR.add(0, estadoAumentado);
+        for (String id : estadosGLR) {
+            boolean primera = !id.equals(estadoAumentado); // El estado aumentado no registró ninguna
+            for (GrammarExtended.ProductionWithPointer production : estados.get(id).getItems()) {
+                if (production.getPointer() != production.getSymbols().size()) {
+                    continue;
+                }
+                if (primera) {
+                    primera = false;
+                    continue;
+                }
+                ReduceEntry reduceResult = buscarProduccion(id, production, produccionesOG, primeraProduccion,
+                        symbols);
+                if (reduceResult == null) {
+                    continue;
+                }
+                String reduceName = "R" + reductionCounter;
+                reductionCounter++;
+                parseTable.agregarReduceValue(reduceName, reduceResult);
+                for (String symbol : tablaFollow.get(reduceResult.getProduction_head())) {
+                    parseTable.agregarConflicto(id, symbol, reduceName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Busca la producción original (head -> body) de un item completo y crea su
+     * entrada REDUCE con los metadatos que el parser usa al reducir, o null si
+     * el item no corresponde a la gramática original (producción aumentada).
+     * Se compara la cabeza además del cuerpo: con {@code A -> x} y
+     * {@code B -> x} cada item reduce a su propio no terminal. Solo los items
+     * sin cabeza (AFDs serializados antes de guardarla) se buscan por cuerpo.
+     */
+    private static ReduceEntry buscarProduccion(String id, GrammarExtended.ProductionWithPointer production,
+            Map<String, List<String>> produccionesOG, Map<String, Integer> primeraProduccion, SymbolTable symbols) {
+        // Convertir los símbolos de la producción en un string plano
+        String acceptanceProduction = String.join(" ", production.getSymbols()).trim();
+
+        for (Entry<String, List<String>> producciones_de_un_key : produccionesOG.entrySet()) {
+            if (production.getHead() != null && !production.getHead().equals(producciones_de_un_key.getKey())) {
+                continue;
+            }
+            List<String> alternativas = producciones_de_un_key.getValue();
+            for (int i = 0; i < alternativas.size(); i++) {
+                String produccionKey = alternativas.get(i);
+                if (acceptanceProduction.equals(produccionKey)) {
+                    String head = producciones_de_un_key.getKey();
+                    return new ReduceEntry(id, head, produccionKey,
+                            primeraProduccion.get(head) + i,
+                            production.getSymbols().size(),
+                            symbols.ordinal(symbols.id(head)));
+                }
+            }
+        }
+        return null;
     }
 
     public static void main(String[] args) {
@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.Set;
 
 import models.Grammar;
+import models.SymbolTable;
 
 public class firstpos {
     private Grammar grammar;
@@ -19,6 +20,8 @@ public class firstpos {
     }
 
     public Map<String, Set<String>> calcularFirstPos() {
+        SymbolTable symbolTable = grammar.getSymbolTable();
+
         for (String noTerminal : grammar.getNoTerminales()) {
             List<String> producciones = grammar.getProductions().get(noTerminal);
             if (producciones == null)
@@ -38,7 +41,7 @@ public class firstpos {
 
                 String firstSymbol = symbols[0];
 
-                if (grammar.getNoTerminales().contains(firstSymbol)) {
+                if (symbolTable.isNonTerminal(firstSymbol)) {
                     if (!noTerminal.equals(firstSymbol)) {
                         equals.add(new String[] { firstSymbol, noTerminal });
                     }
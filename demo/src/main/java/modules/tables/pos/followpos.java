@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.Set;
 
 import models.Grammar;
+import models.SymbolTable;
 
 /**
  * Clase para calcular los conjuntos FOLLOW de una gramática libre de contexto.
@@ -33,6 +34,7 @@ import models.Grammar;
  */
 public class followpos {
     private Grammar grammar;
+    private SymbolTable symbols;
     private Map<String, Set<String>> firstMap;
     private Map<String, Set<String>> followMap = new HashMap<>();
     private String sentinel;
@@ -50,6 +52,7 @@ public class followpos {
      */
     public followpos(Grammar grammar, Map<String, Set<String>> firstMap) {
         this.grammar = grammar;
+        this.symbols = grammar.getSymbolTable();
         this.firstMap = firstMap;
         sentinel = "$";
 
@@ -68,14 +71,10 @@ public class followpos {
      * centinela base.
      */
     private void validSentinel() {
-        Set<String> simbolosEnUso = new HashSet<>();
-        simbolosEnUso.addAll(grammar.getNoTerminales());
-        simbolosEnUso.addAll(grammar.getTerminales()); // Asegúrate de tener esta función
-
         int intento = 1;
 
         // Probar distintas variantes de centinela hasta que no esté en uso
-        while (simbolosEnUso.contains(sentinel)) {
+        while (symbols.id(sentinel) >= 0) {
             sentinel = "$" + intento;
             intento++;
         }
@@ -109,7 +108,7 @@ public class followpos {
                 for (int i = 0; i < elementos_resultado.length; i++) { // Iterar elementos en la procucción
                     String actual_element_str = elementos_resultado[i]; // Elemento como string
 
-                    if (grammar.getNoTerminales().contains(actual_element_str)) { // Si elemento es un no terminal
+                    if (symbols.isNonTerminal(actual_element_str)) { // Si elemento es un no terminal
                         Set<String> rules_result = check_rules(no_terminal_cabeza, i, elementos_resultado);
                         followMap.get(actual_element_str).addAll(rules_result); // añadir resultado al set en el mapa
                     }
@@ -129,7 +128,7 @@ public class followpos {
                 Set<String> newFollowSet = new HashSet<>(); // Follow a modificar
 
                 for (String str_follow_element : thisFollowSet) {
-                    if (grammar.getNoTerminales().contains(str_follow_element)) { // Si elemento es un no terminal
+                    if (symbols.isNonTerminal(str_follow_element)) { // Si elemento es un no terminal
                         // Copiar elementos 'follow' de otro key al key actual
                         newFollowSet.addAll(followMap.get(str_follow_element));
                     } else if (str_follow_element != null) {
@@ -138,7 +137,7 @@ public class followpos {
                 }
                 followMap.put(no_terminal_cabeza, newFollowSet); // Reemplazar el conjunto actual con el nuevo conjunto
 
-                if (!grammar.getNoTerminales().stream().anyMatch(newFollowSet::contains)) {
+                if (newFollowSet.stream().noneMatch(symbols::isNonTerminal)) {
                     clean_sets++;
                 }
             }
@@ -178,7 +177,7 @@ public class followpos {
         // aplico B -> ɑAß
         String[] beta = Arrays.copyOfRange(produccion, A_position + 1, produccion.length);
         String first_beta = beta[0];
-        if (grammar.getNoTerminales().contains(first_beta)) {
+        if (symbols.isNonTerminal(first_beta)) {
 
             // aplico regla 3 donde ß -> epsilon
             // considera que epsilon es guardado como un elemento nulo
@@ -0,0 +1,167 @@
+package modules.tables;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import models.AFD;
+import models.Grammar;
+import models.GrammarExtended;
+import models.ParsingTable;
+import models.ReduceEntry;
+import models.SymbolTable;
+import modules.automaton.automatom;
+import modules.automaton.extension;
+
+/**
+ * Eliminación de reducciones por reglas unitarias (A -> B) en una tabla ya
+ * generada.
+ *
+ * Un estado q es unitario si su única acción es reducir una regla A -> B con B
+ * no terminal: no desplaza nada y no tiene GOTO. A q solo se llega por
+ * GOTO(p, B), y desde ahí el parser siempre reduce A -> B, saca q del stack y
+ * va a GOTO(p, A). Por eso GOTO(p, B) se puede redirigir directamente a
+ * GOTO(p, A), siguiendo la cadena mientras el destino vuelva a ser unitario
+ * (p. ej. expression -> operand o statements -> statement).
+ *
+ * El lenguaje aceptado no cambia: todas las acciones de GOTO(p, A) son sobre
+ * terminales del FOLLOW(A), que son justamente los que permitían reducir
+ * A -> B, así que un error se sigue detectando en el mismo token. Las
+ * reducciones omitidas quedan registradas en
+ * {@link ParsingTable#getUnitChainTable()} para que el parser reconstruya la
+ * derivación completa si arma el árbol o ejecuta acciones semánticas.
+ */
+public class unitRules {
+
+    /**
+     * Redirige las celdas GOTO que llevan a estados unitarios. Debe aplicarse
+     * antes de congelar la tabla.
+     *
+     * @return Cantidad de celdas GOTO redirigidas
+     * @throws IllegalStateException si la tabla ya está congelada
+     */
+    public static int eliminar(ParsingTable parseTable) {
+        if (parseTable.isFrozen()) {
+            throw new IllegalStateException("Las reglas unitarias se eliminan antes de congelar la tabla");
+        }
+        SymbolTable symbols = parseTable.getOriginalGrammar().getSymbolTable();
+        String estadoInicial = parseTable.getAssociatedAfd().getInitialState();
+
+        // Estado unitario -> nombre de su reducción
+        Map<String, String> estadosUnitarios = new HashMap<>();
+        for (Map.Entry<String, ReduceEntry> reduce : parseTable.getReduceDictionary().entrySet()) {
+            String estado = reduce.getValue().getState();
+            if (!estado.equals(estadoInicial) && esUnitaria(reduce.getValue(), symbols)
+                    && soloReduce(parseTable, estado, reduce.getKey())) {
+                estadosUnitarios.put(estado, reduce.getKey());
+            }
+        }
+        if (estadosUnitarios.isEmpty()) {
+            return 0;
+        }
+
+        // Calcular primero todas las redirecciones sobre los GOTO originales
+        Map<String, Map<String, List<String>>> cadenas = new HashMap<>();
+        Map<String, Map<String, String>> destinos = new HashMap<>();
+        for (Map.Entry<String, Map<String, String>> row : parseTable.getGoToTable().entrySet()) {
+            for (Map.Entry<String, String> cell : row.getValue().entrySet()) {
+                List<String> cadena = new ArrayList<>();
+                Set<String> visitados = new HashSet<>();
+                String destino = cell.getValue();
+                while (estadosUnitarios.containsKey(destino) && visitados.add(destino)) {
+                    String reduceName = estadosUnitarios.get(destino);
+                    String siguiente = row.getValue().get(parseTable.getReduceDictionary().get(reduceName).getProduction_head());
+                    if (siguiente == null) {
+                        break; // Sin GOTO para la cabeza: el estado unitario se conserva
+                    }
+                    cadena.add(reduceName);
+                    destino = siguiente;
+                }
+                if (!cadena.isEmpty() && !visitados.contains(destino)) {
+                    cadenas.computeIfAbsent(row.getKey(), k -> new HashMap<>()).put(cell.getKey(), cadena);
+                    destinos.computeIfAbsent(row.getKey(), k -> new HashMap<>()).put(cell.getKey(), destino);
+                }
+            }
+        }
+
+        int redirigidas = 0;
+        for (Map.Entry<String, Map<String, List<String>>> row : cadenas.entrySet()) {
+            for (Map.Entry<String, List<String>> cell : row.getValue().entrySet()) {
+                parseTable.agregarCadenaUnitaria(row.getKey(), cell.getKey(),
+                        destinos.get(row.getKey()).get(cell.getKey()), cell.getValue());
+                redirigidas++;
+            }
+        }
+        return redirigidas;
+    }
+
+    /**
+     * Si la producción tiene un único símbolo y es no terminal.
+     */
+    private static boolean esUnitaria(ReduceEntry entry, SymbolTable symbols) {
+        String[] body = entry.getProduction_value().trim().split("\\s+");
+        if (body.length != 1) {
+            return false;
+        }
+        int symbolId = symbols.id(body[0]);
+        return symbolId >= 0 && symbols.isNonTerminal(symbolId);
+    }
+
+    /**
+     * Si la única acción del estado es la reducción dada (sin SHIFT, GOTO ni
+     * alternativas GLR), ya sea en su fila de ACTION o como reducción por
+     * defecto.
+     */
+    private static boolean soloReduce(ParsingTable parseTable, String estado, String reduceName) {
+        Map<String, String> gotos = parseTable.getGoToTable().get(estado);
+        if (parseTable.getConflictTable().containsKey(estado) || (gotos != null && !gotos.isEmpty())) {
+            return false;
+        }
+        if (parseTable.getDefaultReduceTable().containsKey(estado)) {
+            return parseTable.getDefaultReduceTable().get(estado).equals(reduceName);
+        }
+        Map<String, String> acciones = parseTable.getActionTable().get(estado);
+        if (acciones == null || acciones.isEmpty()) {
+            return false;
+        }
+        for (String accion : acciones.values()) {
+            if (!accion.equals(reduceName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        // Gramática de generateParseTable: se omite P -> Q; S -> P no, porque
+        // su estado también desplaza V (P -> P . V Q)
+        Grammar g = new Grammar("S");
+        g.agregarNoTerminal("S");
+        g.agregarNoTerminal("P");
+        g.agregarNoTerminal("Q");
+
+        g.agregarTerminal("^");
+        g.agregarTerminal("V");
+        g.agregarTerminal("[");
+        g.agregarTerminal("]");
+        g.agregarTerminal("sentence");
+
+        g.agregarProduccion("S", "S ^ P");
+        g.agregarProduccion("S", "P");
+        g.agregarProduccion("P", "P V Q");
+        g.agregarProduccion("P", "Q");
+        g.agregarProduccion("Q", "[ S ]");
+        g.agregarProduccion("Q", "sentence");
+
+        GrammarExtended extendida = extension.extenderGramatica(g);
+        AFD afd = automatom.generarAFD(extendida, automatom.crearEstadoInicial(extendida));
+        ParsingTable parseTable = generateParseTable.generateTables(afd, g);
+
+        int redirigidas = eliminar(parseTable);
+        System.out.println("\nCeldas GOTO redirigidas: " + redirigidas);
+        parseTable.printUnitChainTable();
+    }
+}
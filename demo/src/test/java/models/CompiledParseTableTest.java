@@ -0,0 +1,291 @@
+package models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import modules.parser.Parser;
+
+public class CompiledParseTableTest {
+
+    /**
+     * Cada celda de ACTION y GOTO compilada apunta al mismo estado o reducción
+     * que la tabla de strings, y las celdas vacías quedan en ERROR / -1.
+     */
+    @Test
+    public void everyCellMatchesTheStringTables() throws Exception {
+        ParsingTable table = TestTables.ejemplo();
+        CompiledParseTable compiled = CompiledParseTable.compile(table);
+
+        for (int state = 0; state < compiled.getStateCount(); state++) {
+            String name = compiled.getStateName(state);
+            for (int t = 0; t < compiled.getTerminalCount(); t++) {
+                String cell = name + ", " + compiled.getTerminal(t);
+                assertEquals(cell, cell(table.getActionTable(), name, compiled.getTerminal(t)),
+                        describe(compiled, compiled.action(state, t)));
+            }
+            for (int nt = 0; nt < compiled.getNonTerminalCount(); nt++) {
+                String cell = name + ", " + compiled.getNonTerminal(nt);
+                int target = compiled.goTo(state, nt);
+                assertEquals(cell, cell(table.getGoToTable(), name, compiled.getNonTerminal(nt)),
+                        target < 0 ? null : compiled.getStateName(target));
+            }
+        }
+        assertEquals(table.getAssociatedAfd().getInitialState(),
+                compiled.getStateName(compiled.getInitialState()));
+    }
+
+    @Test
+    public void symbolIdsAreDense() throws Exception {
+        CompiledParseTable compiled = CompiledParseTable.compile(TestTables.ejemplo());
+        for (int t = 0; t < compiled.getTerminalCount(); t++) {
+            assertEquals(t, compiled.terminalId(compiled.getTerminal(t)));
+        }
+        for (int nt = 0; nt < compiled.getNonTerminalCount(); nt++) {
+            assertEquals(nt, compiled.nonTerminalId(compiled.getNonTerminal(nt)));
+        }
+        assertTrue(compiled.terminalId("$") >= 0);
+        assertEquals(-1, compiled.terminalId("NO_EXISTE"));
+        assertEquals(-1, compiled.nonTerminalId("NO_EXISTE"));
+    }
+
+    /**
+     * Largo, cabeza e id de producción de cada reducción salen de la
+     * gramática: los ids siguen el orden de declaración de las alternativas.
+     */
+    @Test
+    public void reduceMetadataDescribesTheProduction() throws Exception {
+        ParsingTable table = TestTables.ejemplo();
+        CompiledParseTable compiled = CompiledParseTable.compile(table);
+        List<String> productions = new ArrayList<>();
+        for (Map.Entry<String, List<String>> head : table.getOriginalGrammar().getProductions().entrySet()) {
+            for (String body : head.getValue()) {
+                productions.add(head.getKey() + " -> " + body);
+            }
+        }
+        assertEquals(productions.size(), compiled.getProductionCount());
+
+        for (int r = 0; r < compiled.getReduceCount(); r++) {
+            ReduceEntry entry = compiled.getReduceEntry(r);
+            String body = entry.getProduction_value().trim();
+            assertEquals(body.isEmpty() ? 0 : body.split("\\s+").length, compiled.getReduceLength(r));
+            assertEquals(entry.getProduction_head(), compiled.getNonTerminal(compiled.getReduceLhs(r)));
+            assertEquals(entry.getProduction_head() + " -> " + entry.getProduction_value(),
+                    productions.get(compiled.getReduceProduction(r)));
+        }
+    }
+
+    /**
+     * Una tabla con entradas sin metadatos (como las serializadas antes de
+     * tenerlos) se compila con los mismos largos y cabezas.
+     */
+    @Test
+    public void legacyReduceEntriesAreResolvedOnCompile() throws Exception {
+        CompiledParseTable expected = CompiledParseTable.compile(TestTables.ejemplo());
+        ParsingTable legacy = TestTables.tables(TestTables.ejemploGrammar());
+        for (Map.Entry<String, ReduceEntry> reduce : legacy.getReduceDictionary().entrySet()) {
+            ReduceEntry entry = reduce.getValue();
+            reduce.setValue(new ReduceEntry(entry.getState(), entry.getProduction_head(), entry.getProduction_value()));
+        }
+        CompiledParseTable compiled = CompiledParseTable.compile(legacy);
+
+        assertEquals(expected.getReduceCount(), compiled.getReduceCount());
+        for (int r = 0; r < compiled.getReduceCount(); r++) {
+            assertFalse(compiled.getReduceEntry(r).hasMetadata());
+            assertEquals(expected.getReduceName(r), compiled.getReduceName(r));
+            assertEquals(expected.getReduceLength(r), compiled.getReduceLength(r));
+            assertEquals(expected.getReduceLhs(r), compiled.getReduceLhs(r));
+        }
+    }
+
+    /**
+     * Un largo 0 con metadatos es una producción vacía, no una entrada sin
+     * metadatos; sin ellos, el largo de la producción vacía se resuelve en 0.
+     */
+    @Test
+    public void emptyProductionsHaveLengthZero() {
+        assertTrue(new ReduceEntry("0", "A", "", 1, 0, 1).hasMetadata());
+        assertFalse(new ReduceEntry("0", "A", "").hasMetadata());
+
+        Grammar grammar = new Grammar("S");
+        grammar.agregarNoTerminal("S");
+        grammar.agregarNoTerminal("A");
+        grammar.agregarTerminal("x");
+        grammar.agregarProduccion("S", "A x");
+        grammar.agregarProduccion("A", "");
+        ParsingTable legacy = TestTables.tables(grammar);
+        for (Map.Entry<String, ReduceEntry> reduce : legacy.getReduceDictionary().entrySet()) {
+            ReduceEntry entry = reduce.getValue();
+            reduce.setValue(new ReduceEntry(entry.getState(), entry.getProduction_head(), entry.getProduction_value()));
+        }
+        CompiledParseTable compiled = CompiledParseTable.compile(legacy);
+
+        int empty = 0;
+        for (int r = 0; r < compiled.getReduceCount(); r++) {
+            if (compiled.getReduceEntry(r).getProduction_value().trim().isEmpty()) {
+                assertEquals(0, compiled.getReduceLength(r));
+                empty++;
+            }
+        }
+        assertEquals(1, empty);
+    }
+
+    /**
+     * El parser sobre la tabla compilada acepta lo mismo que un driver LR
+     * directo sobre los mapas de strings.
+     */
+    @Test
+    public void parserAcceptsWhatTheStringTablesAccept() throws Exception {
+        List<List<String>> lines = new ArrayList<>(TestTables.tokenLines());
+        lines.add(TestTables.line("WORD EQUALS DIGIT PLUS LPAREN NUMBER TIMES FLOAT RPAREN EOF"));
+        lines.add(TestTables.line("IF LPAREN WORD LESS DIGIT RPAREN LHOOK COMMENT RHOOK ELSE LHOOK COMMENT RHOOK"));
+        lines.add(TestTables.line("WORD EQUALS EQUALS EOF"));
+        lines.add(TestTables.line("RPAREN"));
+        lines.add(TestTables.line("COMMENT COMMENT"));
+
+        // También sobre una tabla a la que le falta un GOTO
+        for (ParsingTable table : List.of(TestTables.ejemplo(), TestTables.withoutInitialGoto("statements"))) {
+            Parser parser = new Parser(table);
+            parser.setDebug(false);
+            parser.setReportErrors(false);
+            for (List<String> line : lines) {
+                assertEquals(line.toString(), reference(table, line), parser.parse(line));
+            }
+        }
+        assertTrue(reference(TestTables.ejemplo(), TestTables.line("WORD EQUALS DIGIT EOF")));
+        assertFalse(reference(TestTables.withoutInitialGoto("statements"), TestTables.line("COMMENT")));
+    }
+
+    /**
+     * La tabla comprimida por desplazamiento de filas responde igual que la
+     * densa en cada celda de ACTION, GOTO, conflictos, cadenas unitarias y
+     * reducciones por defecto.
+     */
+    @Test
+    public void compressedTableMatchesDenseTable() throws Exception {
+        assertSameCells(TestTables.ejemplo().freeze());
+        assertSameCells(TestTables.tables(TestTables.ejemploGrammar(), true, true).freeze());
+
+        // E -> E + E | n: celdas con alternativas GLR
+        Grammar ambigua = new Grammar("E");
+        ambigua.agregarNoTerminal("E");
+        ambigua.agregarTerminal("+");
+        ambigua.agregarTerminal("n");
+        ambigua.agregarProduccion("E", "E + E");
+        ambigua.agregarProduccion("E", "n");
+        CompiledParseTable conflicts = TestTables.tables(ambigua).freeze();
+        assertTrue(conflicts.hasConflicts());
+        assertSameCells(conflicts);
+    }
+
+    @Test
+    public void compressedTableParsesLikeDenseTable() throws Exception {
+        CompiledParseTable dense = TestTables.tables(TestTables.ejemploGrammar(), true, true).freeze();
+        CompiledParseTable compressed = dense.compress();
+        assertTrue(compressed.footprintBytes() < dense.footprintBytes());
+
+        Parser expected = new Parser(dense);
+        Parser actual = new Parser(compressed);
+        expected.setReportErrors(false);
+        actual.setReportErrors(false);
+        for (List<String> line : TestTables.tokenLines()) {
+            assertEquals(line.toString(), expected.parse(line), actual.parse(line));
+            assertEquals(line.toString(), expected.getFirstErrorPosition(), actual.getFirstErrorPosition());
+        }
+    }
+
+    private static void assertSameCells(CompiledParseTable dense) {
+        CompiledParseTable compressed = dense.compress();
+        assertFalse(dense.isCompressed());
+        assertTrue(compressed.isCompressed());
+        assertSame(compressed, compressed.compress());
+
+        for (int state = 0; state < dense.getStateCount(); state++) {
+            assertEquals(dense.defaultAction(state), compressed.defaultAction(state));
+            for (int t = 0; t < dense.getTerminalCount(); t++) {
+                String cell = dense.getStateName(state) + ", " + dense.getTerminal(t);
+                assertEquals(cell, dense.action(state, t), compressed.action(state, t));
+                assertEquals(cell, dense.conflictCount(state, t), compressed.conflictCount(state, t));
+                for (int i = 0; i < dense.conflictCount(state, t); i++) {
+                    assertEquals(cell, dense.conflictAction(state, t, i), compressed.conflictAction(state, t, i));
+                }
+            }
+            for (int nt = 0; nt < dense.getNonTerminalCount(); nt++) {
+                String cell = dense.getStateName(state) + ", " + dense.getNonTerminal(nt);
+                assertEquals(cell, dense.goTo(state, nt), compressed.goTo(state, nt));
+                assertEquals(cell, dense.unitChainCount(state, nt), compressed.unitChainCount(state, nt));
+                for (int i = 0; i < dense.unitChainCount(state, nt); i++) {
+                    assertEquals(cell, dense.unitChainReduce(state, nt, i), compressed.unitChainReduce(state, nt, i));
+                }
+            }
+        }
+    }
+
+    private static String cell(Map<String, Map<String, String>> table, String state, String symbol) {
+        Map<String, String> row = table.get(state);
+        return row != null ? row.get(symbol) : null;
+    }
+
+    private static String describe(CompiledParseTable compiled, int action) {
+        switch (CompiledParseTable.kind(action)) {
+            case CompiledParseTable.ACCEPT:
+                return "ACCEPT";
+            case CompiledParseTable.SHIFT:
+                return "S" + compiled.getStateName(CompiledParseTable.target(action));
+            case CompiledParseTable.REDUCE:
+                return compiled.getReduceName(CompiledParseTable.target(action));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Driver LR directo sobre los mapas de {@link ParsingTable}. Un GOTO
+     * faltante rechaza la línea, como en {@link Parser}.
+     */
+    private static boolean reference(ParsingTable table, List<String> tokens) {
+        List<String> input = new ArrayList<>(tokens);
+        if (input.isEmpty() || !input.get(input.size() - 1).equals("$")) {
+            input.add("$");
+        }
+        Deque<String> states = new ArrayDeque<>();
+        states.push(table.getAssociatedAfd().getInitialState());
+        int position = 0;
+        while (true) {
+            Map<String, String> row = table.getActionTable().get(states.peek());
+            String action = row != null ? row.get(input.get(position)) : null;
+            if (action == null) {
+                return false;
+            }
+            if (action.equals("ACCEPT")) {
+                return true;
+            }
+            if (action.startsWith("S")) {
+                states.push(action.substring(1));
+                position++;
+                continue;
+            }
+            ReduceEntry reduce = table.getReduceDictionary().get(action);
+            String body = reduce.getProduction_value().trim();
+            int length = body.isEmpty() ? 0 : body.split("\\s+").length;
+            for (int i = 0; i < length; i++) {
+                states.pop();
+            }
+            Map<String, String> gotos = table.getGoToTable().get(states.peek());
+            String target = gotos != null ? gotos.get(reduce.getProduction_head()) : null;
+            if (target == null) {
+                return false;
+            }
+            states.push(target);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import modules.parser.Parser;
+
+public class ParseTableFileTest {
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("parse-table", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void writeThenMapRoundTrip() throws Exception {
+        CompiledParseTable table = TestTables.tables(TestTables.ejemploGrammar(), true, true).freeze();
+        ParseTableFile.write(table, file);
+        assertTrue(ParseTableFile.isTableFile(file));
+
+        CompiledParseTable mapped = ParseTableFile.map(file);
+        assertTrue(mapped.isMapped());
+        assertEquals(table.getStateCount(), mapped.getStateCount());
+        assertEquals(table.getTerminalCount(), mapped.getTerminalCount());
+        assertEquals(table.getNonTerminalCount(), mapped.getNonTerminalCount());
+        assertEquals(table.getInitialState(), mapped.getInitialState());
+        assertEquals(table.getReduceCount(), mapped.getReduceCount());
+        assertEquals(table.getProductionCount(), mapped.getProductionCount());
+
+        for (int state = 0; state < table.getStateCount(); state++) {
+            assertEquals(table.getStateName(state), mapped.getStateName(state));
+            assertEquals(table.defaultAction(state), mapped.defaultAction(state));
+            for (int t = 0; t < table.getTerminalCount(); t++) {
+                assertEquals(table.action(state, t), mapped.action(state, t));
+                assertEquals(table.conflictCount(state, t), mapped.conflictCount(state, t));
+            }
+            for (int nt = 0; nt < table.getNonTerminalCount(); nt++) {
+                assertEquals(table.goTo(state, nt), mapped.goTo(state, nt));
+                assertEquals(table.unitChainCount(state, nt), mapped.unitChainCount(state, nt));
+                for (int i = 0; i < table.unitChainCount(state, nt); i++) {
+                    assertEquals(table.unitChainReduce(state, nt, i), mapped.unitChainReduce(state, nt, i));
+                }
+            }
+        }
+        for (int t = 0; t < table.getTerminalCount(); t++) {
+            assertEquals(table.getTerminal(t), mapped.getTerminal(t));
+            for (int nt = 0; nt < table.getNonTerminalCount(); nt++) {
+                assertEquals(table.isFollow(nt, t), mapped.isFollow(nt, t));
+            }
+        }
+        for (int nt = 0; nt < table.getNonTerminalCount(); nt++) {
+            assertEquals(table.getNonTerminal(nt), mapped.getNonTerminal(nt));
+        }
+        for (int r = 0; r < table.getReduceCount(); r++) {
+            assertEquals(table.getReduceLength(r), mapped.getReduceLength(r));
+            assertEquals(table.getReduceLhs(r), mapped.getReduceLhs(r));
+            assertEquals(table.getReduceProduction(r), mapped.getReduceProduction(r));
+            assertEquals(table.getReduceEntry(r).getProduction_head(), mapped.getReduceEntry(r).getProduction_head());
+        }
+
+        Parser expected = new Parser(table);
+        Parser actual = new Parser(mapped);
+        expected.setReportErrors(false);
+        actual.setReportErrors(false);
+        for (List<String> line : TestTables.tokenLines()) {
+            assertEquals(line.toString(), expected.parse(line), actual.parse(line));
+            assertEquals(line.toString(), expected.getFirstErrorPosition(), actual.getFirstErrorPosition());
+        }
+    }
+
+    /**
+     * El archivo no trae los textos de depuración: las reducciones se nombran
+     * por id denso y el lado derecho se rearma desde los ids de símbolo.
+     */
+    @Test
+    public void mappedTableRebuildsProductionText() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        ParseTableFile.write(table, file);
+        CompiledParseTable mapped = ParseTableFile.map(file);
+
+        for (int r = 0; r < table.getReduceCount(); r++) {
+            assertEquals("r" + r, mapped.getReduceName(r));
+            assertEquals(table.getReduceEntry(r).getProduction_value().trim(),
+                    mapped.getReduceEntry(r).getProduction_value().trim());
+        }
+    }
+
+    @Test
+    public void debugArtifactListsEveryReduction() throws Exception {
+        ParsingTable table = TestTables.ejemplo();
+        CompiledParseTable compiled = table.freeze();
+        ParseTableFile.writeDebug(table, file);
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+
+        assertTrue(lines.contains("[GRAMATICA]"));
+        assertTrue(lines.contains("[ESTADOS]"));
+        int reduces = lines.indexOf("[REDUCCIONES]");
+        assertTrue(reduces >= 0);
+        for (int r = 0; r < compiled.getReduceCount(); r++) {
+            String line = lines.get(reduces + 1 + r);
+            assertTrue(line, line.startsWith("r" + r + " "));
+            assertTrue(line, line.contains(" " + compiled.getReduceName(r) + " "));
+        }
+        assertFalse(ParseTableFile.isTableFile(file));
+    }
+
+    @Test
+    public void rejectsOtherFormatVersion() throws Exception {
+        ParseTableFile.write(TestTables.ejemplo().freeze(), file);
+        corrupt(Files.readAllBytes(file), 4, ParseTableFile.VERSION - 1);
+        assertTrue(ParseTableFile.isTableFile(file));
+        assertMapFails();
+    }
+
+    /**
+     * El PARSE_TABLE.bin del repositorio es el que genera Main a partir de
+     * ejemplo.yalp (Main numera los terminales en otro orden, así que se
+     * compara por lo que acepta).
+     */
+    @Test
+    public void bundledTableMatchesTheGrammar() throws Exception {
+        CompiledParseTable bundled = ParseTableFile.map(
+                Path.of(ParseTableFileTest.class.getClassLoader().getResource("PARSE_TABLE.bin").toURI()));
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        assertEquals(table.getStateCount(), bundled.getStateCount());
+        assertEquals(table.getTerminalCount(), bundled.getTerminalCount());
+        assertEquals(table.getReduceCount(), bundled.getReduceCount());
+
+        Parser expected = new Parser(table);
+        Parser actual = new Parser(bundled);
+        expected.setReportErrors(false);
+        actual.setReportErrors(false);
+        for (List<String> line : TestTables.tokenLines()) {
+            assertEquals(line.toString(), expected.parse(line), actual.parse(line));
+            assertEquals(line.toString(), expected.getFirstErrorPosition(), actual.getFirstErrorPosition());
+        }
+    }
+
+    @Test
+    public void rejectsFileWithoutMagic() throws IOException {
+        Files.write(file, new byte[256]);
+        assertFalse(ParseTableFile.isTableFile(file));
+        assertMapFails();
+    }
+
+    @Test
+    public void rejectsCorruptHeader() throws Exception {
+        ParseTableFile.write(TestTables.ejemplo().freeze(), file);
+        byte[] original = Files.readAllBytes(file);
+
+        // Cantidad de estados que desborda estados * terminales en int
+        corrupt(original, 8, 0x10000);
+        assertMapFails();
+        corrupt(original, 8, -1);
+        assertMapFails();
+    }
+
+    @Test
+    public void rejectsNameOffsetsOutsideSection() throws Exception {
+        ParseTableFile.write(TestTables.ejemplo().freeze(), file);
+        byte[] original = Files.readAllBytes(file);
+        // La primera entrada de la tabla de secciones (después de los 9 enteros fijos) es NAMES
+        int names = ByteBuffer.wrap(original).order(ByteOrder.LITTLE_ENDIAN).getInt(4 * 9);
+
+        corrupt(original, names + 8, Integer.MAX_VALUE); // Fin del primer nombre
+        assertMapFails();
+        corrupt(original, names + 4, -5); // Inicio del primer nombre
+        assertMapFails();
+        corrupt(original, names, 0x40000000); // Cantidad de nombres
+        assertMapFails();
+    }
+
+    /**
+     * Conflictos y cadenas unitarias (CSR) con cantidades, celdas o inicios
+     * fuera de rango, y acciones o reducciones que apuntan fuera de la tabla.
+     */
+    @Test
+    public void rejectsCorruptSparseSections() throws Exception {
+        CompiledParseTable table = TestTables.tables(TestTables.ejemploGrammar(), true, true).freeze();
+        assertTrue(table.hasConflicts());
+        assertTrue(table.hasUnitChains());
+        ParseTableFile.write(table, file);
+        byte[] original = Files.readAllBytes(file);
+        ParseTableFile.map(file);
+
+        for (int section : new int[] { 5, 6 }) { // CONFLICTS y UNIT_CHAINS
+            int start = sectionOffset(original, section);
+            int count = ByteBuffer.wrap(original).order(ByteOrder.LITTLE_ENDIAN).getInt(start);
+            assertTrue(count > 0);
+            corrupt(original, start, count + 1); // Cantidad que no coincide con la sección
+            assertMapFails();
+            corrupt(original, start, -1);
+            assertMapFails();
+            corrupt(original, start + 4, -1); // Primera celda
+            assertMapFails();
+            corrupt(original, start + 4, Integer.MAX_VALUE);
+            assertMapFails();
+            corrupt(original, start + 4 * (1 + count), 1); // Primer inicio
+            assertMapFails();
+            corrupt(original, start + 4 * (1 + 2 * count), 1 << 20); // Último inicio
+            assertMapFails();
+            corrupt(original, start + 4 * (2 + 2 * count), 0x7FFFFFF2); // Primer valor
+            assertMapFails();
+        }
+    }
+
+    @Test
+    public void rejectsTargetsOutsideTheTable() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        ParseTableFile.write(table, file);
+        byte[] original = Files.readAllBytes(file);
+        int shiftOutside = (table.getStateCount() << 2) | CompiledParseTable.SHIFT;
+        int reduceOutside = (table.getReduceCount() << 2) | CompiledParseTable.REDUCE;
+
+        corrupt(original, sectionOffset(original, 1), shiftOutside); // ACTION
+        assertMapFails();
+        corrupt(original, sectionOffset(original, 1), reduceOutside);
+        assertMapFails();
+        corrupt(original, sectionOffset(original, 2), table.getStateCount()); // GOTO
+        assertMapFails();
+        corrupt(original, sectionOffset(original, 2), -2);
+        assertMapFails();
+        corrupt(original, sectionOffset(original, 3), reduceOutside); // DEFAULTS
+        assertMapFails();
+        corrupt(original, sectionOffset(original, 3), CompiledParseTable.SHIFT); // Solo reducciones
+        assertMapFails();
+
+        int reduces = sectionOffset(original, 4); // REDUCES: largos, cabezas y producciones
+        corrupt(original, reduces, -1);
+        assertMapFails();
+        corrupt(original, reduces + 8 * table.getReduceCount(), table.getProductionCount());
+        assertMapFails();
+        corrupt(original, reduces + 8 * table.getReduceCount(), -1);
+        assertMapFails();
+        corrupt(original, 24, table.getStateCount()); // Estado inicial
+        assertMapFails();
+    }
+
+    private static int sectionOffset(byte[] bytes, int section) {
+        // Después de los 9 enteros fijos, (desplazamiento, largo) por sección
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getInt(4 * (9 + 2 * section));
+    }
+
+    private void corrupt(byte[] original, int offset, int value) throws IOException {
+        byte[] bytes = original.clone();
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+        Files.write(file, bytes);
+    }
+
+    private void assertMapFails() {
+        try {
+            ParseTableFile.map(file);
+            fail("Se esperaba IOException");
+        } catch (IOException expected) {
+            // Archivo inválido detectado
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import modules.parser.Parser;
+import modules.tables.defaultReductions;
+import modules.tables.unitRules;
+
+public class ParsingTableTest {
+
+    @Test
+    public void freezeReturnsOneSharedSnapshot() throws Exception {
+        ParsingTable table = TestTables.tables(TestTables.ejemploGrammar());
+        assertFalse(table.isFrozen());
+        CompiledParseTable compiled = table.freeze();
+        assertTrue(table.isFrozen());
+        assertSame(compiled, table.freeze());
+        assertSame(compiled, new Parser(table).getCompiledTable());
+    }
+
+    @Test
+    public void frozenTableRejectsChanges() throws Exception {
+        ParsingTable table = TestTables.tables(TestTables.ejemploGrammar());
+        String state = table.getAssociatedAfd().getInitialState();
+        table.freeze();
+
+        try {
+            table.agregarAction(state, "WORD", "S1");
+            fail("Se esperaba IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // La tabla congelada no admite cambios
+        }
+        try {
+            table.getActionTable().get(state).put("WORD", "S1");
+            fail("Se esperaba UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // Las filas quedan de solo lectura
+        }
+        try {
+            table.getReduceDictionary().clear();
+            fail("Se esperaba UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // El diccionario de reducciones también
+        }
+        try {
+            table.getFollowTable().values().iterator().next().add("WORD");
+            fail("Se esperaba UnsupportedOperationException");
+        } catch (UnsupportedOperationException expected) {
+            // Y cada conjunto FOLLOW
+        }
+    }
+
+    /**
+     * Crear un parser congela la tabla, así que las pasadas de optimización
+     * ya no se pueden aplicar después.
+     */
+    @Test
+    public void parserFreezesTheTableBeforeOptimizations() throws Exception {
+        ParsingTable table = TestTables.tables(TestTables.ejemploGrammar());
+        new Parser(table);
+        assertTrue(table.isFrozen());
+        try {
+            unitRules.eliminar(table);
+            fail("Se esperaba IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // Las cadenas unitarias se calculan antes
+        }
+        try {
+            defaultReductions.marcar(table);
+            fail("Se esperaba IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // Las reducciones por defecto también
+        }
+    }
+
+    /**
+     * Varios parsers en distintos hilos leen la misma tabla congelada sin
+     * interferir entre sí.
+     */
+    @Test
+    public void parsersOnManyThreadsShareTheFrozenTable() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        List<List<String>> lines = TestTables.tokenLines();
+        Parser sequential = new Parser(table);
+        sequential.setDebug(false);
+        List<Boolean> expected = sequential.parseFile(lines).asList();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Boolean>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    Parser parser = new Parser(table);
+                    parser.setDebug(false);
+                    return parser.parseFile(lines).asList();
+                }));
+            }
+            for (Future<List<Boolean>> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package models;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class SymbolTableTest {
+
+    @Test
+    public void idsAreDenseAndOrdinalsPerClass() {
+        SymbolTable symbols = new SymbolTable(List.of("PLUS", "DIGIT"), List.of("expression", "operand"));
+        assertEquals(4, symbols.size());
+        assertEquals(2, symbols.getTerminalCount());
+        assertEquals(2, symbols.getNonTerminalCount());
+
+        int operand = symbols.id("operand");
+        assertEquals(3, operand);
+        assertEquals("operand", symbols.name(operand));
+        assertTrue(symbols.isNonTerminal(operand));
+        assertFalse(symbols.isTerminal(operand));
+        assertEquals(1, symbols.ordinal(operand));
+        assertEquals("operand", symbols.nonTerminal(1));
+
+        assertTrue(symbols.isTerminal("DIGIT"));
+        assertEquals(1, symbols.ordinal(symbols.id("DIGIT")));
+        assertEquals("DIGIT", symbols.terminal(1));
+    }
+
+    @Test
+    public void internKeepsTheFirstRegistration() {
+        SymbolTable symbols = new SymbolTable();
+        int id = symbols.intern("WORD", true);
+        assertEquals(id, symbols.intern("WORD", false));
+        assertTrue(symbols.isTerminal("WORD"));
+        assertEquals(1, symbols.size());
+        assertEquals(0, symbols.getNonTerminalCount());
+    }
+
+    @Test
+    public void unknownSymbolsHaveNoId() {
+        SymbolTable symbols = new SymbolTable(List.of("PLUS"), List.of("expression"));
+        assertEquals(-1, symbols.id("NO_EXISTE"));
+        assertEquals(-1, symbols.id(null));
+        assertFalse(symbols.isTerminal("NO_EXISTE"));
+        assertFalse(symbols.isNonTerminal("NO_EXISTE"));
+        assertFalse(symbols.isNonTerminal(symbols.size()));
+    }
+
+    @Test
+    public void growsPastItsInitialCapacity() {
+        SymbolTable symbols = new SymbolTable();
+        for (int i = 0; i < 100; i++) {
+            symbols.intern("S" + i, i % 3 == 0);
+        }
+        assertEquals(100, symbols.size());
+        assertEquals(34, symbols.getTerminalCount());
+        assertEquals(99, symbols.id("S99"));
+        assertEquals(33, symbols.ordinal(99));
+        assertEquals(65, symbols.ordinal(98));
+        assertEquals("S98", symbols.nonTerminal(65));
+    }
+
+    /**
+     * Las columnas de la tabla compilada siguen los ordinales de la tabla de
+     * símbolos de la gramática.
+     */
+    @Test
+    public void compiledTableUsesTheGrammarOrdinals() throws Exception {
+        ParsingTable table = TestTables.ejemplo();
+        SymbolTable symbols = table.getOriginalGrammar().getSymbolTable();
+        CompiledParseTable compiled = table.freeze();
+        for (int nt = 0; nt < symbols.getNonTerminalCount(); nt++) {
+            assertEquals(nt, compiled.nonTerminalId(symbols.nonTerminal(nt)));
+        }
+        for (int t = 0; t < symbols.getTerminalCount(); t++) {
+            assertEquals(t, compiled.terminalId(symbols.terminal(t)));
+        }
+    }
+}
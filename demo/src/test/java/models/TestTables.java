@@ -0,0 +1,106 @@
+package models;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import modules.automaton.automatom;
+import modules.automaton.extension;
+import modules.input.yalpInterpreter;
+import modules.tables.generateParseTable;
+
+/**
+ * Tablas y entradas compartidas por los tests: la gramática de ejemplo.yalp
+ * (como la arma Main) y las líneas de TOKENS_LIST.dat.
+ */
+public final class TestTables {
+
+    private static ParsingTable ejemplo;
+
+    private TestTables() {
+    }
+
+    public static Grammar ejemploGrammar() throws IOException {
+        yalpInterpreter reader = new yalpInterpreter();
+        reader.readFile("ejemplo.yalp");
+        Set<String> terminales = new TreeSet<>(reader.getSavedTokens());
+        terminales.removeAll(reader.getIgnoredTokens());
+        List<String> noTerminales = new ArrayList<>(reader.getSavedProductions().keySet());
+        return new Grammar(reader.getSavedProductions(), new ArrayList<>(terminales), noTerminales,
+                noTerminales.get(0));
+    }
+
+    /**
+     * Tabla LR de la gramática (la misma que genera Main).
+     */
+    public static synchronized ParsingTable ejemplo() throws IOException {
+        if (ejemplo == null) {
+            ejemplo = tables(ejemploGrammar());
+        }
+        return ejemplo;
+    }
+
+    /**
+     * Genera las tablas sin el volcado que imprime el generador en stdout.
+     */
+    public static ParsingTable tables(Grammar grammar) {
+        return tables(grammar, false);
+    }
+
+    public static ParsingTable tables(Grammar grammar, boolean eliminarUnitarias) {
+        return tables(grammar, eliminarUnitarias, false);
+    }
+
+    /**
+     * @param eliminarUnitarias     Omitir las reducciones por reglas unitarias
+     * @param reduccionesPorDefecto Reducir sin lookahead en los estados de una
+     *                              sola reducción
+     */
+    public static ParsingTable tables(Grammar grammar, boolean eliminarUnitarias, boolean reduccionesPorDefecto) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            GrammarExtended extendida = extension.extenderGramatica(grammar);
+            AFD afd = automatom.generarAFD(extendida, automatom.crearEstadoInicial(extendida));
+            return generateParseTable.generateTables(afd, grammar, eliminarUnitarias, reduccionesPorDefecto);
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    /**
+     * Tabla de ejemplo.yalp sin el GOTO del estado inicial para
+     * {@code nonTerminal}: una tabla inconsistente en la que el parser llega a
+     * una reducción sin transición.
+     */
+    public static ParsingTable withoutInitialGoto(String nonTerminal) throws IOException {
+        ParsingTable table = tables(ejemploGrammar());
+        String initial = table.getAssociatedAfd().getInitialState();
+        if (table.getGoToTable().get(initial).remove(nonTerminal) == null) {
+            throw new IllegalArgumentException("El estado inicial no tiene GOTO para " + nonTerminal);
+        }
+        return table;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<List<String>> tokenLines() throws IOException, ClassNotFoundException {
+        try (InputStream file = TestTables.class.getClassLoader().getResourceAsStream("TOKENS_LIST.dat");
+                ObjectInputStream in = new ObjectInputStream(file)) {
+            return (List<List<String>>) in.readObject();
+        }
+    }
+
+    /**
+     * Línea de tokens separados por espacios, p. ej. {@code "WORD EQUALS DIGIT EOF"}.
+     */
+    public static List<String> line(String tokens) {
+        return new ArrayList<>(Arrays.asList(tokens.split(" ")));
+    }
+}
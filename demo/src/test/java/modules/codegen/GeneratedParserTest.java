@@ -0,0 +1,122 @@
+package modules.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.TestTables;
+import modules.parser.Parser;
+
+/**
+ * Los parsers generados (con tablas embebidas y de ascenso recursivo) aceptan
+ * las mismas líneas que {@link Parser} y fallan en el mismo token, también
+ * ante un GOTO faltante (todos rechazan la línea en el token actual). Las
+ * clases se compilan con el compilador del JDK que corre los tests.
+ */
+public class GeneratedParserTest {
+
+    @Test
+    public void tableParserAgreesWithParser() throws Exception {
+        for (CompiledParseTable table : tables()) {
+            assertSameResults(table, compile(TableParserGenerator.generate(table, "TableParser"), "TableParser"));
+        }
+    }
+
+    @Test
+    public void recursiveAscentParserAgreesWithParser() throws Exception {
+        for (CompiledParseTable table : tables()) {
+            assertSameResults(table,
+                    compile(RecursiveAscentGenerator.generate(table, "RecursiveAscent"), "RecursiveAscent"));
+        }
+    }
+
+    /**
+     * El stack LR del parser de ascenso recursivo es la pila de Java: 500
+     * niveles de paréntesis entran con el tamaño de pila por defecto.
+     */
+    @Test
+    public void recursiveAscentParsesDeepNesting() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        Object generated = compile(RecursiveAscentGenerator.generate(table, "RecursiveAscent"), "RecursiveAscent");
+        List<String> line = TestTables.line("WORD EQUALS");
+        for (int i = 0; i < 500; i++) {
+            line.add("LPAREN");
+        }
+        line.add("DIGIT");
+        for (int i = 0; i < 500; i++) {
+            line.add("RPAREN");
+        }
+        line.add("EOF");
+        assertTrue(parse(generated, line));
+        line.remove(line.size() - 2);
+        assertFalse(parse(generated, line));
+        assertEquals(line.size() - 1, errorPosition(generated));
+    }
+
+    // La tabla de Main, la optimizada (reducciones por defecto y cadenas
+    // unitarias) y una a la que le falta un GOTO
+    private static List<CompiledParseTable> tables() throws IOException {
+        return List.of(TestTables.ejemplo().freeze(),
+                TestTables.tables(TestTables.ejemploGrammar(), true, true).freeze(),
+                TestTables.withoutInitialGoto("statements").freeze());
+    }
+
+    static List<List<String>> lines() throws IOException, ClassNotFoundException {
+        List<List<String>> lines = new ArrayList<>(TestTables.tokenLines());
+        lines.add(TestTables.line("WORD EQUALS DIGIT PLUS LPAREN NUMBER TIMES FLOAT RPAREN EOF"));
+        lines.add(TestTables.line("IF LPAREN WORD LESS DIGIT RPAREN LHOOK COMMENT RHOOK ELSE LHOOK COMMENT RHOOK"));
+        lines.add(TestTables.line("WORD EQUALS EQUALS EOF"));
+        lines.add(TestTables.line("WORD EQUALS LPAREN DIGIT EOF"));
+        lines.add(TestTables.line("RPAREN"));
+        lines.add(TestTables.line("COMMENT COMMENT"));
+        lines.add(new ArrayList<>());
+        return lines;
+    }
+
+    static void assertSameResults(CompiledParseTable table, Object generated) throws Exception {
+        Parser parser = new Parser(table);
+        parser.setReportErrors(false);
+        for (List<String> line : lines()) {
+            assertEquals(line.toString(), parser.parse(line), parse(generated, line));
+            assertEquals(line.toString(), parser.getFirstErrorPosition(), errorPosition(generated));
+        }
+    }
+
+    static boolean parse(Object generated, List<String> line) throws ReflectiveOperationException {
+        return (Boolean) generated.getClass().getMethod("parse", List.class).invoke(generated, line);
+    }
+
+    static int errorPosition(Object generated) throws ReflectiveOperationException {
+        return (Integer) generated.getClass().getMethod("getErrorPosition").invoke(generated);
+    }
+
+    static Object compile(String source, String className) throws IOException, ReflectiveOperationException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Se necesita un JDK para compilar el parser generado");
+        }
+        Path dir = Files.createTempDirectory("generated-parser");
+        Path file = Files.writeString(dir.resolve(className + ".java"), source);
+        if (compiler.run(null, null, null, "-d", dir.toString(), file.toString()) != 0) {
+            throw new IllegalStateException("No compiló " + file);
+        }
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() },
+                GeneratedParserTest.class.getClassLoader())) {
+            return loader.loadClass(className).getDeclaredConstructor().newInstance();
+        }
+    }
+}
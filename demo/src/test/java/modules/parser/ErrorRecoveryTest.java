@@ -0,0 +1,134 @@
+package modules.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import models.TestTables;
+
+/**
+ * Recuperación en modo pánico sobre la tabla de ejemplo.yalp. Las acciones
+ * aplicadas se leen del reporte que el ErrorHandler escribe en stderr.
+ */
+public class ErrorRecoveryTest {
+
+    private static final Pattern RECOVERY = Pattern.compile(
+            "Recuperación aplicada en la posición (\\d+): (\\w+) \\((.*)\\)");
+
+    private Parser parser;
+    private boolean accepted;
+    private List<String> details;
+
+    @Before
+    public void setUp() throws Exception {
+        parser = new Parser(TestTables.ejemplo().freeze());
+        parser.setErrorRecovery(true);
+    }
+
+    @Test
+    public void skipsAStrayToken() throws Exception {
+        assertEquals(Arrays.asList("SKIP_TOKEN@2"), parse("WORD EQUALS EQUALS DIGIT EOF"));
+        assertFalse(accepted);
+    }
+
+    @Test
+    public void reportsEveryErrorOfTheLine() throws Exception {
+        parse("WORD EQUALS EQUALS DIGIT EOF WORD EQUALS EQUALS DIGIT EOF");
+        assertArrayEquals(new int[] { 2, 7 }, parser.getErrorPositions());
+        assertEquals(2, parser.getErrorCount());
+    }
+
+    /**
+     * Sin un siguiente token válido se baja por el stack hasta un estado con
+     * GOTO y se sigue desde un token del FOLLOW del no terminal.
+     */
+    @Test
+    public void popsTheStackToSynchronize() throws Exception {
+        assertEquals(Arrays.asList("POP_STACK@2", "SYNC_FORWARD@2"), parse("WORD EQUALS EOF"));
+        assertTrue(details.get(1), details.get(1).endsWith("'EOF' tras assignment"));
+        assertArrayEquals(new int[] { 2 }, parser.getErrorPositions());
+    }
+
+    /**
+     * Un segundo error en el token donde se sincronizó obliga a descartarlo,
+     * así que la línea siempre avanza.
+     */
+    @Test
+    public void stalledRecoveryDiscardsTheToken() throws Exception {
+        assertEquals(Arrays.asList("POP_STACK@1", "SYNC_FORWARD@1", "POP_STACK@1", "SYNC_FORWARD@1"),
+                parse("COMMENT COLON ELSE EOF"));
+        assertTrue(details.get(1), details.get(1).startsWith("se descartaron 0 tokens"));
+        assertTrue(details.get(3), details.get(3).startsWith("se descartaron 2 tokens"));
+        assertArrayEquals(new int[] { 1, 1 }, parser.getErrorPositions());
+    }
+
+    /**
+     * Con RPAREN (del FOLLOW de arguments) el NUMBER se reduce hasta
+     * arguments, pero el estado inicial no tiene GOTO para arguments: la línea
+     * se corta sin intentar recuperarse.
+     */
+    @Test
+    public void missingGotoIsNotRecovered() throws Exception {
+        assertEquals(Arrays.asList(), parse("NUMBER RPAREN EOF"));
+        assertArrayEquals(new int[] { 1 }, parser.getErrorPositions());
+    }
+
+    @Test
+    public void abortsAfterMaxRecoveries() throws Exception {
+        parser.setErrorRecovery(true, 2);
+        List<String> actions = parse("DIGIT PLUS PLUS DIGIT PLUS PLUS DIGIT PLUS PLUS DIGIT PLUS PLUS DIGIT EOF");
+        assertEquals(Arrays.asList("SKIP_TOKEN@2", "SKIP_TOKEN@5", "ABORT@8"), actions);
+        assertArrayEquals(new int[] { 2, 5, 8 }, parser.getErrorPositions());
+    }
+
+    @Test
+    public void withoutRecoveryTheFirstErrorEndsTheLine() throws Exception {
+        parser.setErrorRecovery(false);
+        assertTrue(parse("WORD EQUALS EQUALS DIGIT EOF WORD EQUALS EQUALS DIGIT EOF").isEmpty());
+        assertArrayEquals(new int[] { 2 }, parser.getErrorPositions());
+    }
+
+    @Test
+    public void acceptedLineHasNoErrors() throws Exception {
+        assertTrue(parse("DIGIT EOF").isEmpty());
+        assertTrue(accepted);
+        assertEquals(0, parser.getErrorPositions().length);
+    }
+
+    /**
+     * Parsea la línea capturando stderr.
+     *
+     * @return Acciones de recuperación aplicadas, como ACCIÓN@posición
+     */
+    private List<String> parse(String line) throws UnsupportedEncodingException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream err = System.err;
+        System.setErr(new PrintStream(buffer, true, "UTF-8"));
+        try {
+            accepted = parser.parse(TestTables.line(line));
+        } finally {
+            System.setErr(err);
+        }
+        List<String> actions = new ArrayList<>();
+        details = new ArrayList<>();
+        Matcher matcher = RECOVERY.matcher(buffer.toString("UTF-8"));
+        while (matcher.find()) {
+            actions.add(matcher.group(2) + "@" + matcher.group(1));
+            details.add(matcher.group(3));
+        }
+        return actions;
+    }
+}
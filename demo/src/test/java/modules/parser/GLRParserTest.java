@@ -0,0 +1,166 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.Grammar;
+import models.TestTables;
+
+public class GLRParserTest {
+
+    private GLRParser parser;
+
+    /**
+     * E -> E + E | E * E | n: sin precedencia, cada operador extra multiplica
+     * las derivaciones (números de Catalan).
+     */
+    @Before
+    public void setUp() {
+        Grammar grammar = new Grammar("E");
+        grammar.agregarNoTerminal("E");
+        grammar.agregarTerminal("+");
+        grammar.agregarTerminal("*");
+        grammar.agregarTerminal("n");
+        grammar.agregarProduccion("E", "E + E");
+        grammar.agregarProduccion("E", "E * E");
+        grammar.agregarProduccion("E", "n");
+        CompiledParseTable table = TestTables.tables(grammar).freeze();
+        assertTrue(table.hasConflicts());
+        parser = new GLRParser(table);
+    }
+
+    @Test
+    public void unambiguousInputHasOneDerivation() {
+        assertTrue(parser.parse(tokens("n + n")));
+        assertEquals(1, derivations(parser.getForest(), parser.getRoot()));
+        assertFalse(parser.getForest().isAmbiguous(parser.getRoot()));
+    }
+
+    @Test
+    public void forestCountsEveryDerivation() {
+        assertTrue(parser.parse(tokens("n + n * n")));
+        assertEquals(2, derivations(parser.getForest(), parser.getRoot()));
+        assertTrue(parser.getForest().isAmbiguous(parser.getRoot()));
+
+        assertTrue(parser.parse(tokens("n + n * n + n")));
+        assertEquals(5, derivations(parser.getForest(), parser.getRoot()));
+
+        assertTrue(parser.parse(tokens("n * n + n * n + n")));
+        assertEquals(14, derivations(parser.getForest(), parser.getRoot()));
+    }
+
+    @Test
+    public void rejectsInvalidInput() {
+        assertFalse(parser.parse(tokens("n + + n")));
+        assertFalse(parser.isAccepted());
+        assertEquals(2, parser.getErrorPosition());
+        assertEquals("+", parser.getErrorToken());
+
+        // Falta el último operando: el error es el centinela
+        assertFalse(parser.parse(tokens("n *")));
+        assertEquals(2, parser.getErrorPosition());
+
+        // Token que no pertenece a la gramática
+        assertFalse(parser.parse(tokens("n - n")));
+        assertEquals(1, parser.getErrorPosition());
+    }
+
+    @Test
+    public void stepCountersDescribeTheLastParse() {
+        parser.parse(tokens("n + n * n + n"));
+        assertTrue(parser.getGeneralizedSteps() > 0);
+
+        parser.parse(tokens("n"));
+        assertEquals(0, parser.getGeneralizedSteps());
+        long steps = parser.getDeterministicSteps();
+        assertTrue(steps > 0);
+        parser.parse(tokens("n"));
+        assertEquals(steps, parser.getDeterministicSteps());
+    }
+
+    @Test
+    public void agreesWithLrParserOnEjemplo() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        GLRParser glr = new GLRParser(table);
+        Parser lr = new Parser(table);
+        List<List<String>> lines = TestTables.tokenLines();
+        ParserTest.assertSameResults(lr.parseFile(lines), glr.parseFile(lines));
+        assertFalse(glr.parse(TestTables.line("WORD EQUALS EQUALS EOF")));
+        assertEquals(2, glr.getErrorPosition());
+    }
+
+    /**
+     * S -> A | B, A -> x, B -> x: los dos items completos del estado de x
+     * reducen cada uno a su cabeza, así que "x" tiene dos derivaciones.
+     */
+    @Test
+    public void sameBodyUnderTwoHeadsReducesToEach() {
+        Grammar grammar = new Grammar("S");
+        grammar.agregarNoTerminal("S");
+        grammar.agregarNoTerminal("A");
+        grammar.agregarNoTerminal("B");
+        grammar.agregarTerminal("x");
+        grammar.agregarProduccion("S", "A");
+        grammar.agregarProduccion("S", "B");
+        grammar.agregarProduccion("A", "x");
+        grammar.agregarProduccion("B", "x");
+        CompiledParseTable table = TestTables.tables(grammar).freeze();
+
+        List<String> heads = new ArrayList<>();
+        for (int r = 0; r < table.getReduceCount(); r++) {
+            if (table.getReduceEntry(r).getProduction_value().trim().equals("x")) {
+                heads.add(table.getReduceEntry(r).getProduction_head());
+            }
+        }
+        heads.sort(null);
+        assertEquals(List.of("A", "B"), heads);
+
+        GLRParser glr = new GLRParser(table);
+        assertTrue(glr.parse(tokens("x")));
+        assertEquals(2, derivations(glr.getForest(), glr.getRoot()));
+        assertTrue(glr.getForest().isAmbiguous(glr.getRoot()));
+    }
+
+    private static List<String> tokens(String line) {
+        return Arrays.asList(line.split(" "));
+    }
+
+    /**
+     * Cantidad de árboles representados por el nodo: suma sobre sus
+     * alternativas del producto de los árboles de cada hijo.
+     */
+    private static long derivations(ParseForest forest, int node) {
+        return derivations(forest, node, new HashMap<>());
+    }
+
+    private static long derivations(ParseForest forest, int node, Map<Integer, Long> memo) {
+        if (forest.isLeaf(node)) {
+            return 1;
+        }
+        Long known = memo.get(node);
+        if (known != null) {
+            return known;
+        }
+        long total = 0;
+        for (int packed = forest.getFirstPacked(node); packed != ParseForest.NONE; packed = forest.getNextPacked(packed)) {
+            long product = 1;
+            for (int i = 0; i < forest.getPackedChildCount(packed); i++) {
+                product *= derivations(forest, forest.getPackedChild(packed, i), memo);
+            }
+            total += product;
+        }
+        memo.put(node, total);
+        return total;
+    }
+}
@@ -0,0 +1,206 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.example.models.Token;
+
+import models.TestTables;
+
+/**
+ * Las líneas fuente son directamente tipos de token separados por espacios;
+ * el lexer de prueba registra qué líneas lexeó.
+ */
+public class IncrementalParseSessionTest {
+
+    private final List<String> lexed = new ArrayList<>();
+    private IncrementalParseSession session;
+
+    @Before
+    public void setUp() throws Exception {
+        session = newSession();
+        session.load(List.of("WORD EQUALS DIGIT EOF", "", "COMMENT", "WORD EQUALS EQUALS EOF"));
+        lexed.clear();
+    }
+
+    private IncrementalParseSession newSession() throws Exception {
+        return new IncrementalParseSession(new Parser(TestTables.ejemplo().freeze()), lexer());
+    }
+
+    // La línea "BOOM" hace fallar al lexer
+    private IncrementalParseSession.LineLexer lexer() {
+        return line -> {
+            if (line.equals("BOOM")) {
+                throw new IllegalStateException("Línea no lexeable");
+            }
+            lexed.add(line);
+            List<Token> tokens = new ArrayList<>();
+            for (String type : line.split(" ")) {
+                if (!type.isEmpty()) {
+                    tokens.add(new Token(type, type));
+                    tokens.add(new Token(" ", "lexbuf"));
+                }
+            }
+            return tokens;
+        };
+    }
+
+    @Test
+    public void loadParsesEveryLineWithTokens() {
+        assertEquals(4, session.getLineCount());
+        assertEquals(3, session.getParsedLineCount());
+        assertEquals(2, session.getAcceptedLineCount());
+        assertEquals(Boolean.TRUE, session.getLineResult(0));
+        assertNull(session.getLineResult(1));
+        assertEquals(Boolean.FALSE, session.getLineResult(3));
+        assertEquals(List.of("WORD", "EQUALS", "DIGIT", "EOF"), session.getLineTokens(0));
+        ParseResults results = session.getResults();
+        assertEquals(List.of(true, true, false), results.asList());
+        assertEquals(2, results.getFirstErrorOffset(2));
+    }
+
+    @Test
+    public void editReparsesOnlyTheTouchedLine() {
+        assertEquals(1, session.setLine(3, "WORD EQUALS NUMBER EOF"));
+        assertEquals(List.of("WORD EQUALS NUMBER EOF"), lexed);
+        assertEquals(1, session.getLastEditParsed());
+        assertEquals(3, session.getAcceptedLineCount());
+        assertEquals(Boolean.TRUE, session.getLineResult(3));
+        assertEquals(Boolean.TRUE, session.getLineResult(0));
+    }
+
+    @Test
+    public void insertAndDeleteShiftTheFollowingLines() {
+        assertEquals(2, session.insertLines(1, List.of("RPAREN", "NUMBER PLUS NUMBER EOF")));
+        assertEquals(List.of("RPAREN", "NUMBER PLUS NUMBER EOF"), lexed);
+        assertEquals(6, session.getLineCount());
+        assertEquals(Boolean.FALSE, session.getLineResult(1));
+        assertEquals(Boolean.TRUE, session.getLineResult(4));
+        assertEquals(List.of("COMMENT"), session.getLineTokens(4));
+        assertEquals(List.of(true, false, true, true, false), session.getResults().asList());
+
+        lexed.clear();
+        assertEquals(0, session.deleteLines(0, 3));
+        assertTrue(lexed.isEmpty());
+        assertEquals(3, session.getLineCount());
+        assertEquals(2, session.getParsedLineCount());
+        assertEquals(1, session.getAcceptedLineCount());
+        assertEquals(List.of(List.of("COMMENT"), List.of("WORD", "EQUALS", "EQUALS", "EOF")), session.getTokenLines());
+    }
+
+    @Test
+    public void blankLinesAreNotParsed() {
+        assertEquals(0, session.setLine(0, "   "));
+        assertNull(session.getLineResult(0));
+        assertEquals(2, session.getParsedLineCount());
+        assertEquals(2, session.getResults().size());
+    }
+
+    /**
+     * Ediciones al azar en distintas zonas del archivo (el hueco del buffer va
+     * y viene, y crece) dejan la sesión igual que cargar el resultado de cero.
+     */
+    @Test
+    public void randomEditsMatchAFreshLoad() throws Exception {
+        String[] pool = { "WORD EQUALS DIGIT EOF", "", "COMMENT", "WORD EQUALS EQUALS EOF", "RPAREN",
+                "NUMBER PLUS NUMBER EOF" };
+        List<String> expected = new ArrayList<>(List.of("WORD EQUALS DIGIT EOF", "", "COMMENT",
+                "WORD EQUALS EQUALS EOF"));
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            int from = random.nextInt(expected.size() + 1);
+            int to = Math.min(expected.size(), from + random.nextInt(4));
+            List<String> added = new ArrayList<>();
+            for (int n = random.nextInt(i < 1000 ? 6 : 3); n > 0; n--) {
+                added.add(pool[random.nextInt(pool.length)]);
+            }
+            session.edit(from, to, added);
+            expected.subList(from, to).clear();
+            expected.addAll(from, added);
+        }
+
+        IncrementalParseSession fresh = newSession();
+        fresh.load(expected);
+        assertEquals(expected.size(), session.getLineCount());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), session.getLineSource(i));
+            assertEquals(fresh.getLineResult(i), session.getLineResult(i));
+        }
+        assertEquals(fresh.getParsedLineCount(), session.getParsedLineCount());
+        assertEquals(fresh.getAcceptedLineCount(), session.getAcceptedLineCount());
+        assertEquals(fresh.getTokenLines(), session.getTokenLines());
+        ParserTest.assertSameResults(fresh.getResults(), session.getResults());
+    }
+
+    @Test
+    public void failedLexLeavesTheSessionUnchanged() {
+        try {
+            session.edit(0, 2, List.of("COMMENT", "BOOM"));
+            fail("Se esperaba el error del lexer");
+        } catch (IllegalStateException expected) {
+            // El lexer falló antes de tocar el buffer
+        }
+        assertEquals(4, session.getLineCount());
+        assertEquals("WORD EQUALS DIGIT EOF", session.getLineSource(0));
+        assertEquals("", session.getLineSource(1));
+        assertEquals(3, session.getParsedLineCount());
+        assertEquals(2, session.getAcceptedLineCount());
+    }
+
+    /**
+     * Un lexer que lexea la edición de una vez recibe todas sus líneas en una
+     * sola llamada.
+     */
+    @Test
+    public void editsAreLexedInOneCall() throws Exception {
+        List<List<String>> calls = new ArrayList<>();
+        IncrementalParseSession.LineLexer perLine = lexer();
+        IncrementalParseSession batched = new IncrementalParseSession(new Parser(TestTables.ejemplo().freeze()),
+                new IncrementalParseSession.LineLexer() {
+                    @Override
+                    public List<Token> lex(String line) {
+                        throw new AssertionError("Se esperaba una sola llamada a lexLines");
+                    }
+
+                    @Override
+                    public List<List<Token>> lexLines(List<String> lines) {
+                        calls.add(lines);
+                        return perLine.lexLines(lines);
+                    }
+                });
+        batched.load(List.of("WORD EQUALS DIGIT EOF", "", "COMMENT"));
+        batched.edit(1, 3, List.of("RPAREN", "COMMENT"));
+        assertEquals(List.of(List.of("WORD EQUALS DIGIT EOF", "", "COMMENT"), List.of("RPAREN", "COMMENT")), calls);
+        assertEquals(List.of(true, false, true), batched.getResults().asList());
+    }
+
+    /**
+     * Los tokens de varias líneas lexeadas juntas se reparten en los EOL; si
+     * no hay uno por línea no se puede saber a cuál pertenece cada token.
+     */
+    @Test
+    public void splitLinesCutsAtEachEol() {
+        Token word = new Token("x", "WORD");
+        Token eol = new Token("\n", "EOL");
+        List<List<Token>> lines = IncrementalParseSession.splitLines(List.of(word, eol, eol, word, word, eol), 3);
+        assertEquals(List.of(List.of(word, eol), List.of(eol), List.of(word, word, eol)), lines);
+
+        assertNull(IncrementalParseSession.splitLines(List.of(word, eol, word), 2));
+        assertNull(IncrementalParseSession.splitLines(List.of(word, eol, eol), 1));
+        assertNull(IncrementalParseSession.splitLines(List.of(word, word, eol), 2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void editRangeMustBeInsideTheFile() {
+        session.edit(3, 5, List.of("COMMENT"));
+    }
+}
@@ -0,0 +1,57 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class IntStackTest {
+
+    @Test
+    public void growsPastItsInitialCapacity() {
+        IntStack stack = new IntStack(2);
+        for (int i = 0; i < 1000; i++) {
+            stack.push(i);
+        }
+        assertEquals(1000, stack.size());
+        assertEquals(999, stack.peek());
+        assertEquals(0, stack.get(0));
+        assertEquals(500, stack.get(500));
+        for (int i = 999; i >= 0; i--) {
+            assertEquals(i, stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void popCountStopsAtTheBottom() {
+        IntStack stack = new IntStack();
+        stack.push(1);
+        stack.push(2);
+        stack.push(3);
+        stack.pop(2);
+        assertEquals(1, stack.size());
+        assertEquals(1, stack.peek());
+        stack.pop(5);
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void clearKeepsTheStackUsable() {
+        IntStack stack = new IntStack(1);
+        stack.push(7);
+        stack.push(8);
+        stack.clear();
+        assertTrue(stack.isEmpty());
+        stack.push(9);
+        assertEquals(9, stack.peek());
+        assertEquals(1, stack.size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutsideTheStackFails() {
+        IntStack stack = new IntStack();
+        stack.push(1);
+        stack.get(1);
+    }
+}
@@ -0,0 +1,76 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = record(1, 100);
+        assertEquals(100, histogram.getTotalCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void largeValuesKeepTheRelativePrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long value = 1_000_003;
+        histogram.record(value);
+        histogram.record(2 * value);
+        long p50 = histogram.getValueAtPercentile(50);
+        assertTrue(p50 + " < " + value, p50 >= value);
+        assertTrue(p50 + " > " + value + " + 3%", p50 <= value * 1.032);
+        assertEquals(2 * value, histogram.getValueAtPercentile(99));
+        assertEquals(2 * value, histogram.getMax());
+    }
+
+    @Test
+    public void addMergesTheSamples() {
+        LatencyHistogram low = record(1, 50);
+        LatencyHistogram high = record(51, 100);
+        low.add(high);
+        LatencyHistogram all = record(1, 100);
+
+        assertEquals(all.getTotalCount(), low.getTotalCount());
+        assertEquals(all.getMin(), low.getMin());
+        assertEquals(all.getMax(), low.getMax());
+        assertEquals(all.getMean(), low.getMean(), 1e-9);
+        assertEquals(50, low.getValueAtPercentile(50));
+        assertEquals(99, low.getValueAtPercentile(99));
+        // El otro histograma no cambia
+        assertEquals(50, high.getTotalCount());
+        assertEquals(51, high.getMin());
+    }
+
+    @Test
+    public void emptyAndResetHistogramsReportZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMin());
+
+        histogram = record(1, 10);
+        LatencyHistogram copy = histogram.copy();
+        histogram.reset();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+        assertEquals(10, copy.getTotalCount());
+        assertEquals(10, copy.getMax());
+    }
+
+    private static LatencyHistogram record(long from, long to) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = from; v <= to; v++) {
+            histogram.record(v);
+        }
+        return histogram;
+    }
+}
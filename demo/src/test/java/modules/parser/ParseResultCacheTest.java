@@ -0,0 +1,116 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.TestTables;
+
+public class ParseResultCacheTest {
+
+    @Test
+    public void evictsTheLeastRecentlyUsedSequence() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        ParseResultCache cache = new ParseResultCache(2);
+        cache.store(table, new int[] { 1, 2 }, 2, true);
+        cache.store(table, new int[] { 3 }, 1, true);
+        assertEquals(Boolean.TRUE, cache.lookup(table, new int[] { 1, 2 }, 2));
+
+        cache.store(table, new int[] { 4 }, 1, false);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.lookup(table, new int[] { 3 }, 1));
+        assertEquals(Boolean.TRUE, cache.lookup(table, new int[] { 1, 2 }, 2));
+        assertEquals(Boolean.FALSE, cache.lookup(table, new int[] { 4 }, 1));
+    }
+
+    /**
+     * La clave es el prefijo pedido del arreglo y la identidad de la tabla.
+     */
+    @Test
+    public void keysCompareTheSequenceAndTheTable() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        CompiledParseTable other = TestTables.tables(TestTables.ejemploGrammar()).freeze();
+        ParseResultCache cache = new ParseResultCache(8);
+        int[] buffer = { 5, 6, 7, 99 };
+        cache.store(table, buffer, 3, true);
+        buffer[3] = 42; // Fuera del prefijo guardado
+
+        assertEquals(Boolean.TRUE, cache.lookup(table, buffer, 3));
+        assertEquals(Boolean.TRUE, cache.lookup(table, new int[] { 5, 6, 7 }, 3));
+        assertNull(cache.lookup(table, buffer, 4));
+        assertNull(cache.lookup(table, new int[] { 5, 6 }, 2));
+        assertNull(cache.lookup(other, buffer, 3));
+
+        assertEquals(2, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(0.4, cache.getHitRate(), 1e-9);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+        assertEquals(0.0, cache.getHitRate(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void capacityMustBePositive() {
+        new ParseResultCache(0);
+    }
+
+    /**
+     * Líneas con la misma secuencia de tokens comparten la entrada del cache.
+     */
+    @Test
+    public void parserServesAcceptedLinesFromTheCache() throws Exception {
+        Parser parser = new Parser(TestTables.ejemplo().freeze());
+        ParseResultCache cache = new ParseResultCache(16);
+        parser.setResultCache(cache);
+
+        assertTrue(parser.parse(TestTables.line("WORD EQUALS DIGIT EOF")));
+        assertEquals(0, cache.getHits());
+        assertTrue(parser.parse(TestTables.line("WORD EQUALS DIGIT EOF")));
+        assertEquals(1, cache.getHits());
+        assertTrue(parser.isAccepted());
+
+        // Las rechazadas se vuelven a parsear para reportar el error
+        assertFalse(parser.parse(TestTables.line("WORD EQUALS EQUALS EOF")));
+        assertFalse(parser.parse(TestTables.line("WORD EQUALS EQUALS EOF")));
+        assertFalse(parser.isAccepted());
+    }
+
+    /**
+     * Las rechazadas no ocupan entradas ni desplazan a las aceptadas.
+     */
+    @Test
+    public void rejectedLinesAreNotStored() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        Parser parser = new Parser(table);
+        parser.setReportErrors(false);
+        ParseResultCache cache = new ParseResultCache(1);
+        parser.setResultCache(cache);
+
+        assertTrue(parser.parse(TestTables.line("WORD EQUALS DIGIT EOF")));
+        assertFalse(parser.parse(TestTables.line("WORD EQUALS EQUALS EOF")));
+        assertFalse(parser.parse(TestTables.line("DIGIT PLUS EOF")));
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getEvictions());
+        assertTrue(parser.parse(TestTables.line("WORD EQUALS DIGIT EOF")));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void cacheIsBypassedWhileBuildingTheTree() throws Exception {
+        Parser parser = new Parser(TestTables.ejemplo().freeze());
+        ParseResultCache cache = new ParseResultCache(16);
+        parser.setResultCache(cache);
+        parser.setBuildTree(true);
+
+        assertTrue(parser.parse(TestTables.line("COMMENT")));
+        assertTrue(parser.parse(TestTables.line("COMMENT")));
+        assertEquals(0, cache.getHits() + cache.getMisses());
+        assertTrue(parser.getParseTree().size() > 0);
+    }
+}
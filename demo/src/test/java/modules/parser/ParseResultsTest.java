@@ -0,0 +1,97 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import models.TestTables;
+
+public class ParseResultsTest {
+
+    @Test
+    public void keepsAcceptanceAndFirstErrorPerLine() {
+        ParseResults results = new ParseResults(1);
+        results.add(true, 7); // La posición de una línea aceptada se ignora
+        results.add(false, 3);
+        results.add(false, ParseResults.NO_ERROR);
+        results.add(true, ParseResults.NO_ERROR);
+
+        assertEquals(4, results.size());
+        assertEquals(2, results.getAcceptedCount());
+        assertEquals(2, results.getRejectedCount());
+        assertEquals(50.0, results.getSuccessRate(), 0.0);
+        assertTrue(results.isAccepted(0));
+        assertEquals(ParseResults.NO_ERROR, results.getFirstErrorOffset(0));
+        assertFalse(results.isAccepted(1));
+        assertEquals(3, results.getFirstErrorOffset(1));
+        assertEquals(ParseResults.NO_ERROR, results.getFirstErrorOffset(2));
+    }
+
+    @Test
+    public void nextRejectedWalksTheRejectedLines() {
+        ParseResults results = new ParseResults();
+        for (int line = 0; line < 200; line++) {
+            results.add(line % 50 != 0, 0);
+        }
+        List<Integer> rejected = new ArrayList<>();
+        for (int line = results.nextRejected(0); line >= 0; line = results.nextRejected(line + 1)) {
+            rejected.add(line);
+        }
+        assertEquals(List.of(0, 50, 100, 150), rejected);
+        assertEquals(196, results.getAcceptedCount());
+    }
+
+    @Test
+    public void acceptedLinesAreACopy() {
+        ParseResults results = new ParseResults();
+        results.add(true, ParseResults.NO_ERROR);
+        BitSet accepted = results.getAcceptedLines();
+        accepted.clear(0);
+        assertTrue(results.isAccepted(0));
+        assertEquals(List.of(true), results.asList());
+    }
+
+    @Test
+    public void emptyResultsHaveNoSuccessRate() {
+        ParseResults results = new ParseResults(0);
+        assertEquals(0.0, results.getSuccessRate(), 0.0);
+        assertEquals(-1, results.nextRejected(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void lineOutsideTheResultsFails() {
+        ParseResults results = new ParseResults();
+        results.add(true, ParseResults.NO_ERROR);
+        results.isAccepted(1);
+    }
+
+    /**
+     * parseFile guarda en qué token falló cada línea, incluido el centinela
+     * cuando la línea termina antes de tiempo.
+     */
+    @Test
+    public void parseFileRecordsTheOffsetOfEachError() throws Exception {
+        Parser parser = new Parser(TestTables.ejemplo().freeze());
+        List<List<String>> lines = List.of(
+                TestTables.line("WORD EQUALS DIGIT EOF"),
+                TestTables.line("WORD EQUALS EQUALS EOF"),
+                TestTables.line("RPAREN"),
+                TestTables.line("WORD EQUALS"),
+                TestTables.line("NO_EXISTE EOF"));
+
+        ParseResults results = parser.parseFile(lines);
+        assertEquals(List.of(true, false, false, false, false), results.asList());
+        assertEquals(ParseResults.NO_ERROR, results.getFirstErrorOffset(0));
+        assertEquals(2, results.getFirstErrorOffset(1));
+        assertEquals(0, results.getFirstErrorOffset(2));
+        assertEquals(2, results.getFirstErrorOffset(3));
+        assertEquals(0, results.getFirstErrorOffset(4));
+        ParserTest.assertSameResults(results, parser.parseFileParallel(lines, 3));
+    }
+}
@@ -0,0 +1,73 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.TestTables;
+
+public class ParseTraceTest {
+
+    @Test
+    public void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new ParseTrace(5).getCapacity());
+        assertEquals(8, new ParseTrace(8).getCapacity());
+        assertEquals(16, new ParseTrace(9).getCapacity());
+    }
+
+    @Test
+    public void keepsOnlyTheLastSteps() {
+        ParseTrace trace = new ParseTrace(4);
+        for (int i = 0; i < 10; i++) {
+            trace.record(i, 100 + i, 200 + i);
+        }
+        assertEquals(10, trace.getSteps());
+        assertEquals(4, trace.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(6 + i, trace.getState(i));
+            assertEquals(106 + i, trace.getSymbol(i));
+            assertEquals(206 + i, trace.getAction(i));
+        }
+
+        trace.clear();
+        assertEquals(0, trace.size());
+        trace.record(1, 2, 3);
+        assertEquals(1, trace.getState(0));
+    }
+
+    @Test
+    public void parserRecordsEveryStepOfTheLastParse() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        Parser parser = new Parser(table);
+        parser.enableTrace(64);
+
+        assertTrue(parser.parse(TestTables.line("WORD EQUALS DIGIT EOF")));
+        ParseTrace trace = parser.getTrace();
+        assertEquals(table.getInitialState(), trace.getState(0));
+        assertEquals(table.terminalId("WORD"), trace.getSymbol(0));
+        assertEquals(CompiledParseTable.SHIFT, CompiledParseTable.kind(trace.getAction(0)));
+        assertEquals(CompiledParseTable.ACCEPT, CompiledParseTable.kind(trace.getAction(trace.size() - 1)));
+        long accepted = trace.getSteps();
+
+        // El siguiente parseo empieza una traza nueva y termina en el error
+        assertFalse(parser.parse(TestTables.line("WORD EQUALS EQUALS EOF")));
+        assertTrue(trace.getSteps() < accepted);
+        int last = trace.size() - 1;
+        assertEquals(CompiledParseTable.ERROR, trace.getAction(last));
+        assertEquals(table.terminalId("EQUALS"), trace.getSymbol(last));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        parser.dumpTrace(new PrintStream(out, true, StandardCharsets.UTF_8));
+        String dump = out.toString(StandardCharsets.UTF_8);
+        assertTrue(dump, dump.contains("de " + trace.getSteps() + " pasos"));
+        assertTrue(dump, dump.contains("SHIFT -> Estado"));
+        assertTrue(dump, dump.trim().endsWith("ERROR"));
+    }
+}
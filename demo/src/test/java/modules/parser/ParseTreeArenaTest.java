@@ -0,0 +1,124 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.TestTables;
+
+public class ParseTreeArenaTest {
+
+    @Test
+    public void nodesLinkTheirChildrenInOrder() {
+        ParseTreeArena arena = new ParseTreeArena(1);
+        IntStack nodes = new IntStack();
+        nodes.push(arena.addLeaf(10, 0));
+        nodes.push(arena.addLeaf(11, 1));
+        nodes.push(arena.addLeaf(12, 2));
+        int node = arena.addNode(20, nodes, 1);
+
+        assertEquals(4, arena.size());
+        assertEquals(20, arena.getKind(node));
+        assertFalse(arena.isLeaf(node));
+        assertEquals(ParseTreeArena.NONE, arena.getTokenIndex(node));
+        int first = arena.getFirstChild(node);
+        assertEquals(11, arena.getKind(first));
+        assertEquals(1, arena.getTokenIndex(first));
+        int second = arena.getNextSibling(first);
+        assertEquals(12, arena.getKind(second));
+        assertEquals(ParseTreeArena.NONE, arena.getNextSibling(second));
+        assertEquals(ParseTreeArena.NONE, arena.getFirstChild(second));
+
+        arena.clear();
+        assertEquals(0, arena.size());
+        assertEquals(ParseTreeArena.NONE, arena.getRoot());
+    }
+
+    @Test
+    public void parserBuildsTheDerivationTree() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        Parser parser = new Parser(table);
+        parser.setBuildTree(true);
+
+        // Los operadores no tienen precedencia: se agrupa por la izquierda
+        assertTrue(parser.parse(TestTables.line("DIGIT PLUS NUMBER TIMES FLOAT EOF")));
+        ParseTreeArena tree = parser.getParseTree();
+        assertEquals("(program (statements (statement (expression (expression (expression (operand DIGIT:0))"
+                + " PLUS:1 (operand NUMBER:2)) TIMES:3 (operand FLOAT:4)) EOF:5)))",
+                render(table, tree, tree.getRoot()));
+
+        // El árbol se reconstruye sobre la misma arena en cada parseo
+        assertTrue(parser.parse(TestTables.line("COMMENT")));
+        assertEquals("(program (statements (statement COMMENT:0)))", render(table, tree, tree.getRoot()));
+        assertEquals(4, tree.size());
+    }
+
+    /**
+     * Con las reglas unitarias eliminadas de la tabla el parser vuelve a
+     * insertar los nodos omitidos: el árbol es el de la tabla sin optimizar.
+     */
+    @Test
+    public void unitChainsAreExpandedInTheTree() throws Exception {
+        CompiledParseTable plain = TestTables.ejemplo().freeze();
+        CompiledParseTable unit = TestTables.tables(TestTables.ejemploGrammar(), true).freeze();
+        assertTrue(unit.hasUnitChains());
+        Parser expected = new Parser(plain);
+        Parser actual = new Parser(unit);
+        expected.setBuildTree(true);
+        actual.setBuildTree(true);
+
+        for (String line : new String[] { "DIGIT PLUS NUMBER TIMES FLOAT EOF", "COMMENT",
+                "WORD EQUALS LPAREN LPAREN DIGIT RPAREN MINUS WORD RPAREN EOF", "WORD EQUALS DIGIT EOF" }) {
+            assertTrue(line, expected.parse(TestTables.line(line)));
+            assertTrue(line, actual.parse(TestTables.line(line)));
+            ParseTreeArena expectedTree = expected.getParseTree();
+            ParseTreeArena actualTree = actual.getParseTree();
+            assertEquals(line, render(plain, expectedTree, expectedTree.getRoot()),
+                    render(unit, actualTree, actualTree.getRoot()));
+        }
+    }
+
+    @Test
+    public void printHandlesDeepTrees() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        Parser parser = new Parser(table);
+        parser.setBuildTree(true);
+        int depth = 2000;
+        List<String> line = TestTables.line("WORD EQUALS");
+        for (int i = 0; i < depth; i++) {
+            line.add("LPAREN");
+        }
+        line.add("DIGIT");
+        for (int i = 0; i < depth; i++) {
+            line.add("RPAREN");
+        }
+        line.add("EOF");
+        assertTrue(parser.parse(line));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        parser.getParseTree().print(table, new PrintStream(out, true, StandardCharsets.UTF_8));
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(parser.getParseTree().size(), lines.length);
+        assertEquals("program", lines[0]);
+    }
+
+    private static String render(CompiledParseTable table, ParseTreeArena tree, int node) {
+        String name = table.getSymbolName(tree.getKind(node));
+        if (tree.isLeaf(node)) {
+            return name + ":" + tree.getTokenIndex(node);
+        }
+        StringBuilder out = new StringBuilder("(").append(name);
+        for (int child = tree.getFirstChild(node); child != ParseTreeArena.NONE; child = tree.getNextSibling(child)) {
+            out.append(' ').append(render(table, tree, child));
+        }
+        return out.append(')').toString();
+    }
+}
@@ -0,0 +1,112 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.TestTables;
+
+public class ParserMetricsTest {
+
+    @Test
+    public void countsShiftsReducesAndLines() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        ParserMetrics metrics = run(table, TestTables.line("WORD EQUALS DIGIT EOF"),
+                TestTables.line("WORD EQUALS EQUALS EOF"));
+
+        assertEquals(2, metrics.getLines());
+        assertEquals(1, metrics.getAcceptedLines());
+        assertEquals(1, metrics.getErrors());
+        // 4 tokens de la línea aceptada y los 2 anteriores al error
+        assertEquals(6, metrics.getShifts());
+        assertTrue(metrics.getReduces() > 0);
+        assertTrue(metrics.getMaxStackDepth() >= 4);
+        assertEquals(2, metrics.getLatency().getTotalCount());
+
+        long productionHits = 0;
+        for (int p = 0; p < table.getProductionCount(); p++) {
+            productionHits += metrics.getProductionHits(p);
+        }
+        assertEquals(metrics.getReduces(), productionHits);
+        assertTrue(metrics.getStateHits(table.getInitialState()) >= 2);
+    }
+
+    @Test
+    public void mergeAddsTheCountersOfAnotherParser() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        List<String> accepted = TestTables.line("WORD EQUALS DIGIT EOF");
+        List<String> rejected = TestTables.line("WORD EQUALS EQUALS EOF");
+        ParserMetrics both = run(table, accepted, rejected);
+        ParserMetrics merged = run(table, accepted);
+        merged.merge(run(table, rejected));
+
+        assertEquals(both.getLines(), merged.getLines());
+        assertEquals(both.getAcceptedLines(), merged.getAcceptedLines());
+        assertEquals(both.getErrors(), merged.getErrors());
+        assertEquals(both.getShifts(), merged.getShifts());
+        assertEquals(both.getReduces(), merged.getReduces());
+        assertEquals(both.getMaxStackDepth(), merged.getMaxStackDepth());
+        assertEquals(both.getLatency().getTotalCount(), merged.getLatency().getTotalCount());
+        for (int state = 0; state < table.getStateCount(); state++) {
+            assertEquals(both.getStateHits(state), merged.getStateHits(state));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeRejectsMetricsOfAnotherTable() throws Exception {
+        new ParserMetrics(TestTables.ejemplo().freeze())
+                .merge(new ParserMetrics(TestTables.tables(TestTables.ejemploGrammar()).freeze()));
+    }
+
+    @Test
+    public void snapshotIsIndependentOfReset() throws Exception {
+        ParserMetrics metrics = run(TestTables.ejemplo().freeze(), TestTables.line("WORD EQUALS DIGIT EOF"));
+        ParserMetrics snapshot = metrics.snapshot();
+        metrics.reset();
+
+        assertEquals(0, metrics.getLines());
+        assertEquals(0, metrics.getShifts());
+        assertEquals(0, metrics.getLatency().getTotalCount());
+        assertEquals(1, snapshot.getLines());
+        assertEquals(4, snapshot.getShifts());
+        assertTrue(snapshot.toJson().startsWith("{\"lines\":1,\"acceptedLines\":1,\"errors\":0,\"shifts\":4,"));
+    }
+
+    @Test
+    public void parallelParsingMergesTheWorkerMetrics() throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        List<List<String>> lines = TestTables.tokenLines();
+
+        Parser sequential = new Parser(table);
+        sequential.setReportErrors(false);
+        sequential.setMetrics(new ParserMetrics(table));
+        sequential.parseFile(lines);
+
+        Parser parallel = new Parser(table);
+        parallel.setReportErrors(false);
+        parallel.setMetrics(new ParserMetrics(table));
+        parallel.parseFileParallel(lines, 4);
+
+        ParserMetrics expected = sequential.getMetrics();
+        ParserMetrics actual = parallel.getMetrics();
+        assertEquals(lines.size(), actual.getLines());
+        assertEquals(expected.getAcceptedLines(), actual.getAcceptedLines());
+        assertEquals(expected.getShifts(), actual.getShifts());
+        assertEquals(expected.getReduces(), actual.getReduces());
+    }
+
+    @SafeVarargs
+    private static ParserMetrics run(CompiledParseTable table, List<String>... lines) {
+        Parser parser = new Parser(table);
+        parser.setReportErrors(false);
+        parser.setMetrics(new ParserMetrics(table));
+        for (List<String> line : lines) {
+            parser.parse(line);
+        }
+        return parser.getMetrics();
+    }
+}
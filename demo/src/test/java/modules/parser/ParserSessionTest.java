@@ -0,0 +1,116 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.TestTables;
+import modules.parser.ParserSession.Status;
+
+public class ParserSessionTest {
+
+    private CompiledParseTable table;
+    private ParserSession session;
+
+    @Before
+    public void setUp() throws Exception {
+        table = TestTables.ejemplo().freeze();
+        session = new ParserSession(table);
+    }
+
+    @Test
+    public void tokensFedOneByOneAgreeWithParse() throws Exception {
+        Parser parser = new Parser(table);
+        parser.setDebug(false);
+        for (List<String> line : TestTables.tokenLines()) {
+            session.reset();
+            Status status = Status.NEED_MORE;
+            for (String token : line) {
+                status = session.feed(token);
+                if (status != Status.NEED_MORE) {
+                    break;
+                }
+            }
+            if (status == Status.NEED_MORE) {
+                status = session.endOfInput();
+            }
+            assertEquals(line.toString(), parser.parse(line), status == Status.ACCEPTED);
+        }
+    }
+
+    /**
+     * Un stream de sentencias llega en bloques de tamaño arbitrario; como
+     * statements es recursiva por la izquierda, el stack no crece con la
+     * cantidad de sentencias.
+     */
+    @Test
+    public void chunkedStreamKeepsTheStackBounded() {
+        List<String> statement = TestTables.line("WORD EQUALS DIGIT PLUS NUMBER EOF");
+        int statements = 5000;
+        int chunk = 7; // No coincide con el largo de la sentencia
+        int maxDepth = 0;
+        for (int fed = 0; fed < statements * statement.size(); fed += chunk) {
+            for (int i = fed; i < Math.min(fed + chunk, statements * statement.size()); i++) {
+                assertEquals(Status.NEED_MORE, session.feed(statement.get(i % statement.size())));
+            }
+            maxDepth = Math.max(maxDepth, session.getStackDepth());
+        }
+        assertEquals(statements * statement.size(), session.getTokenCount());
+        assertTrue("Profundidad " + maxDepth, maxDepth <= 2 * statement.size());
+        assertEquals(Status.ACCEPTED, session.endOfInput());
+    }
+
+    @Test
+    public void reportsTheErrorWhenTheTokenArrives() {
+        assertEquals(Status.NEED_MORE, session.feed("WORD"));
+        assertEquals(Status.NEED_MORE, session.feed("EQUALS"));
+        assertEquals(-1, session.getErrorPosition());
+        assertNull(session.getErrorToken());
+
+        assertEquals(Status.ERROR, session.feed("EQUALS"));
+        assertEquals(2, session.getErrorPosition());
+        assertEquals("EQUALS", session.getErrorToken());
+        assertTrue(session.getExpectedTokens().contains("DIGIT"));
+
+        // Después del error la sesión no consume más tokens
+        assertEquals(Status.ERROR, session.feed("DIGIT"));
+        assertEquals(Status.ERROR, session.endOfInput());
+        assertEquals(3, session.getTokenCount());
+    }
+
+    @Test
+    public void incompleteInputFailsAtTheSentinel() {
+        session.feed("WORD");
+        session.feed("EQUALS");
+        assertEquals(Status.ERROR, session.endOfInput());
+        assertEquals(2, session.getErrorPosition());
+        assertEquals("$", session.getErrorToken());
+    }
+
+    @Test
+    public void unknownTokenIsAnError() {
+        assertEquals(Status.ERROR, session.feed("NO_EXISTE"));
+        assertEquals(0, session.getErrorPosition());
+        assertEquals("?", session.getErrorToken());
+    }
+
+    @Test
+    public void resetStartsANewInput() {
+        session.feed("RPAREN");
+        assertEquals(Status.ERROR, session.getStatus());
+        session.reset();
+        assertEquals(Status.NEED_MORE, session.getStatus());
+        assertEquals(0, session.getTokenCount());
+        assertEquals(1, session.getStackDepth());
+        for (String token : TestTables.line("COMMENT")) {
+            session.feed(token);
+        }
+        assertEquals(Status.ACCEPTED, session.endOfInput());
+    }
+}
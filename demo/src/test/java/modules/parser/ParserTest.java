@@ -0,0 +1,152 @@
+package modules.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.TestTables;
+
+public class ParserTest {
+
+    private Parser parser;
+
+    @Before
+    public void setUp() throws Exception {
+        parser = new Parser(TestTables.ejemplo());
+        parser.setDebug(false);
+    }
+
+    /**
+     * Una expresión anidada más profunda que la capacidad inicial de los
+     * stacks se parsea igual que una corta.
+     */
+    @Test
+    public void deepNestingGrowsTheStacks() {
+        int depth = 300;
+        List<String> line = TestTables.line("WORD EQUALS");
+        for (int i = 0; i < depth; i++) {
+            line.add("LPAREN");
+        }
+        line.add("DIGIT");
+        for (int i = 0; i < depth; i++) {
+            line.add("RPAREN");
+        }
+        line.add("EOF");
+
+        assertTrue(parser.parse(line));
+
+        // Sin los cierres el error llega con todos los paréntesis en el stack
+        List<String> open = line.subList(0, depth + 2);
+        assertFalse(parser.parse(open));
+        assertEquals(depth + 3, parser.getStateStack().size());
+        assertEquals(depth + 2, parser.getSymbolStack().size());
+        assertEquals("LPAREN", parser.getSymbolStack().get(depth + 1));
+    }
+
+    @Test
+    public void stacksAreReadOnlyViewsOfTheLastParse() {
+        assertFalse(parser.parse(TestTables.line("WORD EQUALS EQUALS EOF")));
+        // WORD ya se redujo a expression cuando llega el segundo EQUALS
+        assertEquals(3, parser.getStateStack().size());
+        assertEquals(List.of("expression", "EQUALS"), parser.getSymbolStack());
+    }
+
+    @Test
+    public void symbolStackCanBeTurnedOff() {
+        parser.setTrackSymbols(false);
+        assertFalse(parser.parse(TestTables.line("WORD EQUALS EQUALS EOF")));
+        assertEquals(3, parser.getStateStack().size());
+        assertTrue(parser.getSymbolStack().isEmpty());
+    }
+
+    /**
+     * Una reducción sin GOTO rechaza la línea en el token actual, sin
+     * recuperación ni mensajes si el reporte está desactivado.
+     */
+    @Test
+    public void missingGotoStopsTheLine() throws Exception {
+        Parser broken = new Parser(TestTables.withoutInitialGoto("statements"));
+        broken.setReportErrors(false);
+        broken.setErrorRecovery(true);
+
+        PrintStream err = System.err;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            assertFalse(broken.parse(TestTables.line("COMMENT COMMENT")));
+        } finally {
+            System.setErr(err);
+        }
+        assertEquals("", captured.toString(StandardCharsets.UTF_8));
+        // statements -> statement se reduce con el segundo COMMENT como lookahead
+        assertArrayEquals(new int[] { 1 }, broken.getErrorPositions());
+        assertEquals(1, broken.getFirstErrorPosition());
+
+        // La línea siguiente empieza de cero
+        assertFalse(broken.parse(TestTables.line("COMMENT")));
+        assertArrayEquals(new int[] { 1 }, broken.getErrorPositions());
+    }
+
+    /**
+     * Los bloques se reparten entre hilos pero el resultado de cada línea
+     * queda en su posición.
+     */
+    @Test
+    public void parallelParsingKeepsTheInputOrder() throws Exception {
+        List<List<String>> lines = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            lines.addAll(TestTables.tokenLines());
+        }
+        ParseResults expected = parser.parseFile(lines);
+        assertEquals(lines.size(), expected.size());
+        assertSameResults(expected, parser.parseFileParallel(lines, 4));
+        assertSameResults(expected, parser.parseFileParallel(lines, 1));
+        assertEquals(List.of(true), parser.parseFileParallel(List.of(TestTables.line("WORD EQUALS DIGIT EOF")), 4).asList());
+    }
+
+    /**
+     * Los workers usan la misma configuración de recuperación: con métricas,
+     * la cantidad de errores registrados (más de uno por línea al recuperarse)
+     * coincide con la de parseFile.
+     */
+    @Test
+    public void parallelParsingKeepsTheRecoverySettings() throws Exception {
+        List<List<String>> lines = new ArrayList<>(TestTables.tokenLines());
+        for (int i = 0; i < 20; i++) {
+            lines.add(TestTables.line("WORD EQUALS EQUALS DIGIT PLUS PLUS DIGIT EOF"));
+            lines.add(TestTables.line("DIGIT PLUS PLUS DIGIT PLUS PLUS DIGIT PLUS PLUS DIGIT EOF"));
+        }
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        Parser sequential = new Parser(table);
+        Parser parallel = new Parser(table);
+        for (Parser p : List.of(sequential, parallel)) {
+            p.setReportErrors(false);
+            p.setErrorRecovery(true, 2);
+            p.setMetrics(new ParserMetrics(table));
+        }
+
+        assertSameResults(sequential.parseFile(lines), parallel.parseFileParallel(lines, 4));
+        assertEquals(lines.size(), parallel.getMetrics().getLines());
+        assertTrue(sequential.getMetrics().getErrors() > sequential.getMetrics().getLines()
+                - sequential.getMetrics().getAcceptedLines());
+        assertEquals(sequential.getMetrics().getErrors(), parallel.getMetrics().getErrors());
+    }
+
+    static void assertSameResults(ParseResults expected, ParseResults actual) {
+        assertEquals(expected.asList(), actual.asList());
+        for (int line = 0; line < expected.size(); line++) {
+            assertEquals("Línea " + line, expected.getFirstErrorOffset(line), actual.getFirstErrorOffset(line));
+        }
+    }
+}
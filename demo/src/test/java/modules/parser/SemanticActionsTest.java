@@ -0,0 +1,102 @@
+package modules.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.TestTables;
+
+/**
+ * Evalúa expresiones de ejemplo.yalp: el valor de cada DIGIT es el número que
+ * ocupa su posición en {@link #values}.
+ */
+public class SemanticActionsTest {
+
+    private CompiledParseTable table;
+    private Parser parser;
+    private int[] values;
+
+    @Before
+    public void setUp() throws Exception {
+        table = TestTables.ejemplo().freeze();
+        parser = new Parser(table);
+        int digit = table.terminalId("DIGIT");
+        SemanticActions<Integer> actions = new SemanticActions<Integer>(table)
+                .onToken((terminal, tokenIndex) -> terminal == digit ? values[tokenIndex] : null)
+                .bind("expression", "expression PLUS operand", v -> v.arg(0) + v.arg(2))
+                .bind("expression", "expression MINUS operand", v -> v.arg(0) - v.arg(2))
+                .bind("expression", "expression TIMES operand", v -> v.arg(0) * v.arg(2))
+                .bind("operand", "LPAREN expression RPAREN", v -> v.arg(1));
+        parser.setSemanticActions(actions);
+    }
+
+    @Test
+    public void reducesEvaluateTheExpression() {
+        // Sin precedencia: (2 + 3) * 4
+        assertEquals(Integer.valueOf(20), evaluate("DIGIT PLUS DIGIT TIMES DIGIT EOF", 2, 0, 3, 0, 4));
+        assertEquals(Integer.valueOf(-3), evaluate("DIGIT MINUS LPAREN DIGIT PLUS DIGIT RPAREN EOF", 2, 0, 0, 1, 0, 4));
+    }
+
+    /**
+     * Sin acción registrada la producción toma el valor de su primer símbolo,
+     * que sube desde el DIGIT hasta program.
+     */
+    @Test
+    public void unboundProductionsPassTheFirstValueUp() {
+        assertEquals(Integer.valueOf(7), evaluate("DIGIT EOF", 7));
+    }
+
+    @Test
+    public void actionsSeeOnlyTheirOwnArguments() {
+        List<Integer> arities = new ArrayList<>();
+        SemanticActions<Integer> actions = new SemanticActions<Integer>(table)
+                .bind("statement", "expression EOF", v -> {
+                    arities.add(v.arity());
+                    return v.arg(0);
+                })
+                .bind("operand", "DIGIT", v -> {
+                    arities.add(v.arity());
+                    return 1;
+                });
+        parser.setSemanticActions(actions);
+        assertTrue(parser.parse(TestTables.line("DIGIT EOF")));
+        assertEquals(List.of(1, 2), arities);
+        assertEquals(Integer.valueOf(1), parser.getSemanticValue());
+    }
+
+    @Test
+    public void rejectedInputHasNoValue() {
+        assertNull(evaluate("DIGIT PLUS EOF", 1, 0, 0));
+        assertFalse(parser.isAccepted());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownProductionCannotBeBound() {
+        new SemanticActions<Integer>(table).bind("expression", "expression POW operand", v -> 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void productionIdOutOfRangeCannotBeBound() {
+        new SemanticActions<Integer>(table).bind(table.getProductionCount(), v -> 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void actionsMustBelongToTheParserTable() throws Exception {
+        CompiledParseTable other = TestTables.tables(TestTables.ejemploGrammar()).freeze();
+        parser.setSemanticActions(new SemanticActions<Integer>(other));
+    }
+
+    private Integer evaluate(String line, int... tokenValues) {
+        values = tokenValues;
+        parser.parse(TestTables.line(line));
+        return parser.getSemanticValue();
+    }
+}
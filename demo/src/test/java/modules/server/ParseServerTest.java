@@ -0,0 +1,149 @@
+package modules.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.TestTables;
+
+public class ParseServerTest {
+
+    @Test
+    public void answersRequestsOverTcp() throws Exception {
+        exchange(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @Test
+    public void answersRequestsOverUnixSocketAndRemovesIt() throws Exception {
+        Path socket = Files.createTempDirectory("parse-server").resolve("yalp.sock");
+        exchange(UnixDomainSocketAddress.of(socket));
+        assertFalse(Files.exists(socket));
+        Files.delete(socket.getParent());
+    }
+
+    @Test
+    public void replacesAStaleSocketFile() throws Exception {
+        Path socket = Files.createTempDirectory("parse-server").resolve("yalp.sock");
+        // Un socket que quedó de una ejecución anterior: cerrar el canal no borra el archivo
+        try (ServerSocketChannel stale = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            stale.bind(UnixDomainSocketAddress.of(socket));
+        }
+        assertTrue(Files.exists(socket));
+        exchange(UnixDomainSocketAddress.of(socket));
+        Files.delete(socket.getParent());
+    }
+
+    @Test
+    public void refusesToReplaceAnotherFile() throws Exception {
+        Path file = Files.createTempFile("parse-server", ".sock");
+        Files.writeString(file, "datos");
+        try {
+            new ParseServer(TestTables.ejemplo().freeze(), UnixDomainSocketAddress.of(file)).close();
+            fail("Se esperaba IOException");
+        } catch (IOException expected) {
+            // La ruta no es un socket
+        }
+        assertEquals("datos", Files.readString(file));
+        Files.delete(file);
+    }
+
+    /**
+     * close() corta también las conexiones que siguen abiertas, sin esperar
+     * a que el cliente mande QUIT.
+     */
+    @Test
+    public void closeDisconnectsOpenClients() throws Exception {
+        ParseServer server = new ParseServer(TestTables.ejemplo().freeze(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        Thread thread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        try (SocketChannel channel = SocketChannel.open(server.getAddress())) {
+            BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+            Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+            assertEquals("PONG", request(in, out, "PING"));
+
+            CompletableFuture<String> eof = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return in.readLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            server.close();
+            thread.join(5000);
+            assertFalse(thread.isAlive());
+            assertNull(eof.get(5, TimeUnit.SECONDS));
+        } finally {
+            server.close();
+        }
+    }
+
+    private static void exchange(SocketAddress address) throws Exception {
+        CompiledParseTable table = TestTables.ejemplo().freeze();
+        ParseServer server = new ParseServer(table, address);
+        Thread thread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        thread.start();
+        try (SocketChannel channel = SocketChannel.open(server.getAddress())) {
+            BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+            Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+
+            assertEquals("PONG", request(in, out, "PING"));
+            assertEquals("ACCEPT", request(in, out, "WORD EQUALS DIGIT EOF"));
+            assertEquals("REJECT 2 EQUALS", request(in, out, "WORD EQUALS EQUALS EOF"));
+            assertEquals("STATS 1 2 1", request(in, out, "STATS"));
+
+            out.write("QUIT\n");
+            out.flush();
+            assertNull(in.readLine());
+        } finally {
+            server.close();
+            server.close(); // Idempotente
+            thread.join(5000);
+        }
+        assertFalse(thread.isAlive());
+        assertEquals(2, server.getLineCount());
+        assertEquals(1, server.getAcceptedLineCount());
+        assertTrue(server.getConnectionCount() >= 1);
+    }
+
+    private static String request(BufferedReader in, Writer out, String line) throws IOException {
+        out.write(line + "\n");
+        out.flush();
+        return in.readLine();
+    }
+}
@@ -0,0 +1,77 @@
+package modules.tables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.ParsingTable;
+import models.TestTables;
+import modules.parser.Parser;
+
+public class DefaultReductionsTest {
+
+    /**
+     * Cada estado marcado se queda sin fila de ACTION y la tabla compilada
+     * devuelve su reducción sin importar el lookahead.
+     */
+    @Test
+    public void markedStatesReduceWithoutLookahead() throws Exception {
+        ParsingTable table = TestTables.tables(TestTables.ejemploGrammar());
+        int marcados = defaultReductions.marcar(table);
+        assertTrue(marcados > 0);
+        Map<String, String> defaults = table.getDefaultReduceTable();
+        assertEquals(marcados, defaults.size());
+
+        CompiledParseTable compiled = table.freeze();
+        for (int state = 0; state < compiled.getStateCount(); state++) {
+            boolean marcado = defaults.containsKey(compiled.getStateName(state));
+            assertEquals(compiled.getStateName(state), marcado,
+                    compiled.defaultAction(state) != CompiledParseTable.ERROR);
+            if (marcado) {
+                Map<String, String> row = table.getActionTable().get(compiled.getStateName(state));
+                assertTrue(row == null || row.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void acceptsTheSameLinesAndFailsAtTheSameToken() throws Exception {
+        Parser expected = new Parser(TestTables.ejemplo().freeze());
+        expected.setReportErrors(false);
+        for (boolean eliminarUnitarias : new boolean[] { false, true }) {
+            Parser actual = new Parser(TestTables.tables(TestTables.ejemploGrammar(), eliminarUnitarias, true).freeze());
+            actual.setReportErrors(false);
+            for (List<String> line : TestTables.tokenLines()) {
+                assertEquals(line.toString(), expected.parse(line), actual.parse(line));
+                assertEquals(line.toString(), expected.getFirstErrorPosition(), actual.getFirstErrorPosition());
+            }
+        }
+    }
+
+    /**
+     * Con reducciones por defecto el driver reduce antes de mirar el token
+     * inválido, así que al fallar el stack ya no tiene el DIGIT sino la
+     * expresión; el error sigue en el mismo token.
+     */
+    @Test
+    public void errorIsDetectedAfterTheDefaultReductions() throws Exception {
+        Parser plain = new Parser(TestTables.ejemplo().freeze());
+        Parser optimized = new Parser(TestTables.tables(TestTables.ejemploGrammar(), false, true).freeze());
+        plain.setReportErrors(false);
+        optimized.setReportErrors(false);
+
+        List<String> line = TestTables.line("DIGIT DIGIT EOF");
+        assertFalse(plain.parse(line));
+        assertFalse(optimized.parse(line));
+        assertEquals(1, plain.getFirstErrorPosition());
+        assertEquals(1, optimized.getFirstErrorPosition());
+        assertNotEquals(plain.getSymbolStack(), optimized.getSymbolStack());
+    }
+}
@@ -0,0 +1,61 @@
+package modules.tables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import models.CompiledParseTable;
+import models.ParsingTable;
+import models.TestTables;
+import modules.parser.Parser;
+
+public class UnitRulesTest {
+
+    /**
+     * ejemplo.yalp tiene cadenas como expression -> operand y
+     * statements -> statement; una segunda pasada ya no encuentra nada.
+     */
+    @Test
+    public void redirectsTheGotoCellsOfUnitStates() throws Exception {
+        ParsingTable table = TestTables.tables(TestTables.ejemploGrammar());
+        assertTrue(unitRules.eliminar(table) > 0);
+        assertFalse(table.getUnitChainTable().isEmpty());
+        assertEquals(0, unitRules.eliminar(table));
+    }
+
+    @Test
+    public void acceptsTheSameLinesAndFailsAtTheSameToken() throws Exception {
+        Parser expected = new Parser(TestTables.ejemplo().freeze());
+        Parser actual = new Parser(TestTables.tables(TestTables.ejemploGrammar(), true).freeze());
+        expected.setReportErrors(false);
+        actual.setReportErrors(false);
+
+        for (List<String> line : TestTables.tokenLines()) {
+            assertEquals(line.toString(), expected.parse(line), actual.parse(line));
+            assertEquals(line.toString(), expected.getFirstErrorPosition(), actual.getFirstErrorPosition());
+        }
+    }
+
+    /**
+     * El stack de símbolos al fallar incluye los no terminales de la cadena
+     * reconstruida, aunque el stack de estados sea más corto.
+     */
+    @Test
+    public void symbolStackKeepsTheUnitReductions() throws Exception {
+        Parser expected = new Parser(TestTables.ejemplo().freeze());
+        CompiledParseTable unit = TestTables.tables(TestTables.ejemploGrammar(), true).freeze();
+        Parser actual = new Parser(unit);
+        expected.setReportErrors(false);
+        actual.setReportErrors(false);
+
+        List<String> line = TestTables.line("WORD EQUALS DIGIT PLUS PLUS EOF");
+        expected.parse(line);
+        actual.parse(line);
+        assertEquals(expected.getSymbolStack(), actual.getSymbolStack());
+        assertEquals(List.of("expression", "PLUS"), actual.getSymbolStack());
+    }
+}
@@ -1,4 +1,4 @@
 @echo off
 set CLASSPATH=bin
-javac -d bin -cp demo/src/main/java demo/src/main/java/Yalp.java
+javac -d bin -cp demo/src/main/java demo/src/main/java/YalpParser.java demo/src/main/java/Yalp.java
 java -cp bin Yalp